@@ -0,0 +1,102 @@
+package com.example.application.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.models.Applicant;
+import com.example.application.models.Schedule;
+
+/**
+ * Benchmarks the DatabaseController's schedule and applicant loads against an in-memory H2 database
+ * (in MySQL mode, with the application's schema), so what is measured is the queries and the mapping of
+ * their rows rather than the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    private static final String COURSE = "CSC1015F";
+    private static final int YEAR = 2023;
+
+    // the sessions in the schedule, and the applicants for the course
+    @Param({ "50" })
+    public int sessionCount;
+
+    @Param({ "500" })
+    public int applicantCount;
+
+    @Setup
+    public void setUp() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE"
+                + ";NON_KEYWORDS=DAY,YEAR,VALUE;DB_CLOSE_DELAY=-1");
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+
+            statement.execute("RUNSCRIPT FROM 'classpath:/db/schema.sql'");
+
+            statement.execute("INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('" + COURSE + "', 'Computer Science 1015', 50, 5)");
+            statement.execute("INSERT INTO Schedules (scheduleID, courseID, year) VALUES (1, '" + COURSE + "', " + YEAR + ")");
+
+            // a tutor for every session, each signed up for (up to) three sessions
+            for (int s = 0; s < sessionCount; s++) {
+                statement.execute(String.format("INSERT INTO Students VALUES ('TUTORS%03d', 'Tutor', '%d', 'tutor%d@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')", s, s, s));
+                statement.execute(String.format("INSERT INTO TutoringSessions (tutSessionID, scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) "
+                        + "VALUES (%d, 1, '%s', %d, %d, 5, 'Hatfield Lab', NULL)", s + 1, new String[] { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" }[s % 5], 8 + s % 10, 9 + s % 10));
+
+                for (int t = s; t < s + 3 && t < sessionCount; t++) {
+                    statement.addBatch(String.format("INSERT INTO TutoringSessionTutors VALUES (%d, 'TUTORS%03d')", s + 1, t));
+                }
+            }
+
+            for (int a = 0; a < applicantCount; a++) {
+                statement.addBatch(String.format("INSERT INTO Students VALUES ('APPLIC%03d', 'First%d', 'Last%d', 'a%d@uct.ac.za', 'pw', 'SecondYear', 'APPLIED')", a, a, a, a));
+                statement.addBatch(String.format("INSERT INTO Applications VALUES ('APPLIC%03d', 'Motivation %d')", a, a));
+                statement.addBatch(String.format("INSERT INTO CompletedCourses VALUES ('%s', 'APPLIC%03d', %d, %d)", COURSE, a, 50 + a % 50, YEAR - 1));
+            }
+
+            statement.executeBatch();
+        }
+
+        DatabaseController.setDataSource(dataSource);
+        DatabaseController.updateSchema();
+    }
+
+    @Benchmark
+    public Schedule getSchedule() {
+        return DatabaseController.getSchedule(COURSE, YEAR);
+    }
+
+    @Benchmark
+    public List<Applicant> getPendingApplicants() {
+        return DatabaseController.getPendingApplicants(COURSE);
+    }
+
+    @Benchmark
+    public List<Applicant> getPendingApplicantsPage() {
+        return DatabaseController.getPendingApplicants(COURSE, 0, 50, "grade", false);
+    }
+}
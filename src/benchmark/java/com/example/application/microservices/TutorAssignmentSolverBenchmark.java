@@ -0,0 +1,71 @@
+package com.example.application.microservices;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.models.SessionSlot;
+import com.example.application.models.TutorAssignment;
+import com.example.application.models.TutoringSession;
+
+/**
+ * Benchmarks TutorAssignmentSolver filling a week of sessions (of capacity 4) with tutors who each already
+ * tutor another course at some point in the week, three sessions per tutor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TutorAssignmentSolverBenchmark {
+
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+    private static final int YEAR = 2023;
+
+    @Param({ "100", "1000" })
+    public int tutorCount;
+
+    @Param({ "50", "500" })
+    public int sessionCount;
+
+    private List<TutoringSession> sessions;
+    private Map<String, List<SessionSlot>> commitments;
+
+    @Setup
+    public void setUp() {
+        sessions = new ArrayList<>();
+        for (int s = 0; s < sessionCount; s++) {
+            double start = 8 + (s / 5) % 10;
+            TutoringSession session = new TutoringSession(start, start + 1.5, DAYS[s % 5], "Venue", "link", 4);
+            session.setSessionID(s + 1);
+            session.setSignedUpTutors(new ArrayList<>());
+            sessions.add(session);
+        }
+
+        commitments = new HashMap<>();
+        for (int t = 0; t < tutorCount; t++) {
+            commitments.put(String.format("BENCH%04d", t),
+                    List.of(new SessionSlot(10_000 + t, YEAR, DAYS[t % 5], 8 + t % 10, 9 + t % 10)));
+        }
+    }
+
+    @Benchmark
+    public List<TutorAssignment> solve() {
+        return TutorAssignmentSolver.solve(sessions, YEAR, commitments, 3);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.application.microservices;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.PublicEnums.Response;
+
+/**
+ * Benchmarks the validation run on every sign-in, sign-up and user import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({ "valid", "invalid" })
+    public String input;
+
+    private String email;
+    private String studentID;
+    private String employeeID;
+
+    @Setup
+    public void setUp() {
+        boolean valid = input.equals("valid");
+
+        email = valid ? "johndoe@myuct.ac.za" : "johndoe.myuct.ac.za";
+        studentID = valid ? "DOEJHN001" : "DOEJHN0001";
+        employeeID = valid ? "100000001" : "10000000A";
+    }
+
+    @Benchmark
+    public Boolean validateEmail() {
+        return UserManager.validateEmail(email);
+    }
+
+    @Benchmark
+    public Boolean validateSTUID() {
+        return UserManager.validateSTUID(studentID);
+    }
+
+    @Benchmark
+    public Boolean validateEMPID() {
+        return UserManager.validateEMPID(employeeID);
+    }
+
+    @Benchmark
+    public Response validateEmailFormat() {
+        return SignInManager.validateEmailFormat(email);
+    }
+}
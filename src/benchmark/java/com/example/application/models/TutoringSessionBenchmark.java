@@ -0,0 +1,47 @@
+package com.example.application.models;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks TutoringSession's conversions between LocalTime (the dialogs) and double (the DB and the
+ * schedule grid).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TutoringSessionBenchmark {
+
+    private final LocalTime start = LocalTime.of(14, 30);
+    private final LocalTime end = LocalTime.of(16, 45);
+
+    private final TutoringSession session = new TutoringSession(14.5, 16.75, "Monday", "Hatfield Lab", null, 5);
+
+    @Benchmark
+    public TutoringSession fromLocalTime() {
+        return new TutoringSession(start, end, "Monday", "Hatfield Lab", null, 5);
+    }
+
+    @Benchmark
+    public LocalTime toLocalTime() {
+        return session.getStartTimeAsLocalTime();
+    }
+
+    @Benchmark
+    public LocalTime roundTrip() {
+        return new TutoringSession(start, end, "Monday", "Hatfield Lab", null, 5).getEndTimeAsLocalTime();
+    }
+}
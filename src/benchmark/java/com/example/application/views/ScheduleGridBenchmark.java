@@ -0,0 +1,60 @@
+package com.example.application.views;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.models.TutoringSession;
+
+/**
+ * Benchmarks building the rows of CourseView's schedule grid (getCleanScheduleData, then a cell for
+ * every hour each session runs into). With no sessions, it is getCleanScheduleData alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleGridBenchmark {
+
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    @Param({ "0", "20", "60" })
+    public int sessionCount;
+
+    private List<TutoringSession> sessions;
+    private List<String> colours;
+
+    @Setup
+    public void setUp() {
+        sessions = new ArrayList<>();
+        colours = new ArrayList<>();
+
+        for (int i = 0; i < sessionCount; i++) {
+            // one to three hour sessions, spread over the week from 8:00 to 19:00
+            double start = 8 + (i * 3) % 10;
+            double end = Math.min(start + 1 + i % 3, 20);
+
+            sessions.add(new TutoringSession(start, end, DAYS[i % DAYS.length], "Hatfield Lab", null, 5));
+            colours.add(String.format("#%06x", i * 0x10101));
+        }
+    }
+
+    @Benchmark
+    public Object buildScheduleData() {
+        return CourseView.buildScheduleData(sessions, colours, ts -> "Available: " + ts.getTutoringCapacity());
+    }
+}
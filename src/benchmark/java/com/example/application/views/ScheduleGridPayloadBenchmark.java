@@ -0,0 +1,158 @@
+package com.example.application.views;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.application.models.TutoringSession;
+import com.example.application.views.CourseView.TimeSlot;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.html.Div;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Measures what a schedule's day columns cost the session, rendered the two ways CourseView has drawn them:
+ * - components: a Div of Buttons, each with its own click listener, per cell (as before the LitRenderer)
+ * - litRenderer: the JSON cells of TimeSlot.getCells, rendered in the browser by SESSION_CELLS_TEMPLATE
+ *
+ * Besides the time taken, each reports (as secondary results) the bytes one model takes serialized - as it is
+ * kept in the session - and, for the LitRenderer, the bytes of JSON sent to the browser. There is one
+ * measurement iteration, of one invocation, so the counters are the sizes of one model. Run with e.g.
+ * mvn -Pbenchmark test -Djmh.include=ScheduleGridPayload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 1)
+@Fork(1)
+public class ScheduleGridPayloadBenchmark {
+
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    @Param({ "20", "50" })
+    public int sessionCount;
+
+    private List<TimeSlot> rows;
+
+    @Setup
+    public void setUp() {
+        List<TutoringSession> sessions = new ArrayList<>();
+        List<String> colours = new ArrayList<>();
+
+        for (int i = 0; i < sessionCount; i++) {
+            // one to three hour sessions, spread over the week from 8:00 to 19:00
+            double start = 8 + (i * 3) % 10;
+            double end = Math.min(start + 1 + i % 3, 20);
+
+            TutoringSession session = new TutoringSession(start, end, DAYS[i % DAYS.length], "Hatfield Lab", null, 5);
+            session.setSessionID(i + 1);
+            sessions.add(session);
+            colours.add(String.format("#%06x", i * 0x10101));
+        }
+
+        rows = CourseView.buildScheduleData(sessions, colours, ts -> "Available: " + ts.getTutoringCapacity());
+    }
+
+    /**
+     * The sizes of the model last built, reported alongside the time taken.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long serializedBytes;
+        public long jsonBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            serializedBytes = 0;
+            jsonBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public Object components(Payload payload) throws IOException {
+        List<Div> cells = new ArrayList<>();
+
+        for (TimeSlot row : rows) {
+            for (String day : DAYS) {
+                Div buttonGroup = new Div();
+                buttonGroup.getStyle().set("display", "flex");
+                buttonGroup.getStyle().set("flex-wrap", "wrap");
+                buttonGroup.getStyle().set("flex-direction", "column");
+
+                JsonArray dayCells = row.getCells(day);
+                for (int i = 0; i < dayCells.length(); i++) {
+                    JsonObject cell = dayCells.getObject(i);
+                    int sessionID = (int) cell.getNumber("id");
+
+                    Button button = new Button(cell.getString("label"));
+                    button.addClickListener(event -> open(sessionID));
+                    button.getStyle().set("background-color", cell.getString("colour"));
+                    button.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
+                    button.setHeightFull();
+                    buttonGroup.add(button);
+                }
+
+                buttonGroup.setWidth("75%");
+                buttonGroup.setHeightFull();
+                cells.add(buttonGroup);
+            }
+        }
+
+        payload.serializedBytes += serializedSize((Serializable) cells);
+        return cells;
+    }
+
+    @Benchmark
+    public Object litRenderer(Payload payload) throws IOException {
+        List<JsonArray> cells = new ArrayList<>();
+
+        for (TimeSlot row : rows) {
+            for (String day : DAYS) {
+                JsonArray dayCells = row.getCells(day);
+                cells.add(dayCells);
+                payload.jsonBytes += dayCells.toJson().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+
+        payload.serializedBytes += serializedSize((Serializable) cells);
+        return cells;
+    }
+
+    private static void open(int sessionID) {
+        // the cells are never clicked here
+    }
+
+    private static long serializedSize(Serializable model) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(model);
+        }
+
+        return bytes.size();
+    }
+}
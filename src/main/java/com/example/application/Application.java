@@ -1,6 +1,7 @@
 package com.example.application;
 
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 
 import com.vaadin.flow.theme.Theme;
 
@@ -23,11 +24,15 @@ import com.vaadin.flow.server.PWA;
  * The {@code @Theme} annotation sets the default theme for the Vaadin UI. The
  * theme named "myapp" will be used throughout the application.
  *
+ * The {@code @Push} annotation enables server push, so changes made by one user
+ * (e.g. a tutor signing up to a session) are shown to the others straight away.
+ *
  * The {@code @ComponentScan} annotation specifies the base package(s) for
  * component scanning. In this case, it scans the "com.example.application.models"
  * package for Spring components.
  */
 @SpringBootApplication
+@Push
 @Theme(value = "mytutor")
 @PWA(name = "MyTutor", shortName = "MyTutor", startPath = "", backgroundColor = "#227aef", display = "standalone", offlinePath="offline.html", offlineResources = { "./images/offline.png"})
 public class Application implements AppShellConfigurator {
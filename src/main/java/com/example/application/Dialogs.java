@@ -36,6 +36,9 @@ public class Dialogs {
             case SUCCESS:
                 message = "Success! You may continue.";
                 break;
+            case UNSUCCESSFUL:
+                message = "Sorry! Something went wrong...Please try again!";
+                break;
             case INVALID_EMAIL:
                 message = "Sorry! Invalid email format...";
                 break;
@@ -78,6 +81,21 @@ public class Dialogs {
             case INVALID_TUTORING_CAPACITY:
                 message = "Sorry! Tutoring Capacity must be greater than zero...";
                 break;
+            case ALREADY_CHECKED_IN:
+                message = "You have already checked in to this session today!";
+                break;
+            case SESSION_FULL:
+                message = "Sorry! This session is already full...";
+                break;
+            case CAPACITY_REACHED:
+                message = "Sorry! The course has no more capacity...";
+                break;
+            case SCHEDULE_CONFLICT:
+                message = "Sorry! Someone else has changed this schedule in the meantime...Please make your changes again!";
+                break;
+            case SESSION_CLASH:
+                message = "Sorry! You are already tutoring another session at this time...";
+                break;
             case UPDATE_UNSUCCESSFUL:
                 message = "Sorry! Updating was not successful...Please try again!";
                 break;
@@ -29,6 +29,11 @@ public class PublicEnums {
         ACADEMIC_STANDING_NOT_SATISFACTORY,
         SIGN_UP_NOT_SUCCESSFUL,
         INVALID_TUTORING_CAPACITY,
+        ALREADY_CHECKED_IN,
+        SESSION_FULL,
+        SESSION_CLASH,
+        CAPACITY_REACHED,
+        SCHEDULE_CONFLICT,
         CANNOT_DELETE_SELF,
         FAILED_TO_DELETE_USER,
         APPLICATION_UNSUCCESSFUL,
@@ -62,6 +67,25 @@ public class PublicEnums {
     
     }
 
+    /**
+     * Enumeration of the delivery states of an email in the outbox
+     */
+    public enum EmailStatus {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED;
+    }
+
+    /**
+     * Enumeration of the changes to a schedule that are pushed to the views showing it
+     */
+    public enum ScheduleChangeType {
+        TUTOR_JOINED,
+        TUTOR_LEFT,
+        SCHEDULE_UPDATED;
+    }
+
     /**
      * Enumeration for different years of study.
      */
@@ -1,19 +1,31 @@
 package com.example.application.database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import java.time.Year;
 
+import javax.sql.DataSource;
+
 import com.example.application.PublicEnums.ApplicationStatus;
+import com.example.application.PublicEnums.EmailStatus;
 import com.example.application.PublicEnums.QualificationLevel;
+import com.example.application.PublicEnums.Response;
 import com.example.application.PublicEnums.Role;
 
 import com.example.application.models.*;
@@ -27,19 +39,30 @@ public class DatabaseController {
 
     // #region // !! SETTING UP and AUX METHODS
 
-    // Declaring and initializing constants for the database connectiondetails.
-    private static final String DATABASE_URL = "jdbc:mysql://nightmare.cs.uct.ac.za/wlseth003";
-    private static final String DATABASE_USER = "wlseth003";
-    private static final String DATABASE_PASSWORD = "ijeiM4Bu";
+    // The pooled DataSource (configured in application.properties) that every connection is borrowed from.
+    private static DataSource dataSource;
+
+    /**
+     * Hands the DatabaseController the pooled DataSource it borrows connections from.
+     * Called once on startup by the DatabaseInitialiser.
+     * 
+     * @param pooledDataSource The DataSource backed by the connection pool.
+     */
+    public static void setDataSource(DataSource pooledDataSource) {
+        dataSource = pooledDataSource;
+    }
 
     /**
-     * Function returns a connection to a database using the specified URL,
-     * username, and password.
+     * Function borrows a connection from the connection pool. Closing the returned
+     * connection hands it back to the pool rather than closing the underlying socket.
      * 
      * @return The method is returning a Connection object.
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DATABASE_URL, DATABASE_USER, DATABASE_PASSWORD);
+        if (dataSource == null) {
+            throw new SQLException("The DatabaseController has not been given a DataSource");
+        }
+        return dataSource.getConnection();
     }
 
     /**
@@ -75,6 +98,344 @@ public class DatabaseController {
 
     // #endregion
 
+    // #region // !! HOT QUERIES
+
+    // The queries run on every sign-in or page load. Each is looked up by an index (see db/migration), which
+    // checkHotQueryPlans() verifies on startup.
+
+    private static final String AUTHENTICATE_QUERY = "SELECT I.role, I.userID, "
+            + "COALESCE(S.firstName, E.firstName, A.firstName) AS firstName, "
+            + "COALESCE(S.lastName, E.lastName, A.lastName) AS lastName, "
+            + "S.qualificationLevel, S.applicationStatus, E.department, E.faculty, "
+            + "C.courseCode, C.grade, C.year "
+            + "FROM UserIdentities I "
+            + "LEFT JOIN Students S ON I.role = 'Student' AND S.studentID = I.userID AND S.password = ? "
+            + "LEFT JOIN Employees E ON I.role = 'Employee' AND E.employeeID = I.userID AND E.password = ? "
+            + "LEFT JOIN Administrators A ON I.role = 'Administrator' AND A.employeeID = I.userID AND A.password = ? "
+            + "LEFT JOIN CompletedCourses C ON C.studentID = S.studentID "
+            + "WHERE I.email = ? AND COALESCE(S.studentID, E.employeeID, A.employeeID) IS NOT NULL "
+            + "ORDER BY CASE I.role WHEN 'Student' THEN 1 WHEN 'Employee' THEN 2 ELSE 3 END";
+
+    private static final String COURSE_MEMBERSHIPS_QUERY = "SELECT courseCode, year, role FROM ("
+            + "SELECT courseCode, year, 'TA' AS role, 1 AS listing FROM TAs WHERE studID = ? "
+            + "UNION ALL SELECT courseCode, year, 'Tutor' AS role, 2 AS listing FROM Tutors WHERE stuID = ? "
+            + "UNION ALL SELECT courseCode, year, role, 3 AS listing FROM AccessibleCourses WHERE empID = ?"
+            + ") M ORDER BY listing";
+
+    private static final String EMPLOYEE_ACCESS_QUERY = "SELECT COUNT(*) FROM AccessibleCourses WHERE empID = ? AND courseCode = ? AND year = ?";
+
+    private static final String IS_TUTOR_QUERY = "SELECT * FROM Tutors WHERE stuID = ? AND courseCode = ? AND year = ?";
+
+    private static final String IS_TA_QUERY = "SELECT * FROM TAs WHERE studID = ? AND courseCode = ? AND year = ?";
+
+    private static final String SESSIONS_WITH_TUTORS_QUERY = "SELECT TS.tutSessionID, TS.day, TS.startTime, TS.endTime, TS.location, TS.whatsappLink, TS.tutoringCapacity, "
+            + "S.studentID, S.firstName, S.lastName, S.email, S.qualificationLevel "
+            + "FROM TutoringSessions TS "
+            + "LEFT JOIN TutoringSessionTutors TT ON TT.tutSessionID = TS.tutSessionID "
+            + "LEFT JOIN Students S ON S.studentID = TT.studentID "
+            + "WHERE TS.scheduleID = ? "
+            + "ORDER BY TS.tutSessionID, TT.studentID";
+
+    private static final String TUTOR_COMMITMENTS_QUERY = "SELECT ts.tutSessionID, s.year, ts.day, ts.startTime, ts.endTime "
+            + "FROM TutoringSessionTutors tst "
+            + "JOIN TutoringSessions ts ON ts.tutSessionID = tst.tutSessionID "
+            + "JOIN Schedules s ON s.scheduleID = ts.scheduleID "
+            + "WHERE tst.studentID = ?";
+
+    private static final String CHECKED_IN_QUERY = "SELECT * FROM Attendance WHERE studentID = ? AND date = ? AND tutoringSessionID = ?";
+
+    // The course staff that can be paged through (see getCourseStaffPage): each kind's rows for a course in a year, joined to the people
+    private static final Map<String, String> COURSE_STAFF_TABLES = Map.of(
+            "Tutors", "FROM Tutors T JOIN Students P ON P.studentID = T.stuID WHERE T.courseCode = ? AND T.year = ?",
+            "TAs", "FROM TAs T JOIN Students P ON P.studentID = T.studID WHERE T.courseCode = ? AND T.year = ?",
+            "Employees", "FROM AccessibleCourses T JOIN Employees P ON P.employeeID = T.empID WHERE T.courseCode = ? AND T.year = ?");
+
+    // name -> query, in the order they are checked
+    private static final Map<String, String> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("authenticate", AUTHENTICATE_QUERY);
+        HOT_QUERIES.put("getCourseMemberships", COURSE_MEMBERSHIPS_QUERY);
+        HOT_QUERIES.put("doesEmployeeExist", EMPLOYEE_ACCESS_QUERY);
+        HOT_QUERIES.put("isTutorOrTA (Tutors)", IS_TUTOR_QUERY);
+        HOT_QUERIES.put("isTutorOrTA (TAs)", IS_TA_QUERY);
+        HOT_QUERIES.put("getTutoringSessions", SESSIONS_WITH_TUTORS_QUERY);
+        HOT_QUERIES.put("getTutorCommitments", TUTOR_COMMITMENTS_QUERY);
+        HOT_QUERIES.put("hasTutorAlreadyCheckedIn", CHECKED_IN_QUERY);
+        HOT_QUERIES.put("getCourseStaffPage (Tutors)", "SELECT P.*, T.* " + COURSE_STAFF_TABLES.get("Tutors"));
+        HOT_QUERIES.put("getCourseStaffPage (TAs)", "SELECT P.*, T.* " + COURSE_STAFF_TABLES.get("TAs"));
+        HOT_QUERIES.put("getCourseStaffPage (Employees)", "SELECT P.*, T.* " + COURSE_STAFF_TABLES.get("Employees"));
+    }
+
+    // #endregion
+
+    // #region // !! SCHEMA UPKEEP
+
+    /**
+     * Brings the database schema up to date with what this version of the DatabaseController expects, by
+     * applying the migrations it has not had yet (see SchemaMigrator): the ones below, and the scripts in
+     * db/migration. The SchemaHistory table records which have been applied. Called once on startup by the
+     * DatabaseInitialiser.
+     * 
+     * @return true if the schema is up to date, false if a migration failed.
+     */
+    public static boolean updateSchema() {
+        try (Connection connection = getConnection()) {
+
+            SchemaMigrator.migrate(connection, MIGRATIONS);
+
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * The migrations made in Java (the scripts are in db/migration). V2 to V8 are the changes made to the base
+     * schema (db/schema.sql) before they were versioned, so on a database that already had them they change
+     * nothing: like every migration, each checks before it changes anything.
+     */
+    private static final Map<Integer, SchemaMigrator.Migration> MIGRATIONS = new TreeMap<>();
+
+    static {
+        MIGRATIONS.put(2, new SchemaMigrator.Migration("add user identities", DatabaseController::addUserIdentities));
+        MIGRATIONS.put(3, new SchemaMigrator.Migration("make check ins unique", DatabaseController::makeCheckInsUnique));
+        MIGRATIONS.put(4, new SchemaMigrator.Migration("add email outbox", DatabaseController::addEmailOutbox));
+        MIGRATIONS.put(5, new SchemaMigrator.Migration("add user search indexes", DatabaseController::addUserSearchIndexes));
+        MIGRATIONS.put(6, new SchemaMigrator.Migration("add attendance counters", DatabaseController::addAttendanceCounters));
+        MIGRATIONS.put(7, new SchemaMigrator.Migration("add session seat counts", DatabaseController::addSessionSeatCounts));
+        MIGRATIONS.put(8, new SchemaMigrator.Migration("add schedule versions", DatabaseController::addScheduleVersions));
+    }
+
+    /**
+     * V2: the email -> role/ID index every sign-in is resolved against, backfilled from the principal tables
+     * (rows already indexed are left as they are).
+     */
+    private static void addUserIdentities(Connection connection) throws SQLException {
+        String query = "CREATE TABLE IF NOT EXISTS UserIdentities ("
+                + "email VARCHAR(255) NOT NULL, "
+                + "role VARCHAR(16) NOT NULL, "
+                + "userID VARCHAR(16) NOT NULL, "
+                + "PRIMARY KEY (email, role))";
+        connection.prepareStatement(query).executeUpdate();
+
+        query = "INSERT IGNORE INTO UserIdentities (email, role, userID) SELECT email, 'Student', studentID FROM Students";
+        connection.prepareStatement(query).executeUpdate();
+
+        query = "INSERT IGNORE INTO UserIdentities (email, role, userID) SELECT email, 'Employee', employeeID FROM Employees";
+        connection.prepareStatement(query).executeUpdate();
+
+        query = "INSERT IGNORE INTO UserIdentities (email, role, userID) SELECT email, 'Administrator', employeeID FROM Administrators";
+        connection.prepareStatement(query).executeUpdate();
+    }
+
+    /**
+     * V3: a tutor can only check in to a session once a day (the check-ins made more than once, before this was
+     * enforced, are kept once).
+     */
+    private static void makeCheckInsUnique(Connection connection) throws SQLException {
+        if (!SchemaMigrator.indexExists(connection, "Attendance", "uq_attendance_checkin")) {
+            removeDuplicateCheckIns(connection);
+        }
+
+        addIndexIfMissing(connection, "Attendance", "uq_attendance_checkin",
+                "CREATE UNIQUE INDEX uq_attendance_checkin ON Attendance (studentID, date, tutoringSessionID)");
+    }
+
+    /**
+     * V4: the outbox emails are queued in, and delivered from, in the background.
+     */
+    private static void addEmailOutbox(Connection connection) throws SQLException {
+        String query = "CREATE TABLE IF NOT EXISTS EmailOutbox ("
+                + "emailID INT AUTO_INCREMENT PRIMARY KEY, "
+                + "recipient VARCHAR(255) NOT NULL, "
+                + "subject VARCHAR(255) NOT NULL, "
+                + "body TEXT NOT NULL, "
+                + "status VARCHAR(16) NOT NULL, "
+                + "attempts INT NOT NULL DEFAULT 0, "
+                + "nextAttempt BIGINT NOT NULL, "
+                + "lastError VARCHAR(1024))";
+        connection.prepareStatement(query).executeUpdate();
+
+        addIndexIfMissing(connection, "EmailOutbox", "idx_emailoutbox_due",
+                "CREATE INDEX idx_emailoutbox_due ON EmailOutbox (status, nextAttempt)");
+
+        // the bodies of emails delivered (or given up on) before they were blanked on delivery
+        query = "UPDATE EmailOutbox SET body = '' WHERE status IN ('SENT', 'FAILED') AND body <> ''";
+        connection.prepareStatement(query).executeUpdate();
+    }
+
+    /**
+     * V5: the User Management search matches name prefixes, as well as IDs.
+     */
+    private static void addUserSearchIndexes(Connection connection) throws SQLException {
+        addIndexIfMissing(connection, "Students", "idx_students_lastname",
+                "CREATE INDEX idx_students_lastname ON Students (lastName)");
+
+        addIndexIfMissing(connection, "Students", "idx_students_firstname",
+                "CREATE INDEX idx_students_firstname ON Students (firstName)");
+    }
+
+    /**
+     * V6: the attendance counters the statistics are read from, built from Attendance.
+     */
+    private static void addAttendanceCounters(Connection connection) throws SQLException {
+        String query = "CREATE TABLE IF NOT EXISTS AttendanceCourseCounts ("
+                + "courseCode VARCHAR(16) NOT NULL PRIMARY KEY, "
+                + "attendances INT NOT NULL)";
+        connection.prepareStatement(query).executeUpdate();
+
+        query = "CREATE TABLE IF NOT EXISTS AttendanceTutorCounts ("
+                + "courseCode VARCHAR(16) NOT NULL, "
+                + "studentID VARCHAR(9) NOT NULL, "
+                + "attendances INT NOT NULL, "
+                + "PRIMARY KEY (courseCode, studentID))";
+        connection.prepareStatement(query).executeUpdate();
+
+        query = "CREATE TABLE IF NOT EXISTS AttendanceSessionCounts ("
+                + "tutoringSessionID INT NOT NULL PRIMARY KEY, "
+                + "attendances INT NOT NULL)";
+        connection.prepareStatement(query).executeUpdate();
+
+        rebuildAttendanceCounts(connection);
+    }
+
+    /**
+     * V7: each session counts its signed-up tutors, so a seat can be reserved with one conditional update.
+     */
+    private static void addSessionSeatCounts(Connection connection) throws SQLException {
+        if (!columnExists(connection, "TutoringSessions", "signedUpTutors")) {
+            String query = "ALTER TABLE TutoringSessions ADD COLUMN signedUpTutors INT NOT NULL DEFAULT 0";
+            connection.prepareStatement(query).executeUpdate();
+        }
+
+        String query = "UPDATE TutoringSessions SET signedUpTutors = "
+                + "(SELECT COUNT(*) FROM TutoringSessionTutors TT WHERE TT.tutSessionID = TutoringSessions.tutSessionID)";
+        connection.prepareStatement(query).executeUpdate();
+    }
+
+    /**
+     * V8: each schedule has a version, so an edit made to an out of date copy of it can be refused.
+     */
+    private static void addScheduleVersions(Connection connection) throws SQLException {
+        if (!columnExists(connection, "Schedules", "version")) {
+            String query = "ALTER TABLE Schedules ADD COLUMN version INT NOT NULL DEFAULT 0";
+            connection.prepareStatement(query).executeUpdate();
+        }
+    }
+
+    /**
+     * @param connection
+     * @param table
+     * @param column
+     * @return true if the table has the column
+     * @throws SQLException
+     */
+    private static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        // the metadata is looked up by the names as the database stores them
+        boolean lower = metaData.storesLowerCaseIdentifiers();
+        boolean upper = metaData.storesUpperCaseIdentifiers();
+        String storedTable = lower ? table.toLowerCase() : upper ? table.toUpperCase() : table;
+        String storedColumn = lower ? column.toLowerCase() : upper ? column.toUpperCase() : column;
+
+        return metaData.getColumns(connection.getCatalog(), null, storedTable, storedColumn).next();
+    }
+
+    /**
+     * EXPLAINs the hot queries (see HOT_QUERIES) and reports the tables any of them reads in full, i.e. an index
+     * they need is missing. Called once on startup by the DatabaseInitialiser, after the schema is brought up to date.
+     * 
+     * @return a warning ("query: table") for each table read in full (empty if there are none), or null on an error.
+     */
+    public static List<String> checkHotQueryPlans() {
+        try (Connection connection = getConnection()) {
+
+            return SchemaMigrator.findFullTableScans(connection, HOT_QUERIES);
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates an index, unless the table already has an index by that name.
+     * 
+     * @param connection The connection to run the DDL on.
+     * @param table      The table the index is on.
+     * @param indexName  The name of the index.
+     * @param ddl        The CREATE INDEX statement.
+     * @throws SQLException
+     */
+    private static void addIndexIfMissing(Connection connection, String table, String indexName, String ddl) throws SQLException {
+        if (!SchemaMigrator.indexExists(connection, table, indexName)) {
+            connection.prepareStatement(ddl).executeUpdate();
+        }
+    }
+
+    /**
+     * Keeps one row of each check-in (studentID, date, tutoringSessionID) recorded more than once in Attendance,
+     * as could happen before uq_attendance_checkin was there to refuse the second. The rows of a check-in are
+     * replaced by one, in a single transaction.
+     * 
+     * @param connection
+     * @throws SQLException
+     */
+    private static void removeDuplicateCheckIns(Connection connection) throws SQLException {
+        String query = "SELECT studentID, date, tutoringSessionID, MIN(courseCode) AS courseCode FROM Attendance "
+                + "WHERE studentID IS NOT NULL AND date IS NOT NULL AND tutoringSessionID IS NOT NULL "
+                + "GROUP BY studentID, date, tutoringSessionID HAVING COUNT(*) > 1";
+        ResultSet resultSet = connection.prepareStatement(query).executeQuery();
+
+        List<String[]> duplicates = new ArrayList<>();
+        while (resultSet.next()) {
+            duplicates.add(new String[] { resultSet.getString("studentID"), resultSet.getString("date"),
+                    resultSet.getString("tutoringSessionID"), resultSet.getString("courseCode") });
+        }
+
+        if (duplicates.isEmpty()) {
+            return;
+        }
+
+        connection.setAutoCommit(false);
+
+        try {
+            PreparedStatement deleteStatement = connection.prepareStatement(
+                    "DELETE FROM Attendance WHERE studentID = ? AND date = ? AND tutoringSessionID = ?");
+            PreparedStatement insertStatement = connection.prepareStatement(
+                    "INSERT INTO Attendance (studentID, date, tutoringSessionID, courseCode) VALUES (?,?,?,?)");
+
+            for (String[] checkIn : duplicates) {
+                deleteStatement.setString(1, checkIn[0]);
+                deleteStatement.setString(2, checkIn[1]);
+                deleteStatement.setInt(3, Integer.parseInt(checkIn[2]));
+                deleteStatement.executeUpdate();
+
+                insertStatement.setString(1, checkIn[0]);
+                insertStatement.setString(2, checkIn[1]);
+                insertStatement.setInt(3, Integer.parseInt(checkIn[2]));
+                insertStatement.setString(4, checkIn[3]);
+                insertStatement.executeUpdate();
+            }
+
+            connection.commit();
+
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // #endregion
+
     // #region // !! SIGNING-UP
 
     /**
@@ -98,6 +459,7 @@ public class DatabaseController {
     public static boolean studentSignUp(Student newStudent, String password) {
 
         try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false); // the student and their sign-in identity are added together
 
             boolean success = true;
 
@@ -115,6 +477,8 @@ public class DatabaseController {
             int rowsAffected = preparedStatement.executeUpdate();
             int rowsInserted = 0;
 
+            addUserIdentity(connection, newStudent.getEmail(), "Student", newStudent.getStudentID());
+
             // Adding to the "completedCourses" table
 
             for (CompletedCourse c : newStudent.getCompletedCourses()) {
@@ -137,6 +501,8 @@ public class DatabaseController {
                 success = false;
             }
 
+            connection.commit();
+
             return success;
 
         } catch (SQLException e) {
@@ -199,43 +565,176 @@ public class DatabaseController {
      */
     public static int doesUserExist(String email, String password) {
 
+        Person user = authenticate(email, password);
+
+        if (user instanceof Student)
+            return 1;
+
+        if (user instanceof Lecturer)
+            return 2;
+
+        if (user instanceof Administrator)
+            return 3;
+
+        return 0;
+    }
+
+    /**
+     * Resolves the user with the given email and password, and loads them, in a single query.
+     * 
+     * The email is looked up in the UserIdentities index, which names the table (and the ID within it)
+     * each of the email's accounts lives in; only the accounts whose password matches are joined in.
+     * Should the email belong to more than one kind of account, the Student account is preferred over
+     * the Employee account, which is preferred over the Administrator account.
+     * 
+     * @param email    String that represents the email address of the user.
+     * @param password String that represents the user's password.
+     * @return A Student (with their completed courses), Lecturer or Administrator object, or null if
+     *         the credentials do not match any user.
+     */
+    public static Person authenticate(String email, String password) {
+
+        Person user = null;
+
         try (Connection connection = getConnection()) {
 
-            // Check Students
-            String query = "SELECT * FROM Students WHERE email = ? AND password = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, email);
+            PreparedStatement preparedStatement = connection.prepareStatement(AUTHENTICATE_QUERY);
+            preparedStatement.setString(1, password);
             preparedStatement.setString(2, password);
+            preparedStatement.setString(3, password);
+            preparedStatement.setString(4, email);
             ResultSet resultSet = preparedStatement.executeQuery();
 
-            if (resultSet.next())
-                return 1;
+            if (!resultSet.next()) {
+                return null;
+            }
 
-            // Check Employees
-            query = "SELECT * FROM Employees WHERE email = ? AND password = ?";
-            preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, email);
-            preparedStatement.setString(2, password);
-            resultSet = preparedStatement.executeQuery();
+            String role = resultSet.getString("role");
 
-            if (resultSet.next())
-                return 2;
+            switch (role) {
+                case "Student":
+                    List<CompletedCourse> completedCourses = new ArrayList<>();
 
-            // Check Administrator
-            query = "SELECT * FROM Administrators WHERE email = ? AND password = ?";
-            preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, email);
-            preparedStatement.setString(2, password);
-            resultSet = preparedStatement.executeQuery();
+                    user = new Student(
+                            resultSet.getString("firstName"),
+                            resultSet.getString("lastName"),
+                            email,
+                            resultSet.getString("userID"),
+                            QualificationLevel.valueOf(resultSet.getString("qualificationLevel")),
+                            ApplicationStatus.valueOf(resultSet.getString("applicationStatus")),
+                            completedCourses);
+
+                    // every Student row carries one of their completed courses (if they have any)
+                    do {
+                        if (!role.equals(resultSet.getString("role"))) {
+                            break;
+                        }
+
+                        if (resultSet.getString("courseCode") != null) {
+                            completedCourses.add(new CompletedCourse(
+                                    resultSet.getString("courseCode"),
+                                    resultSet.getDouble("grade"),
+                                    resultSet.getInt("year")));
+                        }
+                    } while (resultSet.next());
+                    break;
 
-            if (resultSet.next())
-                return 3;
+                case "Employee":
+                    user = new Lecturer(
+                            resultSet.getString("firstName"),
+                            resultSet.getString("lastName"),
+                            email,
+                            resultSet.getString("userID"),
+                            resultSet.getString("department"),
+                            resultSet.getString("faculty"));
+                    break;
+
+                case "Administrator":
+                    user = new Administrator(
+                            resultSet.getString("firstName"),
+                            resultSet.getString("lastName"),
+                            email,
+                            resultSet.getString("userID"));
+                    break;
+            }
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return 0;
+        return user;
+    }
+
+    /**
+     * Adds an email to the UserIdentities index, on an already-borrowed connection.
+     * 
+     * @param connection The connection to run the insert on.
+     * @param email      The email the user signs in with.
+     * @param role       The role (as used by the UserManagement flows) the account was created with.
+     * @param userID     The user's studentID or employeeID.
+     * @throws SQLException
+     */
+    private static void addUserIdentity(Connection connection, String email, String role, String userID) throws SQLException {
+        String query = "INSERT INTO UserIdentities (email, role, userID) VALUES (?,?,?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setString(1, email);
+        preparedStatement.setString(2, getIdentityRole(role));
+        preparedStatement.setString(3, userID);
+        preparedStatement.executeUpdate();
+    }
+
+    /**
+     * Removes an email from the UserIdentities index, on an already-borrowed connection.
+     * 
+     * @param connection The connection to run the delete on.
+     * @param email      The email the user signs in with.
+     * @param role       The role (as used by the UserManagement flows) of the account being deleted.
+     * @throws SQLException
+     */
+    private static void removeUserIdentity(Connection connection, String email, String role) throws SQLException {
+        String query = "DELETE FROM UserIdentities WHERE email = ? AND role = ?";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setString(1, email);
+        preparedStatement.setString(2, getIdentityRole(role));
+        preparedStatement.executeUpdate();
+    }
+
+    /**
+     * @param user A Student (Tutor, TA), Lecturer (CourseConvenor) or Administrator
+     * @return the user's studentID or employeeID
+     */
+    private static String getUserID(Person user) {
+        if (user instanceof Student) {
+            return ((Student) user).getStudentID();
+        }
+
+        if (user instanceof Lecturer) {
+            return ((Lecturer) user).getEmployeeID();
+        }
+
+        return ((Administrator) user).getEmployeeID();
+    }
+
+    /**
+     * Maps the roles used by the UserManagement flows onto the table the account lives in.
+     * 
+     * @param role "Administrator", "Course Convenor", "Lecturer", "Employee", "Tutor", "TA" or "Student"
+     * @return "Administrator", "Employee" or "Student"
+     */
+    private static String getIdentityRole(String role) {
+        switch (role) {
+            case "Administrator":
+            case "Admin":
+                return "Administrator";
+
+            case "Course Convenor":
+            case "Lecturer":
+            case "Employee":
+                return "Employee";
+
+            default:
+                return "Student";
+        }
     }
 
     /**
@@ -786,62 +1285,354 @@ public class DatabaseController {
         return studentList;
     }
 
+    // The columns each user table can be sorted by (grid property -> SQL), bare so their indexes can serve the order
+    private static final Map<String, Map<String, String>> USER_SORT_COLUMNS = Map.of(
+            "Administrators", Map.of(
+                    "employeeID", "employeeID",
+                    "firstName", "firstName",
+                    "lastName", "lastName",
+                    "email", "email"),
+            "Employees", Map.of(
+                    "employeeID", "employeeID",
+                    "firstName", "firstName",
+                    "lastName", "lastName",
+                    "email", "email",
+                    "department", "department",
+                    "faculty", "faculty"),
+            "Students", Map.of(
+                    "studentID", "studentID",
+                    "firstName", "firstName",
+                    "lastName", "lastName",
+                    "email", "email",
+                    "qualificationLevel", "qualificationLevel"));
+
     /**
-     * The function `createUser` inserts a new user into the database based on their
-     * role
-     * (Administrator, Course Convenor, Lecturer, Tutor, or TA) and returns true if
-     * the insertion was
-     * successful.
+     * Maps the current row of a ResultSet to an object.
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * The function retrieves a page of administrators, matching a search, in the given order.
      * 
-     * @param newUser     The `newUser` parameter is an object of type `Person`
-     *                    which represents the user
-     *                    to be created. It contains information such as the user's
-     *                    first name, last name, email, and
-     *                    other relevant details.
-     * @param role        The "role" parameter is a string that specifies the role
-     *                    of the user being created.
-     *                    It can have the values "Administrator", "Course Convenor",
-     *                    "Lecturer", "Tutor", or "TA".
-     * @param genPassword The `genPassword` parameter is a String that represents
-     *                    the generated
-     *                    password for the new user.
-     * @return The method is returning a boolean value. It returns true if the user
-     *         creation was
-     *         successful (i.e., if the number of rows affected by the SQL statement
-     *         is greater than 0), and
-     *         false otherwise.
+     * @see #getUsersPage
      */
-    public static boolean createUser(Person newUser, String role, String genPassword) {
-        int rA = 0;
+    public static List<Administrator> getAdministratorsPage(String search, String sortProperty, boolean ascending,
+            String afterSortValue, String afterID, int offset, int limit) {
 
-        try (Connection connection = getConnection()) {
+        return getUsersPage("Administrators", "employeeID", search, sortProperty, ascending, afterSortValue, afterID, offset, limit,
+                resultSet -> new Administrator(
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        resultSet.getString("employeeID")));
+    }
 
-            if (role.equals("Administrator")) {
+    /**
+     * The function retrieves a page of employees, matching a search, in the given order.
+     * 
+     * @see #getUsersPage
+     */
+    public static List<Lecturer> getEmployeesPage(String search, String sortProperty, boolean ascending,
+            String afterSortValue, String afterID, int offset, int limit) {
 
-                String query = "INSERT INTO Administrators (employeeID, firstName, lastName, email, password) VALUES (?,?,?,?,?)";
-                PreparedStatement preparedStatement = connection.prepareStatement(query);
-                preparedStatement.setString(1, ((Administrator) newUser).getEmployeeID());
-                preparedStatement.setString(2, newUser.getFirstName());
-                preparedStatement.setString(3, newUser.getLastName());
-                preparedStatement.setString(4, newUser.getEmail());
-                preparedStatement.setString(5, genPassword);
+        return getUsersPage("Employees", "employeeID", search, sortProperty, ascending, afterSortValue, afterID, offset, limit,
+                resultSet -> new Lecturer(
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        resultSet.getString("employeeID"),
+                        resultSet.getString("department"),
+                        resultSet.getString("faculty")));
+    }
 
-                int rowsAffected = preparedStatement.executeUpdate();
-                rA = rowsAffected;
+    /**
+     * The function retrieves a page of students, matching a search, in the given order.
+     * 
+     * @see #getUsersPage
+     */
+    public static List<Student> getStudentsPage(String search, String sortProperty, boolean ascending,
+            String afterSortValue, String afterID, int offset, int limit) {
 
-            } else if (role.equals("Course Convenor") || role.equals("Lecturer") || role.equals("Employee")) {
+        return getUsersPage("Students", "studentID", search, sortProperty, ascending, afterSortValue, afterID, offset, limit,
+                resultSet -> new Student(
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        resultSet.getString("studentID"),
+                        QualificationLevel.valueOf(resultSet.getString("qualificationLevel")),
+                        ApplicationStatus.valueOf(resultSet.getString("applicationStatus")),
+                        null));
+    }
 
-                String query = "INSERT INTO Employees (employeeID, firstName, lastName, email, password, department, faculty) VALUES (?,?,?,?,?,?,?)";
-                PreparedStatement preparedStatement = connection.prepareStatement(query);
-                preparedStatement.setString(1, ((Lecturer) newUser).getEmployeeID());
-                preparedStatement.setString(2, newUser.getFirstName());
-                preparedStatement.setString(3, newUser.getLastName());
-                preparedStatement.setString(4, newUser.getEmail());
-                preparedStatement.setString(5, genPassword);
-                preparedStatement.setString(6, ((Lecturer) newUser).getDepartment());
-                preparedStatement.setString(7, ((Lecturer) newUser).getFaculty());
+    /**
+     * The function retrieves a page of users from one of the user tables. The users are ordered by
+     * the sort column and then their ID, so the order is always total.
+     * 
+     * When the last row of the previous page is known (afterID), the page is read with a keyset
+     * condition - "the rows after that one" - which the index walks straight to. Otherwise the
+     * OFFSET is used, e.g. should the grid jump to the middle of the list.
+     * 
+     * @param table          "Administrators", "Employees" or "Students".
+     * @param idColumn       The table's primary key.
+     * @param search         A prefix the ID, first name, last name or email has to start with (may be empty).
+     * @param sortProperty   The grid property to sort by; unknown properties sort by the ID.
+     * @param ascending      The sort direction.
+     * @param afterSortValue The sort value of the last row of the previous page (null if it has none).
+     * @param afterID        The ID of the last row of the previous page, or null to use the offset.
+     * @param offset         The number of rows to skip (only used without afterID).
+     * @param limit          The maximum number of rows to return.
+     * @param mapper         Creates a user from a row.
+     * @return The page of users.
+     */
+    private static <T> List<T> getUsersPage(String table, String idColumn, String search, String sortProperty, boolean ascending,
+            String afterSortValue, String afterID, int offset, int limit, RowMapper<T> mapper) {
 
-                int rowsAffected = preparedStatement.executeUpdate();
+        String sortColumn = sortProperty == null ? idColumn : USER_SORT_COLUMNS.get(table).getOrDefault(sortProperty, idColumn);
+
+        return getKeysetPage("SELECT * FROM " + table + " WHERE 1 = 1", List.of(),
+                getUserSearchColumns(idColumn), idColumn, sortColumn,
+                search, ascending, afterSortValue, afterID, offset, limit, mapper);
+    }
+
+    /**
+     * The function retrieves a page of rows, ordered by a sort column and then their ID, so the
+     * order is always total. Used by getUsersPage and getCourseStaffPage.
+     * 
+     * When the last row of the previous page is known (afterID), the page is read with a keyset
+     * condition - "the rows after that one". Otherwise the OFFSET is used.
+     * 
+     * Rows without a sort value come first in ascending order and last in descending order.
+     * 
+     * @param select         The query the page is read from, ending in its WHERE clause (e.g. "... WHERE 1 = 1").
+     * @param parameters     The parameters of that query.
+     * @param searchColumns  The columns the search is a prefix of (any of them).
+     * @param idColumn       The column that identifies a row.
+     * @param sortColumn     The column to sort by.
+     * @param search         A prefix one of the search columns has to start with (may be empty).
+     * @param ascending      The sort direction.
+     * @param afterSortValue The sort value of the last row of the previous page (null if it has none).
+     * @param afterID        The ID of the last row of the previous page, or null to use the offset.
+     * @param offset         The number of rows to skip (only used without afterID).
+     * @param limit          The maximum number of rows to return.
+     * @param mapper         Creates an object from a row.
+     * @return The page.
+     */
+    private static <T> List<T> getKeysetPage(String select, List<String> parameters, String[] searchColumns,
+            String idColumn, String sortColumn, String search, boolean ascending, String afterSortValue, String afterID,
+            int offset, int limit, RowMapper<T> mapper) {
+
+        List<T> rows = new ArrayList<>();
+
+        boolean sortedByID = sortColumn.equals(idColumn);
+        String direction = ascending ? "ASC" : "DESC";
+        String comparison = ascending ? ">" : "<";
+        boolean keyset = afterID != null;
+
+        List<String> queryParameters = new ArrayList<>(parameters);
+        String query = select + getSearchCondition(searchColumns, search, queryParameters);
+
+        // the NULLs are ordered (and compared) explicitly, rather than through COALESCE, so the column's index
+        // can serve the order
+        if (keyset && sortedByID) {
+            query += " AND " + idColumn + " " + comparison + " ?";
+        } else if (keyset && afterSortValue == null) {
+            query += " AND ((" + sortColumn + " IS NULL AND " + idColumn + " " + comparison + " ?)"
+                    + (ascending ? " OR " + sortColumn + " IS NOT NULL)" : ")");
+        } else if (keyset) {
+            query += " AND (" + sortColumn + " " + comparison + " ? OR (" + sortColumn + " = ? AND " + idColumn + " " + comparison + " ?)"
+                    + (ascending ? ")" : " OR " + sortColumn + " IS NULL)");
+        }
+
+        query += sortedByID ? " ORDER BY " + idColumn + " " + direction
+                : " ORDER BY " + sortColumn + " IS NULL " + (ascending ? "DESC" : "ASC") + ", " + sortColumn + " " + direction
+                        + ", " + idColumn + " " + direction;
+        query += keyset ? " LIMIT ?" : " LIMIT ? OFFSET ?";
+
+        try (Connection connection = getConnection()) {
+
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            int parameter = 1;
+
+            for (String value : queryParameters) {
+                preparedStatement.setString(parameter++, value);
+            }
+
+            if (keyset && (sortedByID || afterSortValue == null)) {
+                preparedStatement.setString(parameter++, afterID);
+            } else if (keyset) {
+                preparedStatement.setString(parameter++, afterSortValue);
+                preparedStatement.setString(parameter++, afterSortValue);
+                preparedStatement.setString(parameter++, afterID);
+            }
+
+            preparedStatement.setInt(parameter++, limit);
+
+            if (!keyset) {
+                preparedStatement.setInt(parameter++, offset);
+            }
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                rows.add(mapper.map(resultSet));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return rows;
+    }
+
+    /**
+     * The function builds the condition that one of the search columns starts with the search, adding the
+     * parameters it takes. Used by getKeysetPage, countUsers and countCourseStaff, so a page and its count match alike.
+     * 
+     * @param searchColumns The columns the search is a prefix of (any of them).
+     * @param search        A prefix one of the search columns has to start with (may be empty).
+     * @param parameters    The query's parameters, the condition's are added to.
+     * @return " AND (...)", or "" if there is no search.
+     */
+    private static String getSearchCondition(String[] searchColumns, String search, List<String> parameters) {
+        if (search == null || search.isBlank()) {
+            return "";
+        }
+
+        String prefix = toPrefixPattern(search.trim());
+
+        for (int i = 0; i < searchColumns.length; i++) {
+            parameters.add(prefix);
+        }
+
+        return " AND (" + String.join(" LIKE ? OR ", searchColumns) + " LIKE ?)";
+    }
+
+    /**
+     * The function counts the users of a type matching a search.
+     * 
+     * @param role   "Administrator", "Employee" (Lecturer, Course Convenor) or "Student" (Tutor, TA).
+     * @param search A prefix the ID, first name, last name or email has to start with (may be empty).
+     * @return The number of matching users.
+     */
+    public static int countUsers(String role, String search) {
+        String table = getIdentityRole(role) + "s";
+        String idColumn = table.equals("Students") ? "studentID" : "employeeID";
+
+        List<String> parameters = new ArrayList<>();
+        String query = "SELECT COUNT(*) FROM " + table + " WHERE 1 = 1"
+                + getSearchCondition(getUserSearchColumns(idColumn), search, parameters);
+
+        try (Connection connection = getConnection()) {
+
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setString(i + 1, parameters.get(i));
+            }
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next()) {
+                return resultSet.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * @param idColumn The user table's primary key.
+     * @return The columns a search of the users is a prefix of: the ID, first name, last name and email.
+     */
+    private static String[] getUserSearchColumns(String idColumn) {
+        return new String[] { idColumn, "firstName", "lastName", "email" };
+    }
+
+    /**
+     * @param search
+     * @return A LIKE pattern matching values that start with the search (its wildcards escaped), which an index can serve.
+     */
+    private static String toPrefixPattern(String search) {
+        return search.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * The function `createUser` inserts a new user into the database based on their
+     * role
+     * (Administrator, Course Convenor, Lecturer, Tutor, or TA) and returns true if
+     * the insertion was
+     * successful.
+     * 
+     * @param newUser     The `newUser` parameter is an object of type `Person`
+     *                    which represents the user
+     *                    to be created. It contains information such as the user's
+     *                    first name, last name, email, and
+     *                    other relevant details.
+     * @param role        The "role" parameter is a string that specifies the role
+     *                    of the user being created.
+     *                    It can have the values "Administrator", "Course Convenor",
+     *                    "Lecturer", "Tutor", or "TA".
+     * @param genPassword The `genPassword` parameter is a String that represents
+     *                    the generated
+     *                    password for the new user.
+     * @return The method is returning a boolean value. It returns true if the user
+     *         creation was
+     *         successful (i.e., if the number of rows affected by the SQL statement
+     *         is greater than 0), and
+     *         false otherwise.
+     */
+    public static boolean createUser(Person newUser, String role, String genPassword) {
+        return createUser(newUser, role, genPassword, null);
+    }
+
+    /**
+     * Creates a user (as above) and, in the same transaction, queues an email to them in the
+     * EmailOutbox - so the email is only ever sent for a user that was actually created.
+     * 
+     * @param newUser     The user to be created.
+     * @param role        "Administrator", "Course Convenor", "Lecturer", "Tutor", or "TA".
+     * @param genPassword The generated password for the new user.
+     * @param email       The email to queue, or null to queue none.
+     * @return true if the user (and their email) was created, false otherwise.
+     */
+    public static boolean createUser(Person newUser, String role, String genPassword, OutboxEmail email) {
+        int rA = 0;
+
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false); // the user and their sign-in identity are added together
+
+            if (role.equals("Administrator")) {
+
+                String query = "INSERT INTO Administrators (employeeID, firstName, lastName, email, password) VALUES (?,?,?,?,?)";
+                PreparedStatement preparedStatement = connection.prepareStatement(query);
+                preparedStatement.setString(1, ((Administrator) newUser).getEmployeeID());
+                preparedStatement.setString(2, newUser.getFirstName());
+                preparedStatement.setString(3, newUser.getLastName());
+                preparedStatement.setString(4, newUser.getEmail());
+                preparedStatement.setString(5, genPassword);
+
+                int rowsAffected = preparedStatement.executeUpdate();
+                rA = rowsAffected;
+
+            } else if (role.equals("Course Convenor") || role.equals("Lecturer") || role.equals("Employee")) {
+
+                String query = "INSERT INTO Employees (employeeID, firstName, lastName, email, password, department, faculty) VALUES (?,?,?,?,?,?,?)";
+                PreparedStatement preparedStatement = connection.prepareStatement(query);
+                preparedStatement.setString(1, ((Lecturer) newUser).getEmployeeID());
+                preparedStatement.setString(2, newUser.getFirstName());
+                preparedStatement.setString(3, newUser.getLastName());
+                preparedStatement.setString(4, newUser.getEmail());
+                preparedStatement.setString(5, genPassword);
+                preparedStatement.setString(6, ((Lecturer) newUser).getDepartment());
+                preparedStatement.setString(7, ((Lecturer) newUser).getFaculty());
+
+                int rowsAffected = preparedStatement.executeUpdate();
                 rA = rowsAffected;
 
             } else
@@ -863,6 +1654,16 @@ public class DatabaseController {
                 rA = rowsAffected;
             }
 
+            if (rA > 0) {
+                addUserIdentity(connection, newUser.getEmail(), role, getUserID(newUser));
+
+                if (email != null) {
+                    enqueueEmail(connection, email);
+                }
+            }
+
+            connection.commit();
+
             return rA > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -871,6 +1672,143 @@ public class DatabaseController {
         }
     }
 
+    /**
+     * The function finds which of the given users already exist, i.e. whose email or ID is already
+     * taken in the table their role belongs to, with a single query.
+     * 
+     * @param users The users to look for (all of the same role).
+     * @param role  "Administrator", "Employee" (Lecturer, Course Convenor) or "Student" (Tutor, TA).
+     * @return The emails and IDs (of the given users) that are already taken.
+     */
+    public static Set<String> findExistingUsers(List<? extends Person> users, String role) {
+        Set<String> existing = new HashSet<>();
+
+        if (users.isEmpty()) {
+            return existing;
+        }
+
+        String table = getIdentityRole(role) + "s";
+        String idColumn = table.equals("Students") ? "studentID" : "employeeID";
+        String placeholders = String.join(",", Collections.nCopies(users.size(), "?"));
+
+        try (Connection connection = getConnection()) {
+
+            String query = "SELECT email, " + idColumn + " FROM " + table
+                    + " WHERE email IN (" + placeholders + ") OR " + idColumn + " IN (" + placeholders + ")";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+            for (int i = 0; i < users.size(); i++) {
+                preparedStatement.setString(i + 1, users.get(i).getEmail());
+                preparedStatement.setString(users.size() + i + 1, getUserID(users.get(i)));
+            }
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                existing.add(resultSet.getString(1));
+                existing.add(resultSet.getString(2));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return existing;
+    }
+
+    /**
+     * The function creates a batch of users (all of the same role) in a single transaction: the users,
+     * their sign-in identities and their emails are each inserted as one JDBC batch. Either all of the
+     * users are created, or (should any insert fail) none are.
+     * 
+     * @param users     The users to be created.
+     * @param role      "Administrator", "Employee" (Lecturer, Course Convenor) or "Student" (Tutor, TA).
+     * @param passwords The generated password for each user (in the same order as the users).
+     * @param emails    The email to queue for each user (in the same order as the users).
+     * @return The number of users created.
+     */
+    public static int createUsers(List<? extends Person> users, String role, List<String> passwords, List<OutboxEmail> emails) {
+
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        String identityRole = getIdentityRole(role);
+
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false); // the whole batch is created, or none of it
+
+            try {
+                String query;
+
+                if (identityRole.equals("Administrator")) {
+                    query = "INSERT INTO Administrators (employeeID, firstName, lastName, email, password) VALUES (?,?,?,?,?)";
+                } else if (identityRole.equals("Employee")) {
+                    query = "INSERT INTO Employees (employeeID, firstName, lastName, email, password, department, faculty) VALUES (?,?,?,?,?,?,?)";
+                } else {
+                    query = "INSERT INTO Students (studentID, firstName, lastName, email, password, qualificationLevel, applicationStatus) VALUES (?,?,?,?,?,?,?)";
+                }
+
+                PreparedStatement userStatement = connection.prepareStatement(query);
+
+                query = "INSERT INTO UserIdentities (email, role, userID) VALUES (?,?,?)";
+                PreparedStatement identityStatement = connection.prepareStatement(query);
+
+                query = "INSERT INTO EmailOutbox (recipient, subject, body, status, attempts, nextAttempt) VALUES (?,?,?,?,0,?)";
+                PreparedStatement emailStatement = connection.prepareStatement(query);
+
+                for (int i = 0; i < users.size(); i++) {
+                    Person user = users.get(i);
+
+                    userStatement.setString(1, getUserID(user));
+                    userStatement.setString(2, user.getFirstName());
+                    userStatement.setString(3, user.getLastName());
+                    userStatement.setString(4, user.getEmail());
+                    userStatement.setString(5, passwords.get(i));
+
+                    if (identityRole.equals("Employee")) {
+                        userStatement.setString(6, ((Lecturer) user).getDepartment());
+                        userStatement.setString(7, ((Lecturer) user).getFaculty());
+                    } else if (identityRole.equals("Student")) {
+                        userStatement.setString(6, ((Student) user).getQualificationLevel().toString());
+                        userStatement.setString(7, ApplicationStatus.ACCEPTED.toString());
+                    }
+
+                    userStatement.addBatch();
+
+                    identityStatement.setString(1, user.getEmail());
+                    identityStatement.setString(2, identityRole);
+                    identityStatement.setString(3, getUserID(user));
+                    identityStatement.addBatch();
+
+                    emailStatement.setString(1, emails.get(i).getRecipient());
+                    emailStatement.setString(2, emails.get(i).getSubject());
+                    emailStatement.setString(3, emails.get(i).getBody());
+                    emailStatement.setString(4, EmailStatus.PENDING.name());
+                    emailStatement.setLong(5, System.currentTimeMillis());
+                    emailStatement.addBatch();
+                }
+
+                userStatement.executeBatch();
+                identityStatement.executeBatch();
+                emailStatement.executeBatch();
+
+                connection.commit();
+
+                return users.size();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
     /**
      * The function `doesUserExist` checks if a user with a specific role exists in
      * the database based
@@ -969,6 +1907,9 @@ public class DatabaseController {
     public static boolean deleteUser(Person user, String role) {
         int rA = 0;
         try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false); // the user and their sign-in identity are removed together
+
+            removeUserIdentity(connection, user.getEmail(), role);
 
             if (role.equals("Administrator")) {
 
@@ -1031,6 +1972,13 @@ public class DatabaseController {
                 rowsAffected += preparedStatement.executeUpdate();
                 rA += rowsAffected;
 
+                // Give back the seats of the Tutoring sessions they signed up to, then delete those sign-ups
+                query = "UPDATE TutoringSessions SET signedUpTutors = GREATEST(signedUpTutors - 1, 0) "
+                        + "WHERE tutSessionID IN (SELECT tutSessionID FROM TutoringSessionTutors WHERE studentID = ?)";
+                preparedStatement = connection.prepareStatement(query);
+                preparedStatement.setString(1, ((Student) user).getStudentID());
+                preparedStatement.executeUpdate();
+
                 // Delete from Tutoring sessions if this student has an entry there
                 query = "DELETE FROM TutoringSessionTutors WHERE studentID = ?";
                 preparedStatement = connection.prepareStatement(query);
@@ -1050,7 +1998,7 @@ public class DatabaseController {
 
             }
 
-            connection.close();
+            connection.commit();
             return rA > 0;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -1192,127 +2140,122 @@ public class DatabaseController {
     }
 
     /**
-     * The function sets the application status of a student to "ACCEPTED" in the database.
+     * The function accepts selected students for a specific course and role: it updates their application
+     * status, adds them as a tutor or TA, and removes their application. This is all done in one
+     * transaction (with the statements batched), and only as many students are accepted as the course
+     * has capacity left for.
      * 
-     * @param studentID The studentID parameter is a unique identifier for a student in the database.
-     * It is used to specify which student's application status should be updated.
+     * @param courseCode The course code is a String that represents the code of the course for which
+     * students are being accepted. It is used to add the student to the appropriate role (Tutor or TA)
+     * for that course.
+     * @param year The "year" parameter represents the academic year for which the students are being
+     * accepted. It could be a string or an integer value representing the year.
+     * @param selectedStudents A set of Student objects representing the students who have been
+     * selected for acceptance. They are accepted in order of student ID, so if there is not enough
+     * capacity for all of them, which of them are accepted does not depend on the set's order.
+     * @param applicantRole The applicantRole parameter is of type Role, which is an enumeration
+     * representing the role of the student applicant. It can have two possible values: Role.Tutor or
+     * Role.TA.
+     * @return A map of each selected student's ID -> SUCCESS if they were accepted, CAPACITY_REACHED if
+     * the course was full, or USER_ALREADY_EXISTS if they were already a tutor/TA of the course. Null if
+     * the acceptance failed (in which case nobody was accepted).
      */
-    private static void setACCEPTEDapplicationStatus(String studentID) {
-        try (Connection connection = getConnection()) {
-            String query = "UPDATE Students SET applicationStatus = ? WHERE studentID = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, ApplicationStatus.ACCEPTED.name());
-            preparedStatement.setString(2, studentID);
-            preparedStatement.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    public static Map<String, Response> acceptStudents(String courseCode, String year, Set<Student> selectedStudents,
+            Role applicantRole) {
 
-    }
+        boolean isTutor = applicantRole == Role.Tutor;
 
-    /**
-     * The addTutor function inserts a new tutor into the Tutors table with the specified student ID,
-     * course code, and year.
-     * 
-     * @param studentID The student ID of the tutor being added.
-     * @param courseCode The course code is a unique identifier for a specific course. It is typically
-     * a combination of letters and numbers that represents a particular subject or topic. For example,
-     * "CS101" could be the course code for an introductory computer science course.
-     * @param year The "year" parameter represents the year in which the student is acting as a tutor
-     * for the specified course.
-     */
-    private static void addTutor(String studentID, String courseCode, String year) {
         try (Connection connection = getConnection()) {
-            String query = "INSERT INTO Tutors (stuID, courseCode, year) VALUES (?,?,?)";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, studentID);
-            preparedStatement.setString(2, courseCode);
-            preparedStatement.setString(3, year);
-            preparedStatement.executeUpdate();
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
+            connection.setAutoCommit(false);
 
-    /**
-     * The addTA function inserts a new TA (Teaching Assistant) record into the TAs table with the
-     * provided student ID, course code, and year.
-     * 
-     * @param studentID The student ID of the TA being added.
-     * @param courseCode The courseCode parameter represents the code or identifier of the course for
-     * which the student is being added as a TA.
-     * @param year The "year" parameter represents the year in which the student is assigned as a
-     * teaching assistant for a specific course.
-     */
-    private static void addTA(String studentID, String courseCode, String year) {
-        try (Connection connection = getConnection()) {
-            String query = "INSERT INTO TAs (studID, courseCode, year) VALUES (?,?,?)";
+            // locks the course's row, so concurrent acceptances for the course are counted one after the other
+            String query = "SELECT " + (isTutor ? "tutorCapacity" : "TACapacity") + " FROM Courses WHERE courseCode = ? FOR UPDATE";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, studentID);
-            preparedStatement.setString(2, courseCode);
-            preparedStatement.setString(3, year);
-            preparedStatement.executeUpdate();
+            preparedStatement.setString(1, courseCode);
+            ResultSet resultSet = preparedStatement.executeQuery();
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
+            if (!resultSet.next()) {
+                connection.rollback();
+                return null;
+            }
 
-    /**
-     * The function removes an application from the database based on the provided student ID.
-     * 
-     * @param studentID The studentID parameter is a String that represents the unique identifier of
-     * the student whose application needs to be removed.
-     */
-    private static void removeApplication(String studentID) {
-        try (Connection connection = getConnection()) {
-            String query = "DELETE FROM Applications WHERE studentID = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, studentID);
-            preparedStatement.executeUpdate();
+            int capacity = resultSet.getInt(1);
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
+            query = isTutor
+                    ? "SELECT stuID FROM Tutors WHERE courseCode = ? AND year = ?"
+                    : "SELECT studID FROM TAs WHERE courseCode = ? AND year = ?";
+            preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, courseCode);
+            preparedStatement.setString(2, year);
+            resultSet = preparedStatement.executeQuery();
 
-    /**
-     * The function accepts selected students for a specific course and role, updates their application
-     * status, adds them as a tutor or TA, and removes their application.
-     * 
-     * @param courseCode The course code is a String that represents the code of the course for which
-     * students are being accepted. It is used to add the student to the appropriate role (Tutor or TA)
-     * for that course.
-     * @param year The "year" parameter represents the academic year for which the students are being
-     * accepted. It could be a string or an integer value representing the year.
-     * @param selectedStudents A set of Student objects representing the students who have been
-     * selected for acceptance.
-     * @param applicantRole The applicantRole parameter is of type Role, which is an enumeration
-     * representing the role of the student applicant. It can have two possible values: Role.Tutor or
-     * Role.TA.
-     * @return The method is returning a boolean value of true.
-     */
-    public static boolean acceptStudents(String courseCode, String year, Set<Student> selectedStudents,
-            Role applicantRole) {
+            Set<String> members = new HashSet<>();
+            while (resultSet.next()) {
+                members.add(resultSet.getString(1));
+            }
+
+            Map<String, Response> outcomes = new LinkedHashMap<>();
+            List<String> accepted = new ArrayList<>();
+
+            List<Student> applicants = new ArrayList<>(selectedStudents);
+            applicants.sort(Comparator.comparing(Student::getStudentID));
 
-        for (Student student : selectedStudents) {
+            for (Student student : applicants) {
+                String studentID = student.getStudentID();
+
+                if (members.contains(studentID)) {
+                    outcomes.put(studentID, Response.USER_ALREADY_EXISTS);
+                } else if (members.size() >= capacity) {
+                    outcomes.put(studentID, Response.CAPACITY_REACHED);
+                } else {
+                    members.add(studentID);
+                    accepted.add(studentID);
+                    outcomes.put(studentID, Response.SUCCESS);
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                connection.rollback();
+                return outcomes;
+            }
 
             // updates the application status in students table
-            setACCEPTEDapplicationStatus(student.getStudentID());
+            PreparedStatement statusStatement = connection.prepareStatement("UPDATE Students SET applicationStatus = ? WHERE studentID = ?");
 
             // adds the student to either ta or tutor
-            if (applicantRole == Role.Tutor) {
-                addTutor(student.getStudentID(), courseCode, year);
-            } else if (applicantRole == Role.TA) {
-                addTA(student.getStudentID(), courseCode, year);
-            }
+            PreparedStatement roleStatement = connection.prepareStatement(isTutor
+                    ? "INSERT INTO Tutors (stuID, courseCode, year) VALUES (?,?,?)"
+                    : "INSERT INTO TAs (studID, courseCode, year) VALUES (?,?,?)");
 
             // removes the application from the applications table
-            removeApplication(student.getStudentID());
+            PreparedStatement applicationStatement = connection.prepareStatement("DELETE FROM Applications WHERE studentID = ?");
+
+            for (String studentID : accepted) {
+                statusStatement.setString(1, ApplicationStatus.ACCEPTED.name());
+                statusStatement.setString(2, studentID);
+                statusStatement.addBatch();
 
+                roleStatement.setString(1, studentID);
+                roleStatement.setString(2, courseCode);
+                roleStatement.setString(3, year);
+                roleStatement.addBatch();
+
+                applicationStatement.setString(1, studentID);
+                applicationStatement.addBatch();
+            }
+
+            statusStatement.executeBatch();
+            roleStatement.executeBatch();
+            applicationStatement.executeBatch();
+
+            connection.commit();
+            return outcomes;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
-        return true;
+
+        return null;
     }
 
     /**
@@ -1687,8 +2630,7 @@ public class DatabaseController {
     public static boolean doesEmployeeExist(Lecturer lectuer, Course course, int year) {
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT COUNT(*) FROM AccessibleCourses WHERE empID = ? AND courseCode = ? AND year = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            PreparedStatement preparedStatement = connection.prepareStatement(EMPLOYEE_ACCESS_QUERY);
             preparedStatement.setString(1, lectuer.getEmployeeID());
             preparedStatement.setString(2, course.getCourseCode());
             preparedStatement.setString(3, Integer.toString(year));
@@ -1711,6 +2653,45 @@ public class DatabaseController {
 
     // #region // !! PER COURSE FUNCTIONALITIES (COURSE VIEW)
 
+    /**
+     * Retrieves every (courseCode, year, role) a user holds - as a TA or Tutor if they are a student, or
+     * the role they were given access to the course with if they are an employee - in a single query.
+     * 
+     * @param userID String of the student's or employee's ID.
+     * @param loadedAt The time the memberships are read at (see MembershipManager).
+     * @return CourseMemberships, listing the TA courses first, then the Tutor courses, then the employee
+     * courses (as they were listed before), or null on an error.
+     */
+    public static CourseMemberships getCourseMemberships(String userID, long loadedAt) {
+
+        try (Connection connection = getConnection()) {
+            PreparedStatement preparedStatement = connection.prepareStatement(COURSE_MEMBERSHIPS_QUERY);
+            preparedStatement.setString(1, userID);
+            preparedStatement.setString(2, userID);
+            preparedStatement.setString(3, userID);
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            List<CourseMemberships.Membership> memberships = new ArrayList<>();
+            while (resultSet.next()) {
+                Role role;
+                try {
+                    role = Role.valueOf(resultSet.getString("role"));
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    role = Role.Employee;
+                }
+
+                memberships.add(new CourseMemberships.Membership(resultSet.getString("courseCode"), resultSet.getInt("year"), role));
+            }
+
+            return new CourseMemberships(loadedAt, memberships);
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
     /**
      * Retrieves a list of courses accessible by a given employee ID from a
      * database.
@@ -1856,240 +2837,319 @@ public class DatabaseController {
 
     /**
      * This method adds a courses schedule to the relevant tables
-     * TODOL test this method
      * 
      * @param schedule
-     * @return boolean
+     * @return the scheduleID of the newly created schedule, or -1 if it could not be created
      */
     public static int createSchedule(Schedule schedule) {
 
-        int scheduleID = -1;
-
         try (Connection connection = getConnection()) {
 
-            // step 1 - create en entry into the schedules table
+            return createSchedule(connection, schedule.getCourse().getCourseCode());
 
-            String query = "INSERT INTO Schedules (courseID, year) VALUES (?,?)";
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, schedule.getCourse().getCourseCode());
-            preparedStatement.setString(2, getCurrentYear());
+        return -1;
+    }
 
-            preparedStatement.executeUpdate();
+    /**
+     * Creates an entry in the Schedules table for the given course (for the current year) on an
+     * already-borrowed connection, and returns the auto-incremented scheduleID.
+     * 
+     * @param connection The connection to run the insert on.
+     * @param courseCode The course the schedule belongs to.
+     * @return the scheduleID of the newly created schedule, or -1 if it could not be created
+     * @throws SQLException
+     */
+    private static int createSchedule(Connection connection, String courseCode) throws SQLException {
 
-            System.out.println("TEST");
+        String query = "INSERT INTO Schedules (courseID, year) VALUES (?,?)";
 
-            // step 1.5 - figure out what the scheduleID is (since it's auto-incremented)
-            query = "SELECT * FROM Schedules WHERE courseID = ? AND year = ?";
-            preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, schedule.getCourse().getCourseCode());
-            preparedStatement.setString(2, getCurrentYear());
-            ResultSet resultSet = preparedStatement.executeQuery();
+        PreparedStatement preparedStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+        preparedStatement.setString(1, courseCode);
+        preparedStatement.setString(2, getCurrentYear());
+        preparedStatement.executeUpdate();
 
-            while (resultSet.next()) {
-                scheduleID = resultSet.getInt("scheduleID");
-                return scheduleID;
-            }
+        // the scheduleID is auto-incremented, so read it back from the generated keys
+        ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+        if (generatedKeys.next()) {
+            return generatedKeys.getInt(1);
         }
 
-        return scheduleID;
-
+        return -1;
     }
 
     /**
-     * The function retrieves the schedule ID for a given course code and year from a database table.
+     * The function retrieves a schedule for a given course code and year, creating a new schedule
+     * entry if necessary, and populates it with tutoring sessions and their signed-up tutors.
+     * 
+     * The whole Schedule / TutoringSession / Tutor graph is built from two set-based queries on a
+     * single connection: one for the course and its scheduleID, and one joining the sessions to
+     * their tutors.
      * 
      * @param courseCode The course code is a string that represents the code or identifier for a
-     * specific course. It is used to uniquely identify a course in the database.
-     * @param year The "year" parameter is an integer representing the year for which you want to
-     * retrieve the schedule ID.
-     * @return The method is returning an integer value, which is the scheduleID. If the scheduleID is
-     * found in the database, it will be returned. If the scheduleID is not found, it will return -1.
+     * specific course. It is used to uniquely identify a course in the system.
+     * @param year The "year" parameter represents the year for which the schedule is being retrieved.
+     * It is an integer value that specifies the year.
+     * @return The method is returning a Schedule object.
      */
-    private static int getScheduleID(String courseCode, int year) {
+    public static Schedule getSchedule(String courseCode, int year) {
+
+        Schedule schedule = new Schedule();
 
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT scheduleID FROM Schedules WHERE courseID = ? AND year = ?";
+            // step 1 - the course, along with its schedule for the given year (if there is one)
+            String query = "SELECT C.courseName, C.tutorCapacity, C.TACapacity, S.scheduleID, S.version FROM Courses C "
+                    + "LEFT JOIN Schedules S ON S.courseID = C.courseCode AND S.year = ? "
+                    + "WHERE C.courseCode = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-
-            preparedStatement.setString(1, courseCode);
-            preparedStatement.setString(2, Integer.toString(year));
+            preparedStatement.setString(1, Integer.toString(year));
+            preparedStatement.setString(2, courseCode);
             ResultSet resultSet = preparedStatement.executeQuery();
 
-            if (resultSet.next()) {
-                int scheduleID = resultSet.getInt("scheduleID");
-                return scheduleID;
-            } else {
-                System.out.println("Could not find the scheduleID");
-                return -1;
+            if (!resultSet.next()) {
+                System.out.println("Could not find the course " + courseCode);
+                return schedule;
+            }
+
+            Course course = new Course(
+                    courseCode,
+                    resultSet.getString("courseName"),
+                    Integer.parseInt(resultSet.getString("tutorCapacity")),
+                    Integer.parseInt(resultSet.getString("TACapacity")));
+            schedule.setCourse(course);
+
+            int scheduleID = resultSet.getInt("scheduleID");
+
+            if (resultSet.wasNull()) {
+                // create a new entry into the scheules table - it has no sessions yet
+                schedule.setScheduleID(createSchedule(connection, courseCode));
+                return schedule;
             }
 
+            schedule.setScheduleID(scheduleID);
+            schedule.setVersion(resultSet.getInt("version"));
+
+            // step 2 - all the tutoring sessions, each joined to its signed-up tutors
+            schedule.setSlots(getTutoringSessions(connection, scheduleID));
+
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return -1;
+        return schedule;
     }
 
     /**
-     * The function retrieves a list of assigned tutors for a given tutoring session ID.
+     * The function retrieves the tutoring sessions of a schedule, along with the tutors signed up to
+     * each, in a single query. Sessions without tutors are kept by the LEFT JOINs.
      * 
-     * @param sessionID The sessionID parameter is an integer that represents the ID of a tutoring
-     * session.
-     * @return The method is returning an ArrayList of Tutor objects.
+     * @param connection The connection to run the query on.
+     * @param scheduleID The `scheduleID` parameter is an integer that represents the ID of a schedule.
+     * @return The method is returning an ArrayList of TutoringSession objects.
+     * @throws SQLException
      */
-    private static ArrayList<Tutor> getAssignedTutors(int sessionID) {
-        ArrayList<Tutor> asssignedTutors = new ArrayList<>();
+    private static ArrayList<TutoringSession> getTutoringSessions(Connection connection, int scheduleID) throws SQLException {
 
-        try (Connection connection = getConnection()) {
+        // keyed by tutSessionID, preserving the order the sessions are read in
+        Map<Integer, TutoringSession> tutoringSessions = new LinkedHashMap<>();
 
-            String query = "SELECT S.email FROM TutoringSessionTutors TT JOIN Students S ON TT.studentID = S.studentID WHERE TT.tutSessionID = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, Integer.toString(sessionID));
-            ResultSet resultSet = preparedStatement.executeQuery();
+        PreparedStatement preparedStatement = connection.prepareStatement(SESSIONS_WITH_TUTORS_QUERY);
+        preparedStatement.setInt(1, scheduleID);
+        ResultSet resultSet = preparedStatement.executeQuery();
 
-            while (resultSet.next()) {
-                String email = resultSet.getString("email");
-                Student student = getStudent(email);
+        while (resultSet.next()) {
+            int sessionID = resultSet.getInt("tutSessionID");
+            TutoringSession tutoringSession = tutoringSessions.get(sessionID);
+
+            // the first row of each session carries the session's own details
+            if (tutoringSession == null) {
+                tutoringSession = new TutoringSession(
+                        Double.parseDouble(resultSet.getString("startTime")),
+                        Double.parseDouble(resultSet.getString("endTime")),
+                        resultSet.getString("day"),
+                        resultSet.getString("location"),
+                        resultSet.getString("whatsappLink"),
+                        resultSet.getInt("tutoringCapacity"));
 
+                tutoringSession.setSessionID(sessionID);
+                tutoringSession.setSignedUpTutors(new ArrayList<>());
+                tutoringSessions.put(sessionID, tutoringSession);
+            }
+
+            // every row with a student is one of the session's signed-up tutors
+            String studentID = resultSet.getString("studentID");
+
+            if (studentID != null) {
                 Tutor tutor = new Tutor(
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getEmail(),
-                        student.getStudentID(),
-                        student.getQualificationLevel(),
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        studentID,
+                        QualificationLevel.valueOf(resultSet.getString("qualificationLevel")),
                         null,
                         null);
 
-                asssignedTutors.add(tutor);
+                tutoringSession.addTutor(tutor);
             }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
 
-        return asssignedTutors;
+        return new ArrayList<>(tutoringSessions.values());
     }
 
     /**
-     * The function retrieves tutoring sessions from the database based on a given schedule ID and
-     * returns them as an ArrayList of TutoringSession objects.
+     * The function adds a tutor to a tutoring session, provided the session has a seat left and the
+     * tutor is not already signed up to it.
      * 
-     * @param scheduleID The `scheduleID` parameter is an integer that represents the ID of a schedule.
-     * It is used to retrieve tutoring sessions associated with that particular schedule from the
-     * database.
-     * @return The method is returning an ArrayList of TutoringSession objects.
+     * The seat is reserved by a single conditional update of the session's signedUpTutors counter
+     * (only while it is below the capacity), which locks just that session's row: concurrent
+     * sign-ups for the session queue behind it, and never overbook it.
+     * 
+     * @param tutoringSessionID The tutoringSessionID parameter is an integer that represents the ID of
+     * the tutoring session to which you want to add a tutor.
+     * @param studentID The studentID parameter is a String that represents the ID of the student who
+     * will be added as a tutor to the tutoring session.
+     * @return The method is returning a boolean value. It returns true if the tutor was successfully
+     * added to the tutoring session, and false otherwise (e.g. the session is full).
      */
-    private static ArrayList<TutoringSession> getTutoringSessions(int scheduleID) {
-        ArrayList<TutoringSession> tutoringSessions = new ArrayList<>();
-
+    public static boolean addTutorToSession(int tutoringSessionID, String studentID) {
         try (Connection connection = getConnection()) {
-            String query = "SELECT * FROM TutoringSessions WHERE scheduleID = ?";
+            connection.setAutoCommit(false); // the seat and the sign-up are taken together
+
+            String query = "UPDATE TutoringSessions SET signedUpTutors = signedUpTutors + 1 "
+                    + "WHERE tutSessionID = ? AND signedUpTutors < tutoringCapacity";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, Integer.toString(scheduleID));
-            ResultSet resultSet = preparedStatement.executeQuery();
+            preparedStatement.setInt(1, tutoringSessionID);
 
-            while (resultSet.next()) {
-                int sessionID = resultSet.getInt("tutSessionID");
-                String day = resultSet.getString("day");
-                String startTime = resultSet.getString("startTime");
-                String endTime = resultSet.getString("endTime");
-                String location = resultSet.getString("location");
-                String whatsappLink = resultSet.getString("whatsappLink");
-                int tutoringCapacity = resultSet.getInt("tutoringCapacity");
-
-                // Create TutoringSession objects and add them to the list
-                TutoringSession tutoringSession = new TutoringSession(
-                        Double.parseDouble(startTime),
-                        Double.parseDouble(endTime),
-                        day,
-                        location,
-                        whatsappLink,
-                        tutoringCapacity);
-
-                // add the assigned tutors to this session
-                ArrayList<Tutor> tutors = getAssignedTutors(sessionID);
-                tutoringSession.setSignedUpTutors(tutors);
-                tutoringSession.setSessionID(sessionID);
+            if (preparedStatement.executeUpdate() == 0) {
+                connection.rollback();
+                return false; // full (or no such session)
+            }
 
-                tutoringSessions.add(tutoringSession);
+            // the session's row is locked, so no concurrent sign-up of the same tutor can slip in between
+            query = "INSERT INTO TutoringSessionTutors (tutSessionID, studentID) "
+                    + "SELECT ?, ? FROM DUAL WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM TutoringSessionTutors WHERE tutSessionID = ? AND studentID = ?)";
+            preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setInt(1, tutoringSessionID);
+            preparedStatement.setString(2, studentID);
+            preparedStatement.setInt(3, tutoringSessionID);
+            preparedStatement.setString(4, studentID);
+
+            if (preparedStatement.executeUpdate() == 0) {
+                connection.rollback();
+                return false; // already signed up - the seat is given back
             }
 
+            connection.commit();
+            return true;
+
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return tutoringSessions;
+        return false;
     }
 
     /**
-     * The function retrieves a schedule for a given course code and year, creating a new schedule
-     * entry if necessary, and populates it with tutoring sessions.
+     * The function signs tutors up to tutoring sessions, all in one transaction: either every tutor gets
+     * their seat, or (e.g. if a session filled up in the meantime) none of them do.
      * 
-     * @param courseCode The course code is a string that represents the code or identifier for a
-     * specific course. It is used to uniquely identify a course in the system.
-     * @param year The "year" parameter represents the year for which the schedule is being retrieved.
-     * It is an integer value that specifies the year.
-     * @return The method is returning a Schedule object.
+     * The statements are run one at a time, rather than as a batch, because whether each changed its row is
+     * what decides the outcome - and a batch rewritten by the driver (rewriteBatchedStatements) only reports
+     * SUCCESS_NO_INFO for its statements.
+     * 
+     * @param assignments The sessions to sign the tutors up to.
+     * @return true if every tutor was signed up, and false otherwise.
      */
-    public static Schedule getSchedule(String courseCode, int year) {
-
-        Schedule schedule = new Schedule();
-
+    public static boolean assignTutorsToSessions(List<TutorAssignment> assignments) {
         try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
 
-            int scheduleID = getScheduleID(courseCode, year);
-            Course course = getCourseFor(courseCode);
+            // sessionID -> the seats it gives up
+            Map<Integer, Integer> seats = new LinkedHashMap<>();
+            for (TutorAssignment assignment : assignments) {
+                seats.merge(assignment.getSessionID(), 1, Integer::sum);
+            }
 
-            schedule.setCourse(course);
+            String query = "UPDATE TutoringSessions SET signedUpTutors = signedUpTutors + ? "
+                    + "WHERE tutSessionID = ? AND signedUpTutors + ? <= tutoringCapacity";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+            for (Map.Entry<Integer, Integer> entry : seats.entrySet()) {
+                preparedStatement.setInt(1, entry.getValue());
+                preparedStatement.setInt(2, entry.getKey());
+                preparedStatement.setInt(3, entry.getValue());
 
-            if ((scheduleID == -1) || (course == null)) {
-                // create a new entry into the scheules table
-                scheduleID = createSchedule(schedule);
+                if (preparedStatement.executeUpdate() != 1) {
+                    connection.rollback();
+                    return false; // a session no longer has the seats
+                }
             }
 
-            schedule.setScheduleID(scheduleID);
+            query = "INSERT INTO TutoringSessionTutors (tutSessionID, studentID) "
+                    + "SELECT ?, ? FROM DUAL WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM TutoringSessionTutors WHERE tutSessionID = ? AND studentID = ?)";
+            preparedStatement = connection.prepareStatement(query);
 
-            // find all the tuturing sessions and add them to the course
-            ArrayList<TutoringSession> sessions = getTutoringSessions(scheduleID);
+            for (TutorAssignment assignment : assignments) {
+                preparedStatement.setInt(1, assignment.getSessionID());
+                preparedStatement.setString(2, assignment.getStudentID());
+                preparedStatement.setInt(3, assignment.getSessionID());
+                preparedStatement.setString(4, assignment.getStudentID());
 
-            // add the sessoins to the schedule object
-            schedule.setSlots(sessions);
+                if (preparedStatement.executeUpdate() != 1) {
+                    connection.rollback();
+                    return false; // a tutor signed up themselves in the meantime
+                }
+            }
 
-            return schedule;
+            connection.commit();
+            return true;
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return schedule;
+        return false;
     }
 
     /**
-     * The function adds a tutor to a tutoring session by inserting a new record into the
-     * TutoringSessionTutors table.
+     * The function removes a tutor from a tutoring session by deleting the corresponding entry in the
+     * TutoringSessionTutors table, and giving their seat back.
      * 
      * @param tutoringSessionID The tutoringSessionID parameter is an integer that represents the ID of
-     * the tutoring session to which you want to add a tutor.
+     * the tutoring session from which you want to remove a tutor.
      * @param studentID The studentID parameter is a String that represents the ID of the student who
-     * will be added as a tutor to the tutoring session.
+     * needs to be removed from the tutoring session.
      * @return The method is returning a boolean value. It returns true if the tutor was successfully
-     * added to the tutoring session, and false otherwise.
+     * removed from the tutoring session, and false otherwise.
      */
-    public static boolean addTutorToSession(int tutoringSessionID, String studentID) {
+    public static boolean removeTutorFromSession(int tutoringSessionID, String studentID) {
         try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
 
-            String query = "INSERT INTO TutoringSessionTutors (tutSessionID, studentID) VALUES (?,?)";
+            String query = "DELETE FROM TutoringSessionTutors WHERE tutSessionID = ? AND studentID = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, Integer.toString(tutoringSessionID));
+            preparedStatement.setInt(1, tutoringSessionID);
             preparedStatement.setString(2, studentID);
 
             int rowsAffected = preparedStatement.executeUpdate();
 
+            if (rowsAffected > 0) {
+                query = "UPDATE TutoringSessions SET signedUpTutors = GREATEST(signedUpTutors - ?, 0) WHERE tutSessionID = ?";
+                preparedStatement = connection.prepareStatement(query);
+                preparedStatement.setInt(1, rowsAffected);
+                preparedStatement.setInt(2, tutoringSessionID);
+                preparedStatement.executeUpdate();
+            }
+
+            connection.commit();
+
             return rowsAffected > 0;
 
         } catch (SQLException e) {
@@ -2100,199 +3160,364 @@ public class DatabaseController {
     }
 
     /**
-     * The function removes a tutor from a tutoring session by deleting the corresponding entry in the
-     * TutoringSessionTutors table.
+     * The function returns how many more tutors can sign up to a tutoring session.
      * 
-     * @param tutoringSessionID The tutoringSessionID parameter is an integer that represents the ID of
-     * the tutoring session from which you want to remove a tutor.
-     * @param studentID The studentID parameter is a String that represents the ID of the student who
-     * needs to be removed from the tutoring session.
-     * @return The method is returning a boolean value. It returns true if the tutor was successfully
-     * removed from the tutoring session, and false otherwise.
+     * @param tutoringSessionID
+     * @return The number of seats left (0 if the session is full or does not exist), or -1 on an error.
      */
-    public static boolean removeTutorFromSession(int tutoringSessionID, String studentID) {
+    public static int getAvailableSeats(int tutoringSessionID) {
         try (Connection connection = getConnection()) {
 
-            String query = "DELETE FROM TutoringSessionTutors WHERE tutSessionID = ? AND studentID = ?";
+            String query = "SELECT tutoringCapacity - signedUpTutors FROM TutoringSessions WHERE tutSessionID = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, Integer.toString(tutoringSessionID));
-            preparedStatement.setString(2, studentID);
-
-            int rowsAffected = preparedStatement.executeUpdate();
+            preparedStatement.setInt(1, tutoringSessionID);
+            ResultSet resultSet = preparedStatement.executeQuery();
 
-            return rowsAffected > 0;
+            return resultSet.next() ? Math.max(resultSet.getInt(1), 0) : 0;
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return false;
+        return -1;
     }
 
     /**
-     * The function checks if a student has already checked in for a tutoring session on a specific
-     * date.
+     * The function returns when a tutoring session takes place.
      * 
-     * @param tutoringSessionID The tutoringSessionID parameter is an integer that represents the ID of
-     * the tutoring session.
-     * @param studentID The studentID parameter is a String that represents the ID of the student.
-     * @param date The "date" parameter represents the date of the tutoring session.
-     * @return The method is returning a boolean value. It returns true if there is a record in the
-     * Attendance table that matches the given tutoringSessionID, studentID, and date. Otherwise, it
-     * returns false.
+     * @param tutoringSessionID
+     * @return The session's SessionSlot, or null if it does not exist (or on an error).
      */
-    public static boolean hasTutorAlreadyCheckedIn(int tutoringSessionID, String studentID, String date) {
+    public static SessionSlot getSessionSlot(int tutoringSessionID) {
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT * FROM Attendance WHERE studentID = ? AND date = ? AND tutoringSessionID = ?";
+            String query = "SELECT ts.tutSessionID, s.year, ts.day, ts.startTime, ts.endTime "
+                    + "FROM TutoringSessions ts JOIN Schedules s ON s.scheduleID = ts.scheduleID "
+                    + "WHERE ts.tutSessionID = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, studentID);
-            preparedStatement.setString(2, date);
-            preparedStatement.setString(3, Integer.toString(tutoringSessionID));
+            preparedStatement.setInt(1, tutoringSessionID);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             if (resultSet.next()) {
-                return true;
+                return readSessionSlot(resultSet);
             }
 
-            return false;
-
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return false;
+        return null;
     }
 
     /**
-     * The function `tutorCheckIn` checks if a tutor has already checked in for a tutoring session on a
-     * specific date, and if not, inserts the attendance record into the database.
+     * The function returns when each of the tutoring sessions a tutor is signed up for (in any course
+     * and year) takes place.
      * 
-     * @param tutoringSessionID The tutoring session ID is a unique identifier for a specific tutoring
-     * session. It is used to track attendance for that particular session.
-     * @param courseCode The course code is a unique identifier for a specific course. It is typically
-     * a combination of letters and numbers that represents a particular subject or topic. For example,
-     * "CS101" could be the course code for an introductory computer science course.
-     * @param studentID The student's ID, which is a unique identifier for each student.
-     * @param date The "date" parameter is a string representing the date of the tutoring session. It
-     * should be in a specific format, such as "YYYY-MM-DD".
-     * @return The method is returning a boolean value. It returns true if the insertion into the
-     * Attendance table was successful (i.e., rowsAffected > 0), and false otherwise.
+     * @param studentID
+     * @return A list of SessionSlots (empty if there are none), or null on an error.
      */
-    public static boolean tutorCheckIn(int tutoringSessionID, String courseCode, String studentID, String date) {
+    public static List<SessionSlot> getTutorCommitments(String studentID) {
         try (Connection connection = getConnection()) {
 
-            // first check if they have not already checked in for that day
-            if (hasTutorAlreadyCheckedIn(tutoringSessionID, studentID, date)) {
-                return false; // ie: the tutorCheckIn failed
-            }
-
-            // else, continue with inserting into attendance
-            String query = "INSERT INTO Attendance (studentID, date, tutoringSessionID, courseCode) VALUES (?,?,?,?)";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            PreparedStatement preparedStatement = connection.prepareStatement(TUTOR_COMMITMENTS_QUERY);
             preparedStatement.setString(1, studentID);
-            preparedStatement.setString(2, date);
-            preparedStatement.setString(3, Integer.toString(tutoringSessionID));
-            preparedStatement.setString(4, courseCode);
+            ResultSet resultSet = preparedStatement.executeQuery();
 
-            int rowsAffected = preparedStatement.executeUpdate();
+            List<SessionSlot> slots = new ArrayList<>();
+            while (resultSet.next()) {
+                slots.add(readSessionSlot(resultSet));
+            }
 
-            return rowsAffected > 0;
+            return slots;
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return false;
+        return null;
     }
 
     /**
-     * The function `updateSchedule` updates a schedule by inserting new tutoring sessions, updating
-     * existing tutoring sessions, and deleting old tutoring sessions.
+     * The function returns the tutors of a course, each with when the tutoring sessions (of any course)
+     * they are signed up for in that year take place.
      * 
-     * @param oldSchedule The oldSchedule parameter is an object of the Schedule class representing the
-     * existing schedule that needs to be updated.
-     * @param newSchedule The newSchedule parameter is an object of the Schedule class, which
-     * represents the updated schedule that needs to be applied. It contains a list of TutoringSession
-     * objects, representing the new tutoring sessions.
-     * @return The method is returning a boolean value. If the schedule update is successful, it
-     * returns true. If there is an SQLException, it returns false.
+     * @param courseCode
+     * @param year
+     * @return A map of studentID -> SessionSlots (empty for a tutor with no sessions), or null on an error.
      */
-    public static boolean updateSchedule(Schedule oldSchedule, Schedule newSchedule) {
-
+    public static Map<String, List<SessionSlot>> getCourseTutorCommitments(String courseCode, int year) {
         try (Connection connection = getConnection()) {
 
-            List<TutoringSession> oldSessions = oldSchedule.getTutoringSessions();
-            List<TutoringSession> newSessions = newSchedule.getTutoringSessions();
-
-            int scheduleID = oldSchedule.getScheduleID();
+            String query = "SELECT t.stuID, ts.tutSessionID, s.year, ts.day, ts.startTime, ts.endTime "
+                    + "FROM Tutors t "
+                    + "LEFT JOIN TutoringSessionTutors tst ON tst.studentID = t.stuID "
+                    + "LEFT JOIN TutoringSessions ts ON ts.tutSessionID = tst.tutSessionID "
+                    + "LEFT JOIN Schedules s ON s.scheduleID = ts.scheduleID AND s.year = t.year "
+                    + "WHERE t.courseCode = ? AND t.year = ?";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, courseCode);
+            preparedStatement.setInt(2, year);
+            ResultSet resultSet = preparedStatement.executeQuery();
 
-            // Identify new, updated, and deleted sessions
-            for (TutoringSession newSession : newSessions) {
-                if (!oldSessions.contains(newSession)) {
-                    System.out.println("INSERTING " + newSession.getTutoringCapacity());
+            Map<String, List<SessionSlot>> commitments = new LinkedHashMap<>();
+            while (resultSet.next()) {
+                List<SessionSlot> slots = commitments.computeIfAbsent(resultSet.getString(1), k -> new ArrayList<>());
 
-                    // New session
-                    String q = "INSERT INTO TutoringSessions (scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) VALUES (?, ?, ?, ?, ?, ?,?)";
-                    PreparedStatement ps = connection.prepareStatement(q);
+                // no session, or one from another year
+                if (resultSet.getObject(3) != null) {
+                    slots.add(new SessionSlot(resultSet.getInt(2), resultSet.getInt(3), resultSet.getString(4),
+                            resultSet.getDouble(5), resultSet.getDouble(6)));
+                }
+            }
 
-                    ps.setInt(1, scheduleID);
-                    ps.setString(2, newSession.getDay());
-                    ps.setString(3, Double.toString(newSession.getStartTimeAsDouble()));
-                    ps.setString(4, Double.toString(newSession.getEndTimeAsDouble()));
-                    ps.setInt(5, newSession.getTutoringCapacity());
-                    ps.setString(6, newSession.getLocation());
-                    ps.setString(7, newSession.getWhatsappLink());
+            return commitments;
 
-                    ps.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-                } else {
-                    System.out.println("UPDATING " + newSession.getTutoringCapacity());
-
-                    String query = "UPDATE TutoringSessions SET day = ?, startTime = ?, endTime = ?, tutoringCapacity = ?, location = ?, whatsappLink = ? WHERE tutSessionID = ?";
-                    PreparedStatement preparedStatement = connection.prepareStatement(query);
-                    preparedStatement.setString(1, newSession.getDay());
-                    preparedStatement.setString(2,
-                            Double.toString(newSession.getStartTimeAsDouble()));
-                    preparedStatement.setString(3,
-                            Double.toString(newSession.getEndTimeAsDouble()));
-                    preparedStatement.setInt(4, newSession.getTutoringCapacity());
-                    preparedStatement.setString(5, newSession.getLocation());
-                    preparedStatement.setString(6, newSession.getWhatsappLink());
-                    preparedStatement.setInt(7, newSession.getSessionID());
-
-                    // for also update the assignedTytor
-
-                    preparedStatement.executeUpdate();
+        return null;
+    }
+
+    private static SessionSlot readSessionSlot(ResultSet resultSet) throws SQLException {
+        return new SessionSlot(resultSet.getInt(1), resultSet.getInt(2), resultSet.getString(3),
+                resultSet.getDouble(4), resultSet.getDouble(5));
+    }
+
+    /**
+     * The function checks if a student has already checked in for a tutoring session on a specific
+     * date.
+     * 
+     * @param tutoringSessionID The tutoringSessionID parameter is an integer that represents the ID of
+     * the tutoring session.
+     * @param studentID The studentID parameter is a String that represents the ID of the student.
+     * @param date The "date" parameter represents the date of the tutoring session.
+     * @return The method is returning a boolean value. It returns true if there is a record in the
+     * Attendance table that matches the given tutoringSessionID, studentID, and date. Otherwise, it
+     * returns false.
+     */
+    public static boolean hasTutorAlreadyCheckedIn(int tutoringSessionID, String studentID, String date) {
+        try (Connection connection = getConnection()) {
+
+            PreparedStatement preparedStatement = connection.prepareStatement(CHECKED_IN_QUERY);
+            preparedStatement.setString(1, studentID);
+            preparedStatement.setString(2, date);
+            preparedStatement.setString(3, Integer.toString(tutoringSessionID));
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next()) {
+                return true;
+            }
+
+            return false;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * The function `tutorCheckIn` records a tutor's attendance of a tutoring session on a specific
+     * date, unless they have already checked in to it that day.
+     * 
+     * The check and the insert are a single conditional statement (backed by the unique
+     * uq_attendance_checkin index), so two concurrent check-ins cannot both be recorded.
+     * 
+     * @param tutoringSessionID The tutoring session ID is a unique identifier for a specific tutoring
+     * session. It is used to track attendance for that particular session.
+     * @param courseCode The course code is a unique identifier for a specific course. It is typically
+     * a combination of letters and numbers that represents a particular subject or topic. For example,
+     * "CS101" could be the course code for an introductory computer science course.
+     * @param studentID The student's ID, which is a unique identifier for each student.
+     * @param date The "date" parameter is a string representing the date of the tutoring session. It
+     * should be in a specific format, such as "YYYY-MM-DD".
+     * @return The method is returning a boolean value. It returns true if the attendance was recorded,
+     * and false if the tutor had already checked in (or the insert failed).
+     */
+    public static boolean tutorCheckIn(int tutoringSessionID, String courseCode, String studentID, String date) {
+
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false); // the check-in and its counters are recorded together
+
+            // only inserts if they have not already checked in for that day
+            String query = "INSERT INTO Attendance (studentID, date, tutoringSessionID, courseCode) "
+                    + "SELECT ?, ?, ?, ? FROM DUAL WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM Attendance WHERE studentID = ? AND date = ? AND tutoringSessionID = ?)";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, studentID);
+            preparedStatement.setString(2, date);
+            preparedStatement.setInt(3, tutoringSessionID);
+            preparedStatement.setString(4, courseCode);
+            preparedStatement.setString(5, studentID);
+            preparedStatement.setString(6, date);
+            preparedStatement.setInt(7, tutoringSessionID);
+
+            int rowsAffected = preparedStatement.executeUpdate();
+
+            if (rowsAffected > 0) {
+                incrementAttendanceCounts(connection, tutoringSessionID, courseCode, studentID);
+            }
+
+            connection.commit();
+
+            return rowsAffected > 0;
+
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // a concurrent check-in won the race - they are checked in
+            return false;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * The function `updateSchedule` saves the changes made to a schedule: it inserts the new tutoring
+     * sessions, updates the changed ones (only the columns that changed, one batch per set of columns) and
+     * deletes the removed ones (along with their tutors), each as one batch, in one transaction.
+     * 
+     * The schedule's version is checked and bumped in the same transaction, so if the schedule was
+     * edited by someone else since the version being saved was read, nothing is saved.
+     * 
+     * @param schedule The edited schedule, with the version it was read at. On success, its new sessions
+     * are given their IDs and it is given its new version.
+     * @param diff The changes made to the schedule's sessions.
+     * @return SUCCESS, SCHEDULE_CONFLICT if the schedule was edited in the meantime, or UNSUCCESSFUL if
+     * there was an SQLException.
+     */
+    public static Response updateSchedule(Schedule schedule, ScheduleDiff diff) {
+
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+
+            int scheduleID = schedule.getScheduleID();
+
+            String query = "UPDATE Schedules SET version = version + 1 WHERE scheduleID = ? AND version = ?";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setInt(1, scheduleID);
+            preparedStatement.setInt(2, schedule.getVersion());
+
+            if (preparedStatement.executeUpdate() == 0) {
+                connection.rollback();
+                return Response.SCHEDULE_CONFLICT;
+            }
+
+            // New sessions
+            if (!diff.getAdded().isEmpty()) {
+                query = "INSERT INTO TutoringSessions (scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) VALUES (?, ?, ?, ?, ?, ?, ?)";
+                preparedStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+
+                for (TutoringSession session : diff.getAdded()) {
+                    preparedStatement.setInt(1, scheduleID);
+                    setSessionFields(preparedStatement, 2, session);
+                    preparedStatement.addBatch();
+                }
+
+                preparedStatement.executeBatch();
+
+                ResultSet keys = preparedStatement.getGeneratedKeys();
+                for (TutoringSession session : diff.getAdded()) {
+                    if (keys.next()) {
+                        session.setSessionID(keys.getInt(1));
+                    }
                 }
             }
 
-            for (TutoringSession oldSession : oldSessions) {
-                if (!newSessions.contains(oldSession)) {
-                    System.out.println("DELETING " + oldSession.getTutoringCapacity());
+            // Changed sessions, grouped by the columns that changed (usually the same ones, e.g. the location)
+            Map<List<String>, List<TutoringSession>> updatedByFields = new LinkedHashMap<>();
+            for (TutoringSession session : diff.getUpdated()) {
+                updatedByFields.computeIfAbsent(new ArrayList<>(diff.getUpdatedFields(session)), k -> new ArrayList<>()).add(session);
+            }
 
-                    // Deleted session
-                    String q = "DELETE FROM TutoringSessions WHERE tutSessionID = ? AND scheduleID = ?";
-                    PreparedStatement ps = connection.prepareStatement(q);
-                    ps.setInt(1, oldSession.getSessionID());
-                    ps.setInt(2, scheduleID);
-                    ps.executeUpdate();
+            for (Map.Entry<List<String>, List<TutoringSession>> entry : updatedByFields.entrySet()) {
+                List<String> fields = entry.getKey();
+
+                query = "UPDATE TutoringSessions SET " + String.join(" = ?, ", fields) + " = ? "
+                        + "WHERE tutSessionID = ? AND scheduleID = ?";
+                preparedStatement = connection.prepareStatement(query);
 
-                    q = "DELETE FROM TutoringSessionTutors WHERE tutSessionID = ?";
-                    ps = connection.prepareStatement(q);
-                    ps.setInt(1, oldSession.getSessionID());
-                    ps.executeUpdate();
+                for (TutoringSession session : entry.getValue()) {
+                    for (int i = 0; i < fields.size(); i++) {
+                        setSessionField(preparedStatement, i + 1, session, fields.get(i));
+                    }
 
+                    preparedStatement.setInt(fields.size() + 1, session.getSessionID());
+                    preparedStatement.setInt(fields.size() + 2, scheduleID);
+                    preparedStatement.addBatch();
                 }
+
+                preparedStatement.executeBatch();
             }
 
-            return true;
+            // Deleted sessions, and their tutors
+            if (!diff.getRemoved().isEmpty()) {
+                PreparedStatement tutorsStatement = connection.prepareStatement("DELETE FROM TutoringSessionTutors WHERE tutSessionID = ?");
+                preparedStatement = connection.prepareStatement("DELETE FROM TutoringSessions WHERE tutSessionID = ? AND scheduleID = ?");
+
+                for (TutoringSession session : diff.getRemoved()) {
+                    tutorsStatement.setInt(1, session.getSessionID());
+                    tutorsStatement.addBatch();
+
+                    preparedStatement.setInt(1, session.getSessionID());
+                    preparedStatement.setInt(2, scheduleID);
+                    preparedStatement.addBatch();
+                }
+
+                tutorsStatement.executeBatch();
+                preparedStatement.executeBatch();
+            }
+
+            connection.commit();
+            schedule.setVersion(schedule.getVersion() + 1);
+
+            return Response.SUCCESS;
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return false;
+        return Response.UNSUCCESSFUL;
+    }
+
+    // sets day, startTime, endTime, tutoringCapacity, location and whatsappLink, from the given parameter index on
+    private static void setSessionFields(PreparedStatement preparedStatement, int index, TutoringSession session) throws SQLException {
+        preparedStatement.setString(index, session.getDay());
+        preparedStatement.setString(index + 1, Double.toString(session.getStartTimeAsDouble()));
+        preparedStatement.setString(index + 2, Double.toString(session.getEndTimeAsDouble()));
+        preparedStatement.setInt(index + 3, session.getTutoringCapacity());
+        preparedStatement.setString(index + 4, session.getLocation());
+        preparedStatement.setString(index + 5, session.getWhatsappLink());
+    }
+
+    // sets one of the fields setSessionFields sets (see ScheduleDiff.getChangedFields for their names)
+    private static void setSessionField(PreparedStatement preparedStatement, int index, TutoringSession session, String field)
+            throws SQLException {
+        switch (field) {
+            case "day":
+                preparedStatement.setString(index, session.getDay());
+                break;
+            case "startTime":
+                preparedStatement.setString(index, Double.toString(session.getStartTimeAsDouble()));
+                break;
+            case "endTime":
+                preparedStatement.setString(index, Double.toString(session.getEndTimeAsDouble()));
+                break;
+            case "tutoringCapacity":
+                preparedStatement.setInt(index, session.getTutoringCapacity());
+                break;
+            case "location":
+                preparedStatement.setString(index, session.getLocation());
+                break;
+            case "whatsappLink":
+                preparedStatement.setString(index, session.getWhatsappLink());
+                break;
+            default:
+                throw new IllegalArgumentException("Not a tutoring session field: " + field);
+        }
     }
 
     // #endregion
@@ -2385,8 +3610,7 @@ public class DatabaseController {
         try (Connection connection = getConnection()) {
 
             // check the tutors table
-            String query = "SELECT * FROM Tutors WHERE stuID = ? AND courseCode = ? AND year = ?";
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            PreparedStatement preparedStatement = connection.prepareStatement(IS_TUTOR_QUERY);
             preparedStatement.setString(1, studentID);
             preparedStatement.setString(2, courseCode);
             preparedStatement.setString(3, year);
@@ -2396,8 +3620,7 @@ public class DatabaseController {
                 return Role.Tutor;
             }
 
-            query = "SELECT * FROM TAs WHERE studID = ? AND courseCode = ? AND year = ?";
-            preparedStatement = connection.prepareStatement(query);
+            preparedStatement = connection.prepareStatement(IS_TA_QUERY);
             preparedStatement.setString(1, studentID);
             preparedStatement.setString(2, courseCode);
             preparedStatement.setString(3, year);
@@ -2509,6 +3732,193 @@ public class DatabaseController {
         return taList;
     }
 
+    // The ID each kind of course staff is searched by
+    private static final Map<String, String> COURSE_STAFF_ID_COLUMNS = Map.of(
+            "Tutors", "P.studentID",
+            "TAs", "P.studentID",
+            "Employees", "P.employeeID");
+
+    // What identifies each kind's rows: an employee has a row for each of their roles in a course, so theirs are
+    // identified by employee and role (see UserPager.getRowID)
+    private static final Map<String, String> COURSE_STAFF_ROW_IDS = Map.of(
+            "Tutors", "P.studentID",
+            "TAs", "P.studentID",
+            "Employees", "CONCAT(P.employeeID, '/', T.role)");
+
+    private static final Map<String, String> STUDENT_STAFF_SORT_COLUMNS = Map.of(
+            "studentID", "P.studentID",
+            "firstName", "P.firstName",
+            "lastName", "P.lastName",
+            "email", "P.email",
+            "qualificationLevel", "P.qualificationLevel");
+
+    // The columns each kind of course staff can be sorted by (grid property -> SQL), bare so their indexes can serve the order
+    private static final Map<String, Map<String, String>> COURSE_STAFF_SORT_COLUMNS = Map.of(
+            "Tutors", STUDENT_STAFF_SORT_COLUMNS,
+            "TAs", STUDENT_STAFF_SORT_COLUMNS,
+            "Employees", Map.of(
+                    "employeeID", "P.employeeID",
+                    "firstName", "P.firstName",
+                    "lastName", "P.lastName",
+                    "email", "P.email",
+                    "department", "P.department",
+                    "faculty", "P.faculty",
+                    "role", "T.role"));
+
+    /**
+     * The function retrieves a page of a course's tutors in a given year, matching a search, in the
+     * given order. Unlike getActiveTutors, the tutors' completed courses are not read.
+     * 
+     * @see #getCourseStaffPage
+     */
+    public static List<Tutor> getActiveTutorsPage(String courseCode, String year, String search, String sortProperty,
+            boolean ascending, String afterSortValue, String afterID, int offset, int limit) {
+
+        return getCourseStaffPage("Tutors", courseCode, year, search, sortProperty, ascending, afterSortValue, afterID,
+                offset, limit,
+                resultSet -> new Tutor(
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        resultSet.getString("studentID"),
+                        QualificationLevel.fromString(resultSet.getString("qualificationLevel")),
+                        ApplicationStatus.valueOf(resultSet.getString("applicationStatus")),
+                        null));
+    }
+
+    /**
+     * The function retrieves a page of a course's TAs in a given year, matching a search, in the
+     * given order. Unlike getActiveTAs, the TAs' completed courses are not read.
+     * 
+     * @see #getCourseStaffPage
+     */
+    public static List<TA> getActiveTAsPage(String courseCode, String year, String search, String sortProperty,
+            boolean ascending, String afterSortValue, String afterID, int offset, int limit) {
+
+        return getCourseStaffPage("TAs", courseCode, year, search, sortProperty, ascending, afterSortValue, afterID,
+                offset, limit,
+                resultSet -> new TA(
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        resultSet.getString("studentID"),
+                        QualificationLevel.fromString(resultSet.getString("qualificationLevel")),
+                        ApplicationStatus.valueOf(resultSet.getString("applicationStatus")),
+                        null));
+    }
+
+    /**
+     * The function retrieves a page of the employees with access to a course in a given year,
+     * matching a search, in the given order. An employee with more than one role in the course is on
+     * it once per role, and afterID identifies the row by both ("employeeID/role").
+     * 
+     * @see #getCourseStaffPage
+     */
+    public static List<Lecturer> getEmployeesForPage(String courseCode, String year, String search, String sortProperty,
+            boolean ascending, String afterSortValue, String afterID, int offset, int limit) {
+
+        return getCourseStaffPage("Employees", courseCode, year, search, sortProperty, ascending, afterSortValue, afterID,
+                offset, limit,
+                resultSet -> resultSet.getString("role").equals("CourseConvenor")
+                        ? new CourseConvenor(
+                                resultSet.getString("firstName"),
+                                resultSet.getString("lastName"),
+                                resultSet.getString("email"),
+                                resultSet.getString("employeeID"),
+                                resultSet.getString("department"),
+                                resultSet.getString("faculty"))
+                        : new Lecturer(
+                                resultSet.getString("firstName"),
+                                resultSet.getString("lastName"),
+                                resultSet.getString("email"),
+                                resultSet.getString("employeeID"),
+                                resultSet.getString("department"),
+                                resultSet.getString("faculty")));
+    }
+
+    /**
+     * The function retrieves a page of a course's staff of one kind in a given year. The rows are
+     * found through the course's index (courseCode, year), so only that course's staff are sorted,
+     * however many the other courses have.
+     * 
+     * @param staff          "Tutors", "TAs" or "Employees".
+     * @param courseCode     The course.
+     * @param year           The year.
+     * @param search         A prefix the ID, first name, last name or email has to start with (may be empty).
+     * @param sortProperty   The grid property to sort by; unknown properties sort by the ID.
+     * @param ascending      The sort direction.
+     * @param afterSortValue The sort value of the last row of the previous page, or null.
+     * @param afterID        The row ID (see COURSE_STAFF_ROW_IDS) of the last row of the previous page, or null to use the offset.
+     * @param offset         The number of rows to skip (only used without afterID).
+     * @param limit          The maximum number of rows to return.
+     * @param mapper         Creates a person from a row.
+     * @return The page of staff.
+     */
+    private static <T> List<T> getCourseStaffPage(String staff, String courseCode, String year, String search,
+            String sortProperty, boolean ascending, String afterSortValue, String afterID, int offset, int limit,
+            RowMapper<T> mapper) {
+
+        String rowID = COURSE_STAFF_ROW_IDS.get(staff);
+        String sortColumn = sortProperty == null ? rowID
+                : COURSE_STAFF_SORT_COLUMNS.get(staff).getOrDefault(sortProperty, rowID);
+
+        return getKeysetPage("SELECT P.*, T.* " + COURSE_STAFF_TABLES.get(staff), List.of(courseCode, year),
+                getCourseStaffSearchColumns(staff), rowID, sortColumn,
+                search, ascending, afterSortValue, afterID, offset, limit, mapper);
+    }
+
+    /**
+     * The function counts a course's staff of one kind in a given year, matching a search.
+     * 
+     * @param staff      "Tutors", "TAs" or "Employees".
+     * @param courseCode The course.
+     * @param year       The year.
+     * @param search     A prefix the ID, first name, last name or email has to start with (may be empty).
+     * @return The number of matching staff.
+     */
+    public static int countCourseStaff(String staff, String courseCode, String year, String search) {
+        List<String> parameters = new ArrayList<>(List.of(courseCode, year));
+        String query = "SELECT COUNT(*) " + COURSE_STAFF_TABLES.get(staff)
+                + getSearchCondition(getCourseStaffSearchColumns(staff), search, parameters);
+
+        try (Connection connection = getConnection()) {
+
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+            for (int i = 0; i < parameters.size(); i++) {
+                preparedStatement.setString(i + 1, parameters.get(i));
+            }
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next()) {
+                return resultSet.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * @param staff "Tutors", "TAs" or "Employees".
+     * @return The columns a search of the staff is a prefix of: the ID, first name, last name and email.
+     */
+    private static String[] getCourseStaffSearchColumns(String staff) {
+        return new String[] { COURSE_STAFF_ID_COLUMNS.get(staff), "P.firstName", "P.lastName", "P.email" };
+    }
+
+    // the columns the applicant-review grid may be sorted by, mapped to the SQL that orders them
+    private static final Map<String, String> APPLICANT_SORT_COLUMNS = Map.of(
+            "studentID", "S.studentID",
+            "firstName", "S.firstName",
+            "lastName", "S.lastName",
+            "email", "S.email",
+            "qualificationLevel", "S.qualificationLevel",
+            "grade", "C.grade");
+
     /**
      * The function retrieves a list of pending applicants for a specific course by querying the
      * database for students who have applied and have previously completed the parsed course.
@@ -2516,35 +3926,354 @@ public class DatabaseController {
      * @param courseCode The parameter `courseCode` is a String that represents the code of a course.
      * It is used in the SQL query to filter the results and retrieve the pending applicants for that
      * specific course.
-     * @return The method is returning a List of Student objects.
+     * @return The method is returning a List of Applicant objects.
+     */
+    public static List<Applicant> getPendingApplicants(String courseCode) {
+        return getPendingApplicants(courseCode, 0, Integer.MAX_VALUE, "studentID", true);
+    }
+
+    /**
+     * The function retrieves one page of the pending applicants for a specific course, each along with
+     * their grade for the course and their motivation, in a single query.
+     * 
+     * @param courseCode The code of the course the applicants have completed.
+     * @param offset The index of the first applicant to return.
+     * @param limit The maximum number of applicants to return.
+     * @param sortProperty The applicant property to sort by (studentID, firstName, lastName, email,
+     * qualificationLevel or grade). Anything else falls back to studentID.
+     * @param ascending Whether the applicants are sorted in ascending order.
+     * @return The method is returning a List of Applicant objects.
      */
-    public static List<Student> getPendingApplicants(String courseCode) {
-        List<Student> students = new ArrayList<>();
+    public static List<Applicant> getPendingApplicants(String courseCode, int offset, int limit, String sortProperty, boolean ascending) {
+        List<Applicant> applicants = new ArrayList<>();
+
+        // only whitelisted columns ever make it into the ORDER BY clause
+        String sortColumn = APPLICANT_SORT_COLUMNS.getOrDefault(sortProperty, "S.studentID");
+        String direction = ascending ? "ASC" : "DESC";
+
+        try (Connection connection = getConnection()) {
+
+            // the best grade is used should the student have completed the course more than once
+            String query = "SELECT S.studentID, S.firstName, S.lastName, S.email, S.qualificationLevel, S.applicationStatus, C.grade, A.motivation "
+                    + "FROM Students S "
+                    + "JOIN Applications A ON A.studentID = S.studentID "
+                    + "JOIN (SELECT studentID, MAX(grade) AS grade FROM CompletedCourses WHERE courseCode = ? GROUP BY studentID) C ON C.studentID = S.studentID "
+                    + "WHERE S.applicationStatus = 'APPLIED' "
+                    + "ORDER BY " + sortColumn + " " + direction + ", S.studentID "
+                    + "LIMIT ? OFFSET ?";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, courseCode);
+            preparedStatement.setInt(2, limit);
+            preparedStatement.setInt(3, offset);
+            ResultSet resultSet = preparedStatement.executeQuery();
 
+            while (resultSet.next()) {
+                Applicant applicant = new Applicant(
+                        resultSet.getString("firstName"),
+                        resultSet.getString("lastName"),
+                        resultSet.getString("email"),
+                        resultSet.getString("studentID"),
+                        QualificationLevel.valueOf(resultSet.getString("qualificationLevel")),
+                        ApplicationStatus.valueOf(resultSet.getString("applicationStatus")),
+                        resultSet.getDouble("grade"),
+                        resultSet.getString("motivation"));
+
+                applicants.add(applicant);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return applicants;
+    }
+
+    /**
+     * The function counts the pending applicants for a specific course, i.e. the students who have
+     * applied and have previously completed the parsed course.
+     * 
+     * @param courseCode The code of the course the applicants have completed.
+     * @return The method is returning the number of pending applicants.
+     */
+    public static int countPendingApplicants(String courseCode) {
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT S.email FROM Students S WHERE S.studentID IN ( SELECT A.studentID FROM Applications A JOIN CompletedCourses C ON A.studentID = C.studentID WHERE S.applicationStatus = 'APPLIED' AND C.courseCode = ?)";
+            String query = "SELECT COUNT(*) AS entryCount FROM Students S "
+                    + "JOIN Applications A ON A.studentID = S.studentID "
+                    + "WHERE S.applicationStatus = 'APPLIED' "
+                    + "AND EXISTS (SELECT 1 FROM CompletedCourses C WHERE C.studentID = S.studentID AND C.courseCode = ?)";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
             preparedStatement.setString(1, courseCode);
             ResultSet resultSet = preparedStatement.executeQuery();
 
+            if (resultSet.next()) {
+                return resultSet.getInt("entryCount");
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    // #endregion
+
+    // #region // !! EMAIL OUTBOX
+
+    /**
+     * Queues an email in the EmailOutbox, on an already-borrowed connection (so it is part of the
+     * caller's transaction). It is picked up and delivered by the EmailDispatcher.
+     * 
+     * @param connection The connection to run the insert on.
+     * @param email      The email to queue.
+     * @throws SQLException
+     */
+    private static void enqueueEmail(Connection connection, OutboxEmail email) throws SQLException {
+        String query = "INSERT INTO EmailOutbox (recipient, subject, body, status, attempts, nextAttempt) VALUES (?,?,?,?,0,?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+        preparedStatement.setString(1, email.getRecipient());
+        preparedStatement.setString(2, email.getSubject());
+        preparedStatement.setString(3, email.getBody());
+        preparedStatement.setString(4, EmailStatus.PENDING.name());
+        preparedStatement.setLong(5, System.currentTimeMillis());
+        preparedStatement.executeUpdate();
+
+        ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
+
+        if (generatedKeys.next()) {
+            email.setEmailID(generatedKeys.getInt(1));
+        }
+    }
+
+    /**
+     * Queues an email in the EmailOutbox on its own.
+     * 
+     * @param email The email to queue.
+     * @return true if the email was queued, false otherwise.
+     */
+    public static boolean enqueueEmail(OutboxEmail email) {
+        try (Connection connection = getConnection()) {
+
+            enqueueEmail(connection, email);
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * The function claims (marks as SENDING) up to `limit` pending emails that are due to be sent, and
+     * returns them. An email is only returned to the caller that claimed it.
+     * 
+     * @param limit The maximum number of emails to claim.
+     * @return The method is returning a List of the claimed OutboxEmail objects.
+     */
+    public static List<OutboxEmail> claimDueEmails(int limit) {
+        List<OutboxEmail> emails = new ArrayList<>();
+
+        try (Connection connection = getConnection()) {
+
+            String query = "SELECT emailID, recipient, subject, body, attempts FROM EmailOutbox "
+                    + "WHERE status = ? AND nextAttempt <= ? ORDER BY nextAttempt LIMIT ?";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, EmailStatus.PENDING.name());
+            preparedStatement.setLong(2, System.currentTimeMillis());
+            preparedStatement.setInt(3, limit);
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            query = "UPDATE EmailOutbox SET status = ? WHERE emailID = ? AND status = ?";
+            PreparedStatement claimStatement = connection.prepareStatement(query);
+
             while (resultSet.next()) {
-                students.add(getStudent(resultSet.getString("email")));
+                claimStatement.setString(1, EmailStatus.SENDING.name());
+                claimStatement.setInt(2, resultSet.getInt("emailID"));
+                claimStatement.setString(3, EmailStatus.PENDING.name());
+
+                // someone else got there first
+                if (claimStatement.executeUpdate() == 0) {
+                    continue;
+                }
+
+                OutboxEmail email = new OutboxEmail(
+                        resultSet.getString("recipient"),
+                        resultSet.getString("subject"),
+                        resultSet.getString("body"));
+
+                email.setEmailID(resultSet.getInt("emailID"));
+                email.setAttempts(resultSet.getInt("attempts"));
+                email.setStatus(EmailStatus.SENDING);
+                emails.add(email);
             }
 
-            return students;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return emails;
+    }
+
+    /**
+     * The function records the outcome of an attempt to deliver an email. The body of an email that is SENT or
+     * FAILED is blanked, so the temporary password in it is not kept once it is no longer needed.
+     * 
+     * @param emailID     The ID of the email.
+     * @param status      SENT, PENDING (to be retried at nextAttempt) or FAILED (given up on).
+     * @param attempts    The number of delivery attempts made so far.
+     * @param nextAttempt When (in epoch milliseconds) a PENDING email is next due.
+     * @param error       The error the attempt failed with, or null.
+     * @return true if the email was updated, false otherwise.
+     */
+    public static boolean updateEmailStatus(int emailID, EmailStatus status, int attempts, long nextAttempt, String error) {
+        try (Connection connection = getConnection()) {
+
+            String query = status == EmailStatus.PENDING
+                    ? "UPDATE EmailOutbox SET status = ?, attempts = ?, nextAttempt = ?, lastError = ? WHERE emailID = ?"
+                    : "UPDATE EmailOutbox SET status = ?, attempts = ?, nextAttempt = ?, lastError = ?, body = '' WHERE emailID = ?";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, status.name());
+            preparedStatement.setInt(2, attempts);
+            preparedStatement.setLong(3, nextAttempt);
+            preparedStatement.setString(4, error == null || error.length() <= 1024 ? error : error.substring(0, 1024));
+            preparedStatement.setInt(5, emailID);
+
+            return preparedStatement.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * The function hands emails that were claimed but never finished (e.g. the application stopped
+     * mid-delivery) back to the queue.
+     * 
+     * @return The number of emails released.
+     */
+    public static int releaseClaimedEmails() {
+        try (Connection connection = getConnection()) {
+
+            String query = "UPDATE EmailOutbox SET status = ? WHERE status = ?";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, EmailStatus.PENDING.name());
+            preparedStatement.setString(2, EmailStatus.SENDING.name());
+
+            return preparedStatement.executeUpdate();
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * The function returns the delivery status of the most recent email queued for a recipient.
+     * 
+     * @param recipient The email address the email was sent to.
+     * @return The EmailStatus of the email, or null if none was queued.
+     */
+    public static EmailStatus getEmailStatus(String recipient) {
+        try (Connection connection = getConnection()) {
+
+            String query = "SELECT status FROM EmailOutbox WHERE recipient = ? ORDER BY emailID DESC LIMIT 1";
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setString(1, recipient);
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next()) {
+                return EmailStatus.valueOf(resultSet.getString("status"));
+            }
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return students;
+        return null;
     }
 
     // #endregion
 
     // #region // !! STATISTICS
 
+    // The attendance statistics are read from counters kept up to date by tutorCheckIn, rather than counted
+    // from Attendance (which grows every year) on every read. rebuildAttendanceCounts recounts them.
+
+    /**
+     * Adds a check-in to the course, tutor and session counters.
+     * 
+     * @param connection The check-in's connection (so the counters are updated in its transaction).
+     * @param tutoringSessionID
+     * @param courseCode
+     * @param studentID
+     * @throws SQLException
+     */
+    private static void incrementAttendanceCounts(Connection connection, int tutoringSessionID, String courseCode, String studentID) throws SQLException {
+        String query = "INSERT INTO AttendanceCourseCounts (courseCode, attendances) VALUES (?, 1) "
+                + "ON DUPLICATE KEY UPDATE attendances = attendances + 1";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setString(1, courseCode);
+        preparedStatement.executeUpdate();
+
+        query = "INSERT INTO AttendanceTutorCounts (courseCode, studentID, attendances) VALUES (?, ?, 1) "
+                + "ON DUPLICATE KEY UPDATE attendances = attendances + 1";
+        preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setString(1, courseCode);
+        preparedStatement.setString(2, studentID);
+        preparedStatement.executeUpdate();
+
+        query = "INSERT INTO AttendanceSessionCounts (tutoringSessionID, attendances) VALUES (?, 1) "
+                + "ON DUPLICATE KEY UPDATE attendances = attendances + 1";
+        preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setInt(1, tutoringSessionID);
+        preparedStatement.executeUpdate();
+    }
+
+    /**
+     * The function recounts the attendance counters from the Attendance table, e.g. should attendance
+     * have been recorded or removed by hand.
+     * 
+     * @return true if the counters were rebuilt, false otherwise.
+     */
+    public static boolean rebuildAttendanceCounts() {
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false); // the counters are never read half rebuilt
+
+            rebuildAttendanceCounts(connection);
+            connection.commit();
+
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    private static void rebuildAttendanceCounts(Connection connection) throws SQLException {
+        String[] queries = {
+                "DELETE FROM AttendanceCourseCounts",
+                "INSERT INTO AttendanceCourseCounts (courseCode, attendances) "
+                        + "SELECT courseCode, COUNT(*) FROM Attendance WHERE courseCode IS NOT NULL GROUP BY courseCode",
+                "DELETE FROM AttendanceTutorCounts",
+                "INSERT INTO AttendanceTutorCounts (courseCode, studentID, attendances) "
+                        + "SELECT courseCode, studentID, COUNT(*) FROM Attendance WHERE courseCode IS NOT NULL AND studentID IS NOT NULL GROUP BY courseCode, studentID",
+                "DELETE FROM AttendanceSessionCounts",
+                "INSERT INTO AttendanceSessionCounts (tutoringSessionID, attendances) "
+                        + "SELECT tutoringSessionID, COUNT(*) FROM Attendance WHERE tutoringSessionID IS NOT NULL GROUP BY tutoringSessionID"
+        };
+
+        for (String query : queries) {
+            connection.prepareStatement(query).executeUpdate();
+        }
+    }
+
     /**
      * The function retrieves the number of attendance entries for a specific student in a specific
      * course.
@@ -2559,15 +4288,14 @@ public class DatabaseController {
     public static int getTutorStatsFor(String courseCode, String studentID) {
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT COUNT(*) AS entryCount FROM Attendance WHERE studentID = ? AND courseCode = ?";
+            String query = "SELECT attendances FROM AttendanceTutorCounts WHERE courseCode = ? AND studentID = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, studentID);
-            preparedStatement.setString(2, courseCode);
+            preparedStatement.setString(1, courseCode);
+            preparedStatement.setString(2, studentID);
             ResultSet resultSet = preparedStatement.executeQuery();
 
-            while (resultSet.next()) {
-                return resultSet.getInt("entryCount");
-            }
+            // no counter yet - they have not checked in
+            return resultSet.next() ? resultSet.getInt("attendances") : 0;
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -2588,14 +4316,12 @@ public class DatabaseController {
     public static int getTutoringSessionStatsFor(int tutoringSessionID) {
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT COUNT(*) AS entryCount FROM Attendance WHERE tutoringSessionID = ?";
+            String query = "SELECT attendances FROM AttendanceSessionCounts WHERE tutoringSessionID = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
-            preparedStatement.setString(1, Integer.toString(tutoringSessionID));
+            preparedStatement.setInt(1, tutoringSessionID);
             ResultSet resultSet = preparedStatement.executeQuery();
 
-            while (resultSet.next()) {
-                return resultSet.getInt("entryCount");
-            }
+            return resultSet.next() ? resultSet.getInt("attendances") : 0;
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -2614,14 +4340,12 @@ public class DatabaseController {
     public static int getCourseStatsFor(String courseCode) {
         try (Connection connection = getConnection()) {
 
-            String query = "SELECT COUNT(*) AS entryCount FROM Attendance WHERE courseCode = ?";
+            String query = "SELECT attendances FROM AttendanceCourseCounts WHERE courseCode = ?";
             PreparedStatement preparedStatement = connection.prepareStatement(query);
             preparedStatement.setString(1, courseCode);
             ResultSet resultSet = preparedStatement.executeQuery();
 
-            while (resultSet.next()) {
-                return resultSet.getInt("entryCount");
-            }
+            return resultSet.next() ? resultSet.getInt("attendances") : 0;
 
         } catch (SQLException e) {
             e.printStackTrace();
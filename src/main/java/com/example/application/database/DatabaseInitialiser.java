@@ -0,0 +1,56 @@
+package com.example.application.database;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring component that wires the pooled DataSource into the DatabaseController on startup, and
+ * brings the schema up to date.
+ *
+ * The DataSource itself (a HikariCP pool) is created by Spring Boot from the
+ * {@code spring.datasource.*} properties in application.properties, which keeps the
+ * connection details and pool sizing out of the code. The DatabaseController is handed it
+ * wrapped in an InstrumentedDataSource, so every DatabaseController operation is timed and
+ * counted in the application's MeterRegistry.
+ *
+ * In the local profile, the embedded database is first created and seeded by the LocalDataSeeder.
+ * Should the schema not be brought up to date, startup fails. Once it is, the plans of the hot queries
+ * are checked, and a warning is logged for every table one of them reads in full.
+ */
+@Component
+public class DatabaseInitialiser {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseInitialiser.class);
+
+    /**
+     * @param dataSource    The pooled DataSource created by Spring Boot.
+     * @param meterRegistry The registry Spring Boot Actuator serves metrics from.
+     * @param localDataSeeder The seeder of the embedded database (only available in the local profile).
+     */
+    public DatabaseInitialiser(DataSource dataSource, MeterRegistry meterRegistry, ObjectProvider<LocalDataSeeder> localDataSeeder) {
+        // the base schema and its data, before the schema is brought up to date
+        localDataSeeder.ifAvailable(LocalDataSeeder::seed);
+
+        DatabaseController.setDataSource(InstrumentedDataSource.wrap(dataSource, meterRegistry));
+
+        // the application must not run against a schema it does not expect
+        if (!DatabaseController.updateSchema()) {
+            throw new IllegalStateException("The database schema could not be brought up to date");
+        }
+
+        List<String> fullTableScans = DatabaseController.checkHotQueryPlans();
+        if (fullTableScans != null) {
+            for (String scan : fullTableScans) {
+                log.warn("A hot query reads a table in full (is an index missing?) - {}", scan);
+            }
+        }
+    }
+}
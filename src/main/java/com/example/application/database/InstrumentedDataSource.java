@@ -0,0 +1,247 @@
+package com.example.application.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A DataSource that times and counts what the DatabaseController does with the connections it borrows,
+ * and records it in a Micrometer MeterRegistry.
+ *
+ * Every DatabaseController method borrows its own connection (try (Connection connection = getConnection())),
+ * so a borrowed connection is one operation: it starts when the connection is requested and ends when it is
+ * closed. Each operation is tagged with the DatabaseController method that borrowed the connection and the
+ * class that called it (e.g. ScheduleManager), and records:
+ * 1) mytutor.db.operation - how long it took (a histogram), tagged with its outcome (success or error)
+ * 2) mytutor.db.connection.acquire - how long it waited for a connection from the pool
+ * 3) mytutor.db.rows - how many rows it read from its result sets
+ * 4) mytutor.db.errors - a count of the operations in which the DB threw an SQLException
+ *
+ * The number of calls is the count of mytutor.db.operation.
+ */
+public class InstrumentedDataSource {
+
+    private static final String PACKAGE = "com.example.application.";
+    private static final String DATABASE_PACKAGE = PACKAGE + "database.";
+
+    private final DataSource dataSource;
+    private final MeterRegistry registry;
+
+    // "method caller" -> that operation's meters
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    private InstrumentedDataSource(DataSource dataSource, MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.registry = registry;
+    }
+
+    /**
+     * @param dataSource The (pooled) DataSource connections are borrowed from.
+     * @param registry   The registry the metrics are recorded in.
+     * @return a DataSource over dataSource whose connections are timed and counted
+     */
+    public static DataSource wrap(DataSource dataSource, MeterRegistry registry) {
+        InstrumentedDataSource instrumented = new InstrumentedDataSource(dataSource, registry);
+
+        return (DataSource) Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getConnection")) {
+                        return instrumented.getConnection(method, args);
+                    }
+
+                    return invoke(dataSource, method, args);
+                });
+    }
+
+    private Connection getConnection(Method method, Object[] args) throws Throwable {
+        String[] site = findCallSite();
+        OperationMeters operationMeters = meters.computeIfAbsent(site[0] + " " + site[1],
+                key -> new OperationMeters(registry, site[0], site[1]));
+
+        Operation operation = new Operation(operationMeters);
+
+        try {
+            Connection connection = (Connection) invoke(dataSource, method, args);
+            operationMeters.acquire.record(System.nanoTime() - operation.start, TimeUnit.NANOSECONDS);
+
+            return proxy(connection, Connection.class, operation);
+
+        } catch (Throwable e) {
+            operation.failed = true;
+            operation.end();
+            throw e;
+        }
+    }
+
+    // wraps connections, statements and result sets, following what each JDBC call returns
+    private static <T> T proxy(T target, Class<T> type, Operation operation) {
+        return type.cast(Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    Object result;
+
+                    try {
+                        result = invoke(target, method, args);
+                    } catch (SQLException e) {
+                        operation.failed = true;
+                        throw e;
+                    }
+
+                    if (target instanceof Connection && method.getName().equals("close")) {
+                        operation.end();
+                    } else if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        operation.rows++;
+                    }
+
+                    Class<?> returnType = method.getReturnType();
+
+                    if (result != null && returnType.isInterface()
+                            && (Statement.class.isAssignableFrom(returnType) || ResultSet.class.isAssignableFrom(returnType))) {
+                        return proxy(result, cast(returnType), operation);
+                    }
+
+                    return result;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> cast(Class<?> type) {
+        return (Class<T>) type;
+    }
+
+    /**
+     * @return { the DatabaseController method that is borrowing a connection, the class that called it }
+     */
+    private static String[] findCallSite() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> {
+            String method = null;
+            Iterator<StackWalker.StackFrame> iterator = frames.iterator();
+
+            while (iterator.hasNext()) {
+                StackWalker.StackFrame frame = iterator.next();
+                String className = frame.getClassName();
+
+                if (frame.getDeclaringClass() == DatabaseController.class) {
+                    // the innermost DatabaseController method, other than getConnection itself
+                    if (method == null && !frame.getMethodName().equals("getConnection")) {
+                        method = frame.getMethodName();
+                    }
+                } else if (method != null && className.startsWith(PACKAGE) && !className.startsWith(DATABASE_PACKAGE)) {
+                    return new String[] { method, outermost(frame.getDeclaringClass()).getSimpleName() };
+                }
+            }
+
+            return new String[] { method == null ? "unknown" : method, "unknown" };
+        });
+    }
+
+    // lambdas and inner classes are attributed to the class they are written in
+    private static Class<?> outermost(Class<?> type) {
+        while (type.getEnclosingClass() != null) {
+            type = type.getEnclosingClass();
+        }
+        return type;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * What one borrowed connection has done so far.
+     */
+    private static class Operation {
+        private final OperationMeters meters;
+        private final long start = System.nanoTime();
+
+        private long rows;
+        private boolean failed;
+        private boolean ended;
+
+        private Operation(OperationMeters meters) {
+            this.meters = meters;
+        }
+
+        private synchronized void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+            if (failed) {
+                meters.failed.record(duration);
+                meters.errors.increment();
+            } else {
+                meters.succeeded.record(duration);
+            }
+
+            meters.rows.record(rows);
+        }
+    }
+
+    /**
+     * The meters of one DatabaseController method, called from one class.
+     */
+    private static class OperationMeters {
+        private final Timer succeeded;
+        private final Timer failed;
+        private final Timer acquire;
+        private final DistributionSummary rows;
+        private final Counter errors;
+
+        private OperationMeters(MeterRegistry registry, String method, String caller) {
+            succeeded = operationTimer(registry, method, caller, "success");
+            failed = operationTimer(registry, method, caller, "error");
+
+            acquire = Timer.builder("mytutor.db.connection.acquire")
+                    .description("Time spent waiting for a connection from the pool")
+                    .tags("method", method, "caller", caller)
+                    .register(registry);
+
+            rows = DistributionSummary.builder("mytutor.db.rows")
+                    .description("Rows read from the result sets of a DatabaseController operation")
+                    .baseUnit("rows")
+                    .tags("method", method, "caller", caller)
+                    .register(registry);
+
+            errors = Counter.builder("mytutor.db.errors")
+                    .description("DatabaseController operations in which the DB threw an SQLException")
+                    .tags("method", method, "caller", caller)
+                    .register(registry);
+        }
+
+        private static Timer operationTimer(MeterRegistry registry, String method, String caller, String outcome) {
+            return Timer.builder("mytutor.db.operation")
+                    .description("Time from borrowing a connection to handing it back")
+                    .tags("method", method, "caller", caller, "outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.application.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import com.example.application.PublicEnums.ApplicationStatus;
+import com.example.application.PublicEnums.QualificationLevel;
+import com.example.application.PublicEnums.Role;
+
+/**
+ * Creates the base schema (db/schema.sql) in the local profile's embedded database, and fills it with
+ * synthetic data, so changes can be measured offline against a realistically sized database.
+ *
+ * Class functionality:
+ * 1) Create the schema, if it does not exist yet
+ * 2) Seed it - only if it has no students yet - with the configured number of students, employees and courses,
+ *    and the configured number of years of tutors, TAs, schedules and attendance for every course
+ *
+ * The data is generated from a fixed random seed, so the same settings always produce the same database.
+ * Every seeded user's password is "password"; the administrator is admin@mytutor.local.
+ *
+ * Run before DatabaseController.updateSchema() (see DatabaseInitialiser), which then builds the tables
+ * derived from these (UserIdentities, the attendance counters, ...) as it would for an existing database.
+ */
+@Component
+@Profile("local")
+public class LocalDataSeeder {
+
+    public static final String PASSWORD = "password";
+
+    private static final String[] DEPARTMENTS = { "CSC", "MAM", "STA", "PHY", "CEM", "EEE", "ECO", "BUS", "PSY", "GEO" };
+    private static final String[] FIRST_NAMES = { "Thabo", "Amy", "Sipho", "Lerato", "John", "Aisha", "Pieter", "Naledi", "Omar", "Zanele" };
+    private static final String[] LAST_NAMES = { "Nkosi", "Smith", "Dlamini", "van Wyk", "Naidoo", "Botha", "Mokoena", "Adams", "Khumalo", "Pillay" };
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final int studentCount;
+    private final int employeeCount;
+    private final int courseCount;
+    private final int yearCount;
+    private final int sessionsPerSchedule;
+    private final int weeksPerYear;
+    private final long seed;
+
+    private final Random random;
+    private final Map<PreparedStatement, Integer> batchedRows = new IdentityHashMap<>();
+    private final int currentYear = Year.now().getValue();
+
+    /**
+     * @param dataSource          The DataSource of the embedded database.
+     * @param studentCount        The number of students (a tenth of which have applied to tutor).
+     * @param employeeCount       The number of employees (lecturers and course convenors).
+     * @param courseCount         The number of courses.
+     * @param yearCount           The number of years (up to this one) of tutors, TAs, schedules and attendance.
+     * @param sessionsPerSchedule The number of tutoring sessions in each course's schedule.
+     * @param weeksPerYear        The number of weeks of attendance recorded for each session.
+     * @param seed                The random seed the data is generated from.
+     */
+    @Autowired
+    public LocalDataSeeder(DataSource dataSource,
+            @Value("${mytutor.local.seed.students:50000}") int studentCount,
+            @Value("${mytutor.local.seed.employees:1000}") int employeeCount,
+            @Value("${mytutor.local.seed.courses:500}") int courseCount,
+            @Value("${mytutor.local.seed.years:5}") int yearCount,
+            @Value("${mytutor.local.seed.sessions-per-schedule:8}") int sessionsPerSchedule,
+            @Value("${mytutor.local.seed.weeks-per-year:12}") int weeksPerYear,
+            @Value("${mytutor.local.seed.random-seed:42}") long seed) {
+
+        this.dataSource = dataSource;
+        this.studentCount = studentCount;
+        this.employeeCount = employeeCount;
+        this.courseCount = courseCount;
+        this.yearCount = yearCount;
+        this.sessionsPerSchedule = sessionsPerSchedule;
+        this.weeksPerYear = weeksPerYear;
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates the schema, and seeds it unless it already has students.
+     *
+     * @return true if the database was seeded, false if it already had data (or seeding failed)
+     */
+    public boolean seed() {
+        try (Connection connection = dataSource.getConnection()) {
+
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema.sql"));
+
+            try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM Students")) {
+                if (resultSet.next() && resultSet.getInt(1) > 0) {
+                    return false;
+                }
+            }
+
+            connection.setAutoCommit(false);
+            random.setSeed(seed);
+
+            insertAdministrator(connection);
+            List<String> employeeIDs = insertEmployees(connection);
+            List<String> courseCodes = insertCourses(connection);
+            List<String> acceptedIDs = insertStudents(connection, courseCodes);
+            insertCourseYears(connection, courseCodes, employeeIDs, acceptedIDs);
+
+            connection.commit();
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
+    /**
+     * @param index
+     * @return the index-th student's ID: six letters and three digits, e.g. AAAAAB042
+     */
+    public static String studentID(int index) {
+        StringBuilder letters = new StringBuilder();
+        int prefix = index / 1000;
+
+        for (int i = 0; i < 6; i++) {
+            letters.insert(0, (char) ('A' + prefix % 26));
+            prefix /= 26;
+        }
+
+        return letters + String.format("%03d", index % 1000);
+    }
+
+    /**
+     * @param index
+     * @return the index-th course's code, e.g. CSC1001F
+     */
+    public static String courseCode(int index) {
+        return DEPARTMENTS[index % DEPARTMENTS.length] + (1000 + index / DEPARTMENTS.length) + "FSW".charAt(index % 3);
+    }
+
+    private void insertAdministrator(Connection connection) throws SQLException {
+        String query = "INSERT INTO Administrators (employeeID, firstName, lastName, email, password) VALUES (?, ?, ?, ?, ?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setString(1, "900000000");
+        preparedStatement.setString(2, "Local");
+        preparedStatement.setString(3, "Administrator");
+        preparedStatement.setString(4, "admin@mytutor.local");
+        preparedStatement.setString(5, PASSWORD);
+        preparedStatement.executeUpdate();
+    }
+
+    private List<String> insertEmployees(Connection connection) throws SQLException {
+        List<String> employeeIDs = new ArrayList<>();
+
+        String query = "INSERT INTO Employees (employeeID, firstName, lastName, email, password, department, faculty) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+        for (int i = 0; i < employeeCount; i++) {
+            String employeeID = Integer.toString(100000000 + i);
+            employeeIDs.add(employeeID);
+
+            preparedStatement.setString(1, employeeID);
+            preparedStatement.setString(2, pick(FIRST_NAMES));
+            preparedStatement.setString(3, pick(LAST_NAMES));
+            preparedStatement.setString(4, "emp" + employeeID + "@uct.ac.za");
+            preparedStatement.setString(5, PASSWORD);
+            preparedStatement.setString(6, DEPARTMENTS[i % DEPARTMENTS.length]);
+            preparedStatement.setString(7, "Science");
+            addBatch(preparedStatement);
+        }
+
+        preparedStatement.executeBatch();
+        return employeeIDs;
+    }
+
+    private List<String> insertCourses(Connection connection) throws SQLException {
+        List<String> courseCodes = new ArrayList<>();
+
+        String query = "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES (?, ?, ?, ?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+        for (int i = 0; i < courseCount; i++) {
+            String courseCode = courseCode(i);
+            courseCodes.add(courseCode);
+
+            preparedStatement.setString(1, courseCode);
+            preparedStatement.setString(2, "Course " + courseCode);
+            preparedStatement.setInt(3, 10 + random.nextInt(31));
+            preparedStatement.setInt(4, 1 + random.nextInt(5));
+            addBatch(preparedStatement);
+        }
+
+        preparedStatement.executeBatch();
+        return courseCodes;
+    }
+
+    /**
+     * Inserts the students, each with six completed courses, and the applications of those who applied.
+     *
+     * @return the IDs of the students who were accepted as tutors
+     */
+    private List<String> insertStudents(Connection connection, List<String> courseCodes) throws SQLException {
+        List<String> acceptedIDs = new ArrayList<>();
+        QualificationLevel[] levels = QualificationLevel.values();
+
+        PreparedStatement studentStatement = connection.prepareStatement(
+                "INSERT INTO Students (studentID, firstName, lastName, email, password, qualificationLevel, applicationStatus) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        PreparedStatement completedStatement = connection.prepareStatement(
+                "INSERT INTO CompletedCourses (courseCode, studentID, grade, year) VALUES (?, ?, ?, ?)");
+        PreparedStatement applicationStatement = connection.prepareStatement(
+                "INSERT INTO Applications (studentID, motivation) VALUES (?, ?)");
+
+        for (int i = 0; i < studentCount; i++) {
+            String studentID = studentID(i);
+
+            // a tenth have applied, a fifth have been accepted (and tutor), and the rest are idle
+            int draw = random.nextInt(10);
+            ApplicationStatus status = draw == 0 ? ApplicationStatus.APPLIED
+                    : draw <= 2 ? ApplicationStatus.ACCEPTED
+                    : ApplicationStatus.IDLE;
+
+            studentStatement.setString(1, studentID);
+            studentStatement.setString(2, pick(FIRST_NAMES));
+            studentStatement.setString(3, pick(LAST_NAMES));
+            studentStatement.setString(4, studentID.toLowerCase() + "@myuct.ac.za");
+            studentStatement.setString(5, PASSWORD);
+            studentStatement.setString(6, levels[1 + random.nextInt(levels.length - 1)].name());
+            studentStatement.setString(7, status.name());
+            addBatch(studentStatement);
+
+            for (int c = 0; c < 6 && c < courseCodes.size(); c++) {
+                completedStatement.setString(1, courseCodes.get(random.nextInt(courseCodes.size())));
+                completedStatement.setString(2, studentID);
+                completedStatement.setDouble(3, 40 + random.nextInt(61));
+                completedStatement.setInt(4, currentYear - 1 - random.nextInt(Math.max(yearCount, 1)));
+                addBatch(completedStatement);
+            }
+
+            if (status == ApplicationStatus.APPLIED) {
+                applicationStatement.setString(1, studentID);
+                applicationStatement.setString(2, "I would like to tutor, as I enjoyed the courses I completed.");
+                addBatch(applicationStatement);
+            } else if (status == ApplicationStatus.ACCEPTED) {
+                acceptedIDs.add(studentID);
+            }
+        }
+
+        studentStatement.executeBatch();
+        completedStatement.executeBatch();
+        applicationStatement.executeBatch();
+
+        return acceptedIDs;
+    }
+
+    /**
+     * Inserts, for every course and every year, its convenor and lecturer, its tutors and TAs, and its schedule:
+     * the sessions, the tutors signed up for them, and a week by week record of the tutors' attendance.
+     */
+    private void insertCourseYears(Connection connection, List<String> courseCodes, List<String> employeeIDs,
+            List<String> acceptedIDs) throws SQLException {
+
+        PreparedStatement accessStatement = connection.prepareStatement(
+                "INSERT INTO AccessibleCourses (empID, courseCode, role, year) VALUES (?, ?, ?, ?)");
+        PreparedStatement tutorStatement = connection.prepareStatement(
+                "INSERT INTO Tutors (stuID, courseCode, year) VALUES (?, ?, ?)");
+        PreparedStatement taStatement = connection.prepareStatement(
+                "INSERT INTO TAs (studID, courseCode, year) VALUES (?, ?, ?)");
+        PreparedStatement scheduleStatement = connection.prepareStatement(
+                "INSERT INTO Schedules (scheduleID, courseID, year) VALUES (?, ?, ?)");
+        PreparedStatement sessionStatement = connection.prepareStatement(
+                "INSERT INTO TutoringSessions (tutSessionID, scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        PreparedStatement sessionTutorStatement = connection.prepareStatement(
+                "INSERT INTO TutoringSessionTutors (tutSessionID, studentID) VALUES (?, ?)");
+        PreparedStatement attendanceStatement = connection.prepareStatement(
+                "INSERT INTO Attendance (studentID, date, tutoringSessionID, courseCode) VALUES (?, ?, ?, ?)");
+
+        int scheduleID = 0;
+        int sessionID = 0;
+        for (int year = currentYear - yearCount + 1; year <= currentYear; year++) {
+            // attendance is recorded from the first Monday of February
+            LocalDate firstMonday = LocalDate.of(year, 2, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+            for (String courseCode : courseCodes) {
+                if (!employeeIDs.isEmpty()) {
+                    addAccess(accessStatement, pick(employeeIDs), courseCode, Role.CourseConvenor, year);
+                    addAccess(accessStatement, pick(employeeIDs), courseCode, Role.Lecturer, year);
+                }
+
+                List<String> tutors = pickDistinct(acceptedIDs, 6 + random.nextInt(7));
+                for (String tutor : tutors) {
+                    tutorStatement.setString(1, tutor);
+                    tutorStatement.setString(2, courseCode);
+                    tutorStatement.setInt(3, year);
+                    addBatch(tutorStatement);
+                }
+
+                for (String ta : pickDistinct(acceptedIDs, 2)) {
+                    taStatement.setString(1, ta);
+                    taStatement.setString(2, courseCode);
+                    taStatement.setInt(3, year);
+                    addBatch(taStatement);
+                }
+
+                scheduleID++;
+                scheduleStatement.setInt(1, scheduleID);
+                scheduleStatement.setString(2, courseCode);
+                scheduleStatement.setInt(3, year);
+                addBatch(scheduleStatement);
+
+                for (int s = 0; s < sessionsPerSchedule; s++) {
+                    sessionID++;
+
+                    int dayIndex = random.nextInt(DAYS.length);
+                    int start = 8 + random.nextInt(10);
+                    int capacity = 2 + random.nextInt(4);
+
+                    sessionStatement.setInt(1, sessionID);
+                    sessionStatement.setInt(2, scheduleID);
+                    sessionStatement.setString(3, DAYS[dayIndex]);
+                    sessionStatement.setDouble(4, start);
+                    sessionStatement.setDouble(5, Math.min(start + 1 + random.nextInt(2), 19));
+                    sessionStatement.setInt(6, capacity);
+                    sessionStatement.setString(7, "Lab " + (1 + random.nextInt(20)));
+                    sessionStatement.setString(8, null);
+                    addBatch(sessionStatement);
+
+                    for (String tutor : pickDistinct(tutors, random.nextInt(capacity + 1))) {
+                        sessionTutorStatement.setInt(1, sessionID);
+                        sessionTutorStatement.setString(2, tutor);
+                        addBatch(sessionTutorStatement);
+
+                        for (int week = 0; week < weeksPerYear; week++) {
+                            // most tutors turn up most weeks
+                            if (random.nextInt(100) < 85) {
+                                attendanceStatement.setString(1, tutor);
+                                attendanceStatement.setString(2, firstMonday.plusWeeks(week).plusDays(dayIndex).toString());
+                                attendanceStatement.setInt(3, sessionID);
+                                attendanceStatement.setString(4, courseCode);
+                                addBatch(attendanceStatement);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        accessStatement.executeBatch();
+        tutorStatement.executeBatch();
+        taStatement.executeBatch();
+        scheduleStatement.executeBatch();
+        sessionStatement.executeBatch();
+        sessionTutorStatement.executeBatch();
+        attendanceStatement.executeBatch();
+    }
+
+    private void addAccess(PreparedStatement accessStatement, String employeeID, String courseCode, Role role, int year)
+            throws SQLException {
+        accessStatement.setString(1, employeeID);
+        accessStatement.setString(2, courseCode);
+        accessStatement.setString(3, role.name());
+        accessStatement.setInt(4, year);
+        addBatch(accessStatement);
+    }
+
+    // adds a row to the statement's batch, sending the batch every BATCH_SIZE rows so it is never held in memory whole
+    private void addBatch(PreparedStatement preparedStatement) throws SQLException {
+        preparedStatement.addBatch();
+
+        if (batchedRows.merge(preparedStatement, 1, Integer::sum) % BATCH_SIZE == 0) {
+            preparedStatement.executeBatch();
+        }
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private List<String> pickDistinct(List<String> values, int count) {
+        if (count >= values.size()) {
+            return new ArrayList<>(values);
+        }
+
+        List<String> picked = new ArrayList<>();
+        while (picked.size() < count) {
+            String value = pick(values);
+            if (!picked.contains(value)) {
+                picked.add(value);
+            }
+        }
+
+        Collections.sort(picked);
+        return picked;
+    }
+}
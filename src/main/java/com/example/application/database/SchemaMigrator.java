@@ -0,0 +1,283 @@
+package com.example.application.database;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+
+/**
+ * This class applies the versioned schema migrations, and checks the plans of the queries the DatabaseController
+ * runs most often.
+ *
+ * Class functionality:
+ * 1) Apply, in version order, the migrations that have not been applied to the database yet - the ones written
+ *    in Java (see Migration) and the scripts in db/migration (V<version>__<description>.sql) - recording each one
+ *    in the SchemaHistory table once every statement of it has succeeded
+ * 2) EXPLAIN a set of queries, and report any that reads a table in full
+ *
+ * The SchemaHistory table is the record of which changes a database has; a migration is applied once. MySQL
+ * commits every DDL statement on its own, though, so a migration that fails part of the way through is left
+ * partly applied, and is applied again (from the start) on the next startup. Every migration must therefore be
+ * safe to apply again: a script's CREATE INDEX statements skip the indexes that already exist, and a Java
+ * migration checks before it changes anything (IF NOT EXISTS, columnExists, ...).
+ *
+ * An applied migration must never be changed: a change to the schema is a new migration. A migration whose
+ * description no longer matches the one it was recorded with is refused.
+ */
+public class SchemaMigrator {
+
+    private static final String MIGRATIONS = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    // CREATE [UNIQUE] INDEX name ON table ...
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)\\b.*",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // H2 names the table a plan reads in full as /* schema.table.tableScan */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\*\\s*([\\w.]+)\\.tableScan\\b");
+
+    /**
+     * A change to the schema that is made in Java, rather than by a script.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * A migration: what it does, and the step that does it.
+     */
+    public static class Migration {
+        private final String description;
+        private final Step step;
+
+        /**
+         * @param description what the migration does, as it is recorded in SchemaHistory
+         * @param step
+         */
+        public Migration(String description, Step step) {
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    /**
+     * Applies the migrations that have not been applied yet, in version order: the given Java migrations, and
+     * the scripts in db/migration. Stops at the first that fails.
+     *
+     * @param connection
+     * @param javaMigrations version -> migration
+     * @return the number of migrations applied
+     * @throws SQLException if a migration failed (it is then not recorded, and is applied again on the next
+     *                      startup), or an applied migration has changed
+     */
+    public static int migrate(Connection connection, Map<Integer, Migration> javaMigrations) throws SQLException {
+        String query = "CREATE TABLE IF NOT EXISTS SchemaHistory ("
+                + "version INT NOT NULL PRIMARY KEY, "
+                + "description VARCHAR(255) NOT NULL, "
+                + "appliedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+        connection.prepareStatement(query).executeUpdate();
+
+        // version -> the description it was applied with
+        Map<Integer, String> applied = new HashMap<>();
+        ResultSet resultSet = connection.prepareStatement("SELECT version, description FROM SchemaHistory").executeQuery();
+        while (resultSet.next()) {
+            applied.put(resultSet.getInt("version"), resultSet.getString("description"));
+        }
+
+        Map<Integer, Migration> migrations = findMigrations(javaMigrations);
+
+        for (Map.Entry<Integer, String> version : applied.entrySet()) {
+            Migration migration = migrations.get(version.getKey());
+
+            if (migration != null && !migration.description.equals(version.getValue())) {
+                throw new SQLException("Migration V" + version.getKey() + " was applied as \"" + version.getValue()
+                        + "\", but is now \"" + migration.description + "\"");
+            }
+        }
+
+        int count = 0;
+
+        for (Map.Entry<Integer, Migration> migration : migrations.entrySet()) {
+            if (applied.containsKey(migration.getKey())) {
+                continue;
+            }
+
+            String description = migration.getValue().description;
+
+            try {
+                migration.getValue().step.apply(connection);
+            } catch (SQLException e) {
+                throw new SQLException("Migration V" + migration.getKey() + " (" + description + ") failed", e);
+            }
+
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "INSERT INTO SchemaHistory (version, description) VALUES (?, ?)");
+            preparedStatement.setInt(1, migration.getKey());
+            preparedStatement.setString(2, description);
+            preparedStatement.executeUpdate();
+
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * @param connection
+     * @param table
+     * @param indexName
+     * @return true if the table has the index
+     * @throws SQLException
+     */
+    public static boolean indexExists(Connection connection, String table, String indexName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        // the metadata is looked up by the table name as the database stores it
+        String storedTable = metaData.storesLowerCaseIdentifiers() ? table.toLowerCase()
+                : metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+
+        ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, storedTable, false, false);
+
+        while (resultSet.next()) {
+            if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs EXPLAIN on each query (with every parameter set to '0') and returns the tables read in full.
+     * Understands the plans of both MySQL (type ALL) and H2 (tableScan).
+     *
+     * @param connection
+     * @param queries name -> SQL
+     * @return a warning ("name: table") for each table a query reads in full (empty if there are none)
+     * @throws SQLException
+     */
+    public static List<String> findFullTableScans(Connection connection, Map<String, String> queries) throws SQLException {
+        List<String> scans = new ArrayList<>();
+
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN " + query.getValue());
+
+            int parameterCount = preparedStatement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                preparedStatement.setString(i, "0");
+            }
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            boolean mysql = hasColumn(resultSet.getMetaData(), "type");
+
+            while (resultSet.next()) {
+                if (mysql) {
+                    if ("ALL".equalsIgnoreCase(resultSet.getString("type"))) {
+                        scans.add(query.getKey() + ": " + resultSet.getString("table"));
+                    }
+                } else {
+                    Matcher matcher = H2_TABLE_SCAN.matcher(resultSet.getString(1));
+                    while (matcher.find()) {
+                        scans.add(query.getKey() + ": " + matcher.group(1));
+                    }
+                }
+            }
+        }
+
+        return scans;
+    }
+
+    // version -> migration (the Java ones, and the scripts), in version order
+    private static Map<Integer, Migration> findMigrations(Map<Integer, Migration> javaMigrations) throws SQLException {
+        Map<Integer, Migration> migrations = new TreeMap<>(javaMigrations);
+
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(MIGRATIONS)) {
+                Matcher matcher = MIGRATION_NAME.matcher(resource.getFilename());
+
+                if (!matcher.matches()) {
+                    continue;
+                }
+
+                Migration script = new Migration(matcher.group(2).replace('_', ' '), connection -> executeScript(connection, resource));
+
+                Migration duplicate = migrations.put(Integer.parseInt(matcher.group(1)), script);
+                if (duplicate != null) {
+                    throw new SQLException("Two migrations have version " + matcher.group(1) + ": \""
+                            + duplicate.description + "\" and \"" + script.description + "\"");
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("The migrations could not be read", e);
+        }
+
+        return migrations;
+    }
+
+    // runs a script's statements one by one, skipping the CREATE INDEX statements whose index already exists
+    private static void executeScript(Connection connection, Resource script) throws SQLException {
+        String sql;
+
+        try {
+            sql = StreamUtils.copyToString(script.getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException(script.getFilename() + " could not be read", e);
+        }
+
+        for (String statement : splitScript(sql)) {
+            Matcher createIndex = CREATE_INDEX.matcher(statement);
+
+            if (createIndex.matches() && indexExists(connection, createIndex.group(2), createIndex.group(1))) {
+                continue;
+            }
+
+            connection.prepareStatement(statement).executeUpdate();
+        }
+    }
+
+    // a migration's statements: each ends in ';', and a comment takes up a line of its own ("-- ...")
+    private static List<String> splitScript(String sql) {
+        StringBuilder withoutComments = new StringBuilder();
+
+        for (String line : sql.split("\\R")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+
+        for (String statement : withoutComments.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+
+        return statements;
+    }
+
+    private static boolean hasColumn(ResultSetMetaData metaData, String column) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (metaData.getColumnLabel(i).equalsIgnoreCase(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
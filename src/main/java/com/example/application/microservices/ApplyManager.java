@@ -1,5 +1,6 @@
 package com.example.application.microservices;
 
+import java.util.Map;
 import java.util.Set;
 
 import com.example.application.PublicEnums.QualificationLevel;
@@ -73,8 +74,8 @@ public class ApplyManager {
     // #region // !! ACCEPTING APPLICAIONS
 
     /**
-     * The function accepts a set of selected students for a specific course and year, and returns a
-     * response indicating whether the operation of accepting them was successful or not.
+     * The function accepts a set of selected students for a specific course and year, all in one go:
+     * either every student who can be accepted is, or (if something goes wrong) none of them are.
      * 
      * @param courseCode The course code is a unique identifier for a specific course. It is used to
      * identify the course for which students are being accepted.
@@ -85,19 +86,29 @@ public class ApplyManager {
      * @param applicantRole The parameter "applicantRole" is the role of the student who is applying
      * for the course. It is used to determine if the student is eligible to be accepted into the
      * course.
-     * @return The method is returning a Response object. If the students are successfully accepted, it
-     * returns Response.SUCCESS. Otherwise, it returns Response.UNSUCCESSFUL.
+     * @return The method is returning each selected student's ID -> Response: SUCCESS if they were
+     * accepted, CAPACITY_REACHED if the course's tutor/TA capacity was reached before them, or
+     * USER_ALREADY_EXISTS if they were already a tutor/TA of the course. Null if the acceptance failed.
      */
-    public static Response acceptStudents(String courseCode, String year, Set<Student> selectedStudents,
+    public static Map<String, Response> acceptStudents(String courseCode, String year, Set<Student> selectedStudents,
             Role applicantRole) {
 
-        // ****************************************************************************************
-        if (DatabaseController.acceptStudents(courseCode, year, selectedStudents, applicantRole)) {
-            // ****************************************************************************************
-            return Response.SUCCESS;
+        // *****************************************************************************************************************
+        Map<String, Response> outcomes = DatabaseController.acceptStudents(courseCode, year, selectedStudents, applicantRole);
+        // *****************************************************************************************************************
+
+        if (outcomes != null) {
+            // the accepted students can now open the course
+            outcomes.forEach((studentID, outcome) -> {
+                if (outcome == Response.SUCCESS) {
+                    MembershipManager.invalidate(studentID);
+                }
+            });
+
+            CourseDashboardManager.invalidate(courseCode, Integer.parseInt(year));
         }
 
-        return Response.UNSUCCESSFUL;
+        return outcomes;
     }
 
     // #endregion
@@ -0,0 +1,125 @@
+package com.example.application.microservices;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.application.models.SessionSlot;
+
+/**
+ * One tutor's tutoring sessions, indexed by when in the week (of which year) they start.
+ *
+ * The sessions read from the DB may overlap each other (they can have been signed up for before clashes
+ * were checked), so every session is kept, however many start together. A session can only clash with one
+ * starting before it ends and at most the longest session's length before it starts - so a clash is found
+ * with one O(log n) lookup, and a look at the few sessions starting in that window.
+ */
+public class CommitmentIndex {
+
+    private static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    // start minute -> the sessions starting then
+    private final TreeMap<Long, List<SessionSlot>> byStart = new TreeMap<>();
+    // sessionID -> its start minute
+    private final Map<Integer, Long> startBySession = new HashMap<>();
+    // the length (in minutes) of the longest session added (not shortened as sessions are removed)
+    private long longest = 0;
+
+    /**
+     * @param slot
+     * @return the session that clashes with the slot (other than the slot's own session), or null if there is none
+     */
+    public SessionSlot findClash(SessionSlot slot) {
+        long start;
+        long end;
+
+        try {
+            start = toMinuteOfWeek(slot, slot.getStartTime());
+            end = toMinuteOfWeek(slot, slot.getEndTime());
+        } catch (IllegalArgumentException e) {
+            // not a day of the week - it cannot clash with anything
+            return null;
+        }
+
+        // the sessions that start before the slot ends, and late enough that they may not have ended by its start
+        for (List<SessionSlot> starting : byStart.subMap(start - longest, false, end, false).values()) {
+            for (SessionSlot other : starting) {
+                if (other.getSessionID() != slot.getSessionID() && toMinuteOfWeek(other, other.getEndTime()) > start) {
+                    return other;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds a session (replacing the session's slot if it was added before)
+     *
+     * @param slot
+     */
+    public void add(SessionSlot slot) {
+        long start;
+        long end;
+
+        try {
+            start = toMinuteOfWeek(slot, slot.getStartTime());
+            end = toMinuteOfWeek(slot, slot.getEndTime());
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+
+        remove(slot.getSessionID());
+
+        byStart.computeIfAbsent(start, k -> new ArrayList<>()).add(slot);
+        startBySession.put(slot.getSessionID(), start);
+        longest = Math.max(longest, end - start);
+    }
+
+    /**
+     * @param tutoringSessionID
+     */
+    public void remove(int tutoringSessionID) {
+        Long start = startBySession.remove(tutoringSessionID);
+
+        if (start == null) {
+            return;
+        }
+
+        List<SessionSlot> starting = byStart.get(start);
+        starting.removeIf(slot -> slot.getSessionID() == tutoringSessionID);
+
+        if (starting.isEmpty()) {
+            byStart.remove(start);
+        }
+    }
+
+    /**
+     * @param tutoringSessionID
+     * @return whether the session has been added
+     */
+    public boolean contains(int tutoringSessionID) {
+        return startBySession.containsKey(tutoringSessionID);
+    }
+
+    /**
+     * @return the number of sessions added
+     */
+    public int size() {
+        return startBySession.size();
+    }
+
+    /**
+     * @param slot
+     * @param time the slot's start or end time
+     * @return the minute the time falls on, counted from the start of the slot's year's week,
+     *         with every year's week following the previous one's
+     */
+    private static long toMinuteOfWeek(SessionSlot slot, double time) {
+        int day = DayOfWeek.valueOf(slot.getDay().trim().toUpperCase()).ordinal();
+        return (long) slot.getYear() * MINUTES_PER_WEEK + day * 24 * 60 + Math.round(time * 60);
+    }
+}
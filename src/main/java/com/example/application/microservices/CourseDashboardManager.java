@@ -0,0 +1,346 @@
+package com.example.application.microservices;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import com.example.application.models.Course;
+import com.example.application.models.Schedule;
+import com.example.application.models.TutoringSession;
+
+/**
+ * This class reads the parts of a course the course view is drawn from: the course, its schedule, how many
+ * Tutors and TAs it has, and its attendance statistics.
+ *
+ * Class functionality:
+ * 1) Read each part on its own, in the background (getCourseAsync, getScheduleAsync, countTutorsAsync, ...),
+ *    so a view reads only what the tab it shows needs - and its request thread is let go while it does
+ * 2) Cache each part per (courseCode, year) for DASHBOARD_TTL, so the users opening the same course
+ *    share one read - as do the users opening it while it is being read
+ * 3) Throw a course's parts away whenever it is written to through the managers (e.g. a tutor signs
+ *    up for a session, or the schedule is edited), so the next read goes to the database. A part
+ *    being read while its course is written to is not cached; the other courses' are
+ *
+ * The parts a view may change (the course and the schedule) are handed out as copies. Cancelling the
+ * future of a part cancels its read, if it has not started yet, once nobody else is waiting for it.
+ *
+ * The parts are read by a small pool of loaders (LOADER_COUNT), kept well below the size of the connection
+ * pool so the dashboards never take every connection. Should the loaders fall behind, the reads run on the
+ * calling thread instead, one after the other.
+ */
+public class CourseDashboardManager {
+
+    public static final Duration DASHBOARD_TTL = Duration.ofSeconds(30);
+    public static final int DASHBOARD_MAX_SIZE = 500;
+    public static final int LOADER_COUNT = 6;
+
+    private static final ThreadPoolExecutor loaders = new ThreadPoolExecutor(LOADER_COUNT, LOADER_COUNT,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(LOADER_COUNT * 10),
+            runnable -> daemon(runnable, "course-dashboard-loader"), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * The parts of a dashboard, each read and cached on its own.
+     */
+    private enum Part {
+        COURSE, SCHEDULE, TUTOR_COUNT, TA_COUNT, COURSE_STATS
+    }
+
+    // "courseCode/year/PART" -> part
+    private static final Cache<String, Object> parts = Caffeine.newBuilder()
+            .maximumSize(DASHBOARD_MAX_SIZE * Part.values().length)
+            .expireAfterWrite(DASHBOARD_TTL)
+            .recordStats()
+            .build();
+
+    // "courseCode/year/PART" -> the read of the part under way, shared by everyone waiting for it
+    private static final ConcurrentHashMap<String, Load> loads = new ConcurrentHashMap<>();
+
+    // #region // !! READING A DASHBOARD
+
+    /**
+     * This method returns a course, as it is in a given year, without waiting for it to be read
+     *
+     * @param courseCode
+     * @param year
+     * @return a copy of the Course (null if there is no such course), once it is read
+     */
+    public static CompletableFuture<Course> getCourseAsync(String courseCode, int year) {
+        return getPartAsync(courseCode, year, Part.COURSE, () -> {
+            // ***************************************************
+            Course course = CourseManager.getCourseFor(courseCode);
+            // ***************************************************
+
+            if (course != null) {
+                course.setYear(year);
+            }
+            return course;
+        }, course -> true, CourseDashboardManager::copyOf);
+    }
+
+    /**
+     * This method returns the schedule of a course in a given year without waiting for it to be read
+     *
+     * @param courseCode
+     * @param year
+     * @return a copy of the Schedule - that may be edited without affecting anyone else's - once it is read
+     */
+    public static CompletableFuture<Schedule> getScheduleAsync(String courseCode, int year) {
+        // the schedule has no course if it could not be read
+        return getPartAsync(courseCode, year, Part.SCHEDULE, () -> {
+            // *****************************************************
+            return ScheduleManager.getSchedule(courseCode, year);
+            // *****************************************************
+        }, schedule -> schedule.getCourse() != null, CourseDashboardManager::copyOf);
+    }
+
+    /**
+     * This method counts the Tutors of a course in a given year without waiting for them to be counted
+     *
+     * @param courseCode
+     * @param year
+     * @return the number of Tutors, once they are counted
+     */
+    public static CompletableFuture<Integer> countTutorsAsync(String courseCode, int year) {
+        return getPartAsync(courseCode, year, Part.TUTOR_COUNT, () -> {
+            // ***************************************************************************
+            return StudentManager.countActiveTutors(courseCode, Integer.toString(year));
+            // ***************************************************************************
+        }, count -> true, count -> count);
+    }
+
+    /**
+     * This method counts the TAs of a course in a given year without waiting for them to be counted
+     *
+     * @param courseCode
+     * @param year
+     * @return the number of TAs, once they are counted
+     */
+    public static CompletableFuture<Integer> countTAsAsync(String courseCode, int year) {
+        return getPartAsync(courseCode, year, Part.TA_COUNT, () -> {
+            // ************************************************************************
+            return StudentManager.countActiveTAs(courseCode, Integer.toString(year));
+            // ************************************************************************
+        }, count -> true, count -> count);
+    }
+
+    /**
+     * This method returns the attendance statistics of a course without waiting for them to be read
+     *
+     * @param courseCode
+     * @param year
+     * @return the course's attendance count (-1 if it could not be read), once it is read
+     */
+    public static CompletableFuture<Integer> getCourseStatsAsync(String courseCode, int year) {
+        return getPartAsync(courseCode, year, Part.COURSE_STATS, () -> {
+            // ****************************************************
+            return CourseManager.getCourseStatsFor(courseCode);
+            // ****************************************************
+        }, stats -> stats >= 0, stats -> stats);
+    }
+
+    /**
+     * Returns the hit/miss statistics of the dashboard cache.
+     *
+     * @return CacheStats
+     */
+    public static CacheStats getCacheStats() {
+        return parts.stats();
+    }
+
+    /**
+     * Returns a part of a dashboard: from the cache, from the read of it under way, or from a read of it
+     * started here.
+     *
+     * @param read      Reads the part from the database.
+     * @param cacheable Whether a part as read may be cached (it is not if it could not be read in full).
+     * @param copy      Copies the part, for the caller to change as they like.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> getPartAsync(String courseCode, int year, Part part, Supplier<T> read,
+            Predicate<T> cacheable, UnaryOperator<T> copy) {
+        String key = key(courseCode, year) + "/" + part;
+        T cached = (T) parts.getIfPresent(key);
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture(copy.apply(cached));
+        }
+
+        // join the read under way, or start one
+        Load[] started = { null };
+
+        Load load = loads.compute(key, (k, running) -> {
+            if (running == null || !running.join()) {
+                running = new Load();
+                running.join();
+                started[0] = running;
+            }
+
+            return running;
+        });
+
+        if (started[0] != null) {
+            start(key, load, read, cacheable);
+        }
+
+        CompletableFuture<T> result = load.loaded.thenApply(value -> value == null ? null : copy.apply((T) value));
+
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled() && load.leave()) {
+                loads.remove(key, load);
+                load.reading.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    private static <T> void start(String key, Load load, Supplier<T> read, Predicate<T> cacheable) {
+        CompletableFuture<T> reading = CompletableFuture.supplyAsync(read, loaders);
+        load.reading = reading;
+
+        reading.whenComplete((value, e) -> {
+            if (value != null && cacheable.test(value)) {
+                load.keep(key, value);
+            }
+
+            loads.remove(key, load);
+
+            if (e != null) {
+                load.loaded.completeExceptionally(e);
+            } else {
+                load.loaded.complete(value);
+            }
+        });
+    }
+
+    // #endregion
+
+    // #region // !! INVALIDATING DASHBOARDS
+
+    /**
+     * This method throws away the dashboard of a course in a given year, e.g. once its schedule is edited
+     *
+     * @param courseCode
+     * @param year
+     */
+    public static void invalidate(String courseCode, int year) {
+        invalidateParts(key(courseCode, year) + "/");
+    }
+
+    /**
+     * This method throws away the dashboards of a course in every year, e.g. once the course is changed
+     *
+     * @param courseCode
+     */
+    public static void invalidate(String courseCode) {
+        invalidateParts(courseCode + "/");
+    }
+
+    /**
+     * This method throws away every dashboard, e.g. once a user listed on them is changed or deleted
+     */
+    public static void invalidateAll() {
+        invalidateParts("");
+    }
+
+    // the parts being read may have been read before the write: they are not kept, and are read again for
+    // whoever asks for them next
+    private static void invalidateParts(String prefix) {
+        loads.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+
+            entry.getValue().invalidate();
+            return true;
+        });
+
+        parts.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    // #endregion
+
+    private static Course copyOf(Course course) {
+        Course copy = new Course(course.getCourseCode(), course.getName(), course.getTutorCapacity(),
+                course.getTaCapacity());
+        copy.setYear(course.getYear());
+        return copy;
+    }
+
+    // sessions, and the tutors signed up for them, included
+    private static Schedule copyOf(Schedule schedule) {
+        Schedule copy = new Schedule(schedule.getCourse());
+        copy.setScheduleID(schedule.getScheduleID());
+        copy.setVersion(schedule.getVersion());
+
+        for (TutoringSession session : schedule.getTutoringSessions()) {
+            TutoringSession sessionCopy = new TutoringSession(session.getStartTimeAsDouble(),
+                    session.getEndTimeAsDouble(), session.getDay(), session.getLocation(), session.getWhatsappLink(),
+                    session.getTutoringCapacity());
+            sessionCopy.setSessionID(session.getSessionID());
+            sessionCopy.setSignedUpTutors(session.getSignedUpTutors() == null ? new ArrayList<>()
+                    : new ArrayList<>(session.getSignedUpTutors()));
+
+            copy.addTutoringSession(sessionCopy);
+        }
+
+        return copy;
+    }
+
+    private static String key(String courseCode, int year) {
+        return courseCode + "/" + year;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A read of a part of a dashboard, shared by the users waiting for it.
+     */
+    private static class Load {
+        private final CompletableFuture<Object> loaded = new CompletableFuture<>();
+        private volatile CompletableFuture<?> reading;
+        private int waiting;
+        private boolean invalidated;
+
+        // false if everyone waiting for the read has given up on it (it is then cancelled)
+        private synchronized boolean join() {
+            if (waiting == 0 && reading != null) {
+                return false;
+            }
+
+            waiting++;
+            return true;
+        }
+
+        // true if nobody is waiting for the read any more
+        private synchronized boolean leave() {
+            return --waiting == 0;
+        }
+
+        private synchronized void invalidate() {
+            invalidated = true;
+        }
+
+        // checked and cached as one, so an invalidation either comes first or throws the part away
+        private synchronized void keep(String key, Object part) {
+            if (!invalidated) {
+                parts.put(key, part);
+            }
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.application.microservices;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import com.example.application.PublicEnums.Response;
 import com.example.application.database.DatabaseController;
 import com.example.application.models.Course;
+import com.example.application.models.CourseMemberships;
 import com.example.application.models.Lecturer;
 import com.example.application.models.Student;
 
@@ -16,9 +23,78 @@ import com.example.application.models.Student;
  * 2) Add course
  * 3) Edit a course
  * 4) Delete a course
+ * 
+ * The catalog (the Courses table) is cached, as it changes a few times a semester but is read on almost
+ * every page. Creating, updating or deleting a course through this class invalidates the cache; it
+ * otherwise expires after CATALOG_TTL.
  */
 public class CourseManager {
 
+    // #region // !! CATALOG CACHE
+
+    public static final int CATALOG_MAX_SIZE = 1000;
+    public static final Duration CATALOG_TTL = Duration.ofMinutes(10);
+
+    // the key the whole catalog is cached under
+    private static final String ALL_COURSES = "*";
+
+    private static final Cache<String, Course> courseCache = Caffeine.newBuilder()
+            .maximumSize(CATALOG_MAX_SIZE)
+            .expireAfterWrite(CATALOG_TTL)
+            .recordStats()
+            .build();
+
+    private static final Cache<String, List<Course>> catalogCache = Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(CATALOG_TTL)
+            .recordStats()
+            .build();
+
+    /**
+     * Empties the catalog cache, so the next read goes to the database. Called whenever a course is
+     * created, updated or deleted, and should the Courses table be changed by any other means.
+     */
+    public static void invalidateCatalog() {
+        catalogCache.invalidateAll();
+        courseCache.invalidateAll();
+    }
+
+    /**
+     * Returns the hit/miss statistics of the catalog cache (single course and whole catalog reads combined).
+     * 
+     * @return CacheStats
+     */
+    public static CacheStats getCatalogCacheStats() {
+        return courseCache.stats().plus(catalogCache.stats());
+    }
+
+    /**
+     * @return the whole catalog, from the cache if it is there
+     */
+    private static List<Course> getCatalog() {
+        return catalogCache.get(ALL_COURSES, key -> {
+            // ***********************************************************
+            List<Course> courses = DatabaseController.getAllCourses();
+            // ***********************************************************
+
+            for (Course course : courses) {
+                courseCache.put(course.getCourseCode(), course);
+            }
+
+            return courses;
+        });
+    }
+
+    /**
+     * The cached courses are shared, so callers are handed copies they are free to change
+     */
+    private static Course copy(Course course) {
+        return course == null ? null
+                : new Course(course.getCourseCode(), course.getName(), course.getTutorCapacity(), course.getTaCapacity());
+    }
+
+    // #endregion
+
     // #region // !! GETTING A LIST OF COURSES
 
     /**
@@ -28,9 +104,13 @@ public class CourseManager {
      * @return List of Strings.
      */
     public static List<String> getCourseCodes() {
-        // ****************************************
-        return DatabaseController.getCourseCodes();
-        // ****************************************
+        List<String> courseCodes = new ArrayList<>();
+
+        for (Course course : getCatalog()) {
+            courseCodes.add(course.getCourseCode());
+        }
+
+        return courseCodes;
     }
 
     // #endregion
@@ -43,9 +123,35 @@ public class CourseManager {
      * @return
      */
     public static List<Course> getCourses() {
-        // ****************************************
-        return DatabaseController.getAllCourses();
-        // ****************************************
+        List<Course> courses = new ArrayList<>();
+
+        for (Course course : getCatalog()) {
+            courses.add(copy(course));
+        }
+
+        return courses;
+    }
+
+    /**
+     * Returns the courses a user works on (as listed in their memberships), each with the year they
+     * work on it - from the catalog cache and the memberships alone.
+     * 
+     * @param memberships CourseMemberships of the user.
+     * @return List of Course objects.
+     */
+    public static List<Course> getCoursesFor(CourseMemberships memberships) {
+        List<Course> courses = new ArrayList<>();
+
+        for (CourseMemberships.Membership membership : memberships.getMemberships()) {
+            Course course = getCourseFor(membership.getCourseCode());
+
+            if (course != null) {
+                course.setYear(membership.getYear());
+                courses.add(course);
+            }
+        }
+
+        return courses;
     }
 
     /**
@@ -82,9 +188,10 @@ public class CourseManager {
      */
     public static Course getCourseFor(String courseCode) {
 
-        // **************************************************
-        return DatabaseController.getCourseFor(courseCode);
-        // **************************************************
+        // unknown course codes are not cached (the loader returns null)
+        // *************************************************************************************
+        return copy(courseCache.get(courseCode, code -> DatabaseController.getCourseFor(code)));
+        // *************************************************************************************
     }
 
     // #endregion
@@ -104,6 +211,7 @@ public class CourseManager {
         // *****************************************************************
 
         if (successfulCreate) {
+            invalidateCatalog();
             return Response.SUCCESS;
         }
 
@@ -128,6 +236,8 @@ public class CourseManager {
         // ************************************************************************************
 
         if (successfulUpdate) {
+            invalidateCatalog();
+            CourseDashboardManager.invalidate(selectedCourse.getCourseCode());
             return Response.SUCCESS;
         }
 
@@ -151,6 +261,9 @@ public class CourseManager {
         // *****************************************************************
 
         if (successfulDelete) {
+            invalidateCatalog();
+            MembershipManager.invalidateAll();
+            CourseDashboardManager.invalidate(course.getCourseCode());
             return Response.SUCCESS;
         }
 
@@ -177,5 +290,20 @@ public class CourseManager {
 
     }
 
+    /**
+     * The statistics are read from attendance counters kept up to date as tutors check in. This method
+     * recounts them from the attendance records, should the two ever disagree.
+     * 
+     * @return Response.SUCCESS if the counters were rebuilt
+     */
+    public static Response rebuildStats() {
+
+        // *********************************************************
+        boolean rebuilt = DatabaseController.rebuildAttendanceCounts();
+        // *********************************************************
+
+        return rebuilt ? Response.SUCCESS : Response.UNSUCCESSFUL;
+    }
+
     // #endregion
 }
\ No newline at end of file
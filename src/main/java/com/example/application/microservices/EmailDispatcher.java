@@ -0,0 +1,255 @@
+package com.example.application.microservices;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.*;
+import javax.mail.internet.*;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.example.application.PublicEnums.EmailStatus;
+import com.example.application.database.DatabaseController;
+import com.example.application.models.OutboxEmail;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * This class delivers the emails queued in the EmailOutbox table, in the background.
+ *
+ * Class functionality:
+ * 1) Poll the outbox for due emails, claiming only as many as the worker pool has room for
+ * 2) Deliver them from a bounded pool of workers, each of which keeps its SMTP connection open between emails
+ * 3) Retry failed deliveries with exponential backoff, giving up (FAILED) after the maximum number of attempts
+ *
+ * The SMTP settings are the mytutor.mail.* properties in application.properties.
+ */
+@Component
+@DependsOn("databaseInitialiser")
+public class EmailDispatcher {
+
+    private final Session session;
+    private final String from;
+    private final String username;
+    private final String password;
+    private final boolean auth;
+
+    private final int maxAttempts;
+    private final long retryBackoff;
+    private final long pollInterval;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService poller;
+
+    // each worker thread's (open) SMTP connection
+    private final ThreadLocal<Transport> transport = new ThreadLocal<>();
+    private final Set<Transport> openTransports = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param host         The SMTP server host.
+     * @param port         The SMTP server port.
+     * @param username     The SMTP account (also the address emails are sent from).
+     * @param password     The SMTP account's (application-specific) password.
+     * @param auth         Whether the SMTP server requires authentication.
+     * @param starttls     Whether to upgrade the connection with STARTTLS.
+     * @param workerCount  The number of emails delivered concurrently.
+     * @param pollInterval How often (in milliseconds) the outbox is checked for due emails.
+     * @param maxAttempts  How many times delivery is attempted before the email is given up on.
+     * @param retryBackoff How long (in milliseconds) to wait before the first retry; doubled for every retry after.
+     */
+    @Autowired
+    public EmailDispatcher(
+            @Value("${mytutor.mail.host}") String host,
+            @Value("${mytutor.mail.port}") int port,
+            @Value("${mytutor.mail.username}") String username,
+            @Value("${mytutor.mail.password}") String password,
+            @Value("${mytutor.mail.auth:true}") boolean auth,
+            @Value("${mytutor.mail.starttls:true}") boolean starttls,
+            @Value("${mytutor.mail.workers:2}") int workerCount,
+            @Value("${mytutor.mail.poll-interval:5000}") long pollInterval,
+            @Value("${mytutor.mail.max-attempts:5}") int maxAttempts,
+            @Value("${mytutor.mail.retry-backoff:30000}") long retryBackoff) {
+
+        Properties properties = new Properties();
+        properties.put("mail.smtp.host", host);
+        properties.put("mail.smtp.port", Integer.toString(port));
+        properties.put("mail.smtp.auth", Boolean.toString(auth));
+        properties.put("mail.smtp.starttls.enable", Boolean.toString(starttls));
+        properties.put("mail.smtp.connectiontimeout", "10000");
+        properties.put("mail.smtp.timeout", "10000");
+
+        this.session = Session.getInstance(properties);
+        this.from = username;
+        this.username = username;
+        this.password = password;
+        this.auth = auth;
+
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.pollInterval = pollInterval;
+
+        // the queue is bounded: the poller only ever claims as many emails as there is room for
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * 10), runnable -> daemon(runnable, "email-worker"));
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "email-poller"));
+    }
+
+    /**
+     * Starts polling the outbox. Emails left mid-delivery by a previous run are queued again first.
+     */
+    @PostConstruct
+    public void start() {
+        //*****************************************
+        DatabaseController.releaseClaimedEmails();
+        //*****************************************
+
+        poller.scheduleWithFixedDelay(this::dispatchDueEmails, 0, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling, lets the workers finish the emails they have, and closes their SMTP connections.
+     */
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+        workers.shutdown();
+
+        try {
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Transport t : openTransports) {
+            close(t);
+        }
+    }
+
+    /**
+     * Claims the due emails (as many as the workers have room for) and hands them to the workers.
+     *
+     * @return the number of emails handed to the workers
+     */
+    public int dispatchDueEmails() {
+        int capacity = workers.getQueue().remainingCapacity();
+
+        if (capacity == 0) {
+            return 0;
+        }
+
+        try {
+            //*********************************************************************
+            List<OutboxEmail> emails = DatabaseController.claimDueEmails(capacity);
+            //*********************************************************************
+
+            for (OutboxEmail email : emails) {
+                workers.execute(() -> deliver(email));
+            }
+
+            return emails.size();
+
+        } catch (RuntimeException e) {
+            // never let an exception cancel the scheduled polling
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Sends a single email over this worker's SMTP connection, and records the outcome.
+     *
+     * @param email
+     */
+    private void deliver(OutboxEmail email) {
+        int attempts = email.getAttempts() + 1;
+
+        try {
+            MimeMessage message = new MimeMessage(session);
+            message.setFrom(new InternetAddress(from));
+            message.addRecipient(Message.RecipientType.TO, new InternetAddress(email.getRecipient()));
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            message.saveChanges();
+
+            getTransport().sendMessage(message, message.getAllRecipients());
+
+            //*******************************************************************************************
+            DatabaseController.updateEmailStatus(email.getEmailID(), EmailStatus.SENT, attempts, 0, null);
+            //*******************************************************************************************
+
+        } catch (MessagingException e) {
+            // the connection may be what failed - the next email starts with a fresh one
+            discardTransport();
+
+            boolean giveUp = attempts >= maxAttempts;
+            long nextAttempt = System.currentTimeMillis() + (retryBackoff << Math.min(attempts - 1, 20));
+
+            //*****************************************************************************************************
+            DatabaseController.updateEmailStatus(email.getEmailID(), giveUp ? EmailStatus.FAILED : EmailStatus.PENDING,
+                    attempts, nextAttempt, e.getMessage());
+            //*****************************************************************************************************
+        }
+    }
+
+    /**
+     * @return this worker's SMTP connection, (re)connecting it if need be
+     * @throws MessagingException
+     */
+    private Transport getTransport() throws MessagingException {
+        Transport t = transport.get();
+
+        if (t != null && t.isConnected()) {
+            return t;
+        }
+
+        if (t == null) {
+            t = session.getTransport("smtp");
+            transport.set(t);
+            openTransports.add(t);
+        }
+
+        if (auth) {
+            t.connect(username, password);
+        } else {
+            t.connect();
+        }
+
+        return t;
+    }
+
+    private void discardTransport() {
+        Transport t = transport.get();
+
+        if (t != null) {
+            close(t);
+            openTransports.remove(t);
+            transport.remove();
+        }
+    }
+
+    private static void close(Transport t) {
+        try {
+            t.close();
+        } catch (MessagingException e) {
+            // it is being discarded anyway
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -63,6 +63,13 @@ public class EmployeeManager {
         // ******************************************************************************************
 
         if (successfulAdd) {
+            // the employees can now open the course
+            for (Lecturer emp : selectedEmps) {
+                MembershipManager.invalidate(emp.getEmployeeID());
+            }
+
+            CourseDashboardManager.invalidate(course.getCourseCode(), year);
+
             return Response.SUCCESS;
         }
 
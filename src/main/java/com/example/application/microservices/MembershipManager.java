@@ -0,0 +1,123 @@
+package com.example.application.microservices;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vaadin.flow.server.VaadinSession;
+
+import com.example.application.PublicEnums.Role;
+import com.example.application.database.DatabaseController;
+import com.example.application.models.CourseMemberships;
+
+/**
+ * This class keeps track of the courses each signed-in user works on (see CourseMemberships).
+ *
+ * Class functionality:
+ * 1) Read a user's memberships (in one query) at sign-in, and keep them in their session
+ * 2) Answer what role the current user has in a course, from the session
+ * 3) Mark a user's (or everyone's) memberships as out of date when they change - e.g. a student is
+ *    accepted as a Tutor, or an employee is given access to a course - so the next request reads them again
+ *
+ * Changes are marked with a (logical) time, rather than by reaching into the other users' sessions: a
+ * snapshot whose read started before the user's last change is out of date.
+ */
+public class MembershipManager {
+
+    private static final String SESSION_ATTRIBUTE = "courseMemberships";
+
+    private static final AtomicLong clock = new AtomicLong();
+    private static volatile long allChangedAt = -1;
+
+    // userID -> when their memberships last changed
+    private static final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+
+    /**
+     * This method reads a user's memberships, and keeps them in the current session
+     *
+     * @param userID
+     */
+    public static void signIn(String userID) {
+        VaadinSession.getCurrent().setAttribute(SESSION_ATTRIBUTE, load(userID));
+    }
+
+    /**
+     * This method returns the current user's memberships - from the session, unless they have changed
+     * since they were read
+     *
+     * @return CourseMemberships (empty if nobody is signed in)
+     */
+    public static CourseMemberships getMemberships() {
+        VaadinSession session = VaadinSession.getCurrent();
+        String userID = (String) session.getAttribute("id");
+
+        if (userID == null) {
+            return new CourseMemberships(clock.get(), List.of());
+        }
+
+        CourseMemberships memberships = (CourseMemberships) session.getAttribute(SESSION_ATTRIBUTE);
+
+        if (memberships == null || isOutOfDate(userID, memberships)) {
+            memberships = load(userID);
+            session.setAttribute(SESSION_ATTRIBUTE, memberships);
+        }
+
+        return memberships;
+    }
+
+    /**
+     * This method returns the current user's role in a course
+     *
+     * @param courseCode
+     * @param year
+     * @return Tutor, TA, the employee's role, or NoRole
+     */
+    public static Role getRole(String courseCode, int year) {
+        return getMemberships().getRole(courseCode, year);
+    }
+
+    /**
+     * This method reads a user's memberships from the DB
+     *
+     * @param userID
+     * @return CourseMemberships (empty if they could not be read - and so out of date straight away)
+     */
+    public static CourseMemberships load(String userID) {
+        // taken before the read, so a change made during it makes the result out of date
+        long now = clock.get();
+
+        // *****************************************************************************
+        CourseMemberships memberships = DatabaseController.getCourseMemberships(userID, now);
+        // *****************************************************************************
+
+        return memberships != null ? memberships : new CourseMemberships(Long.MIN_VALUE, List.of());
+    }
+
+    /**
+     * @param userID
+     * @param memberships
+     * @return whether the user's memberships changed since the snapshot was read
+     */
+    public static boolean isOutOfDate(String userID, CourseMemberships memberships) {
+        long lastChange = Math.max(allChangedAt, changedAt.getOrDefault(userID, -1L));
+        return lastChange > memberships.getLoadedAt();
+    }
+
+    /**
+     * This method marks a user's memberships as changed
+     *
+     * @param userID
+     */
+    public static void invalidate(String userID) {
+        changedAt.put(userID, clock.incrementAndGet());
+    }
+
+    /**
+     * This method marks every user's memberships as changed, e.g. when a course is deleted
+     */
+    public static void invalidateAll() {
+        allChangedAt = clock.incrementAndGet();
+        changedAt.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.application.microservices;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import com.example.application.models.ScheduleChange;
+import com.vaadin.flow.shared.Registration;
+
+/**
+ * This class passes schedule changes to the views showing that schedule, so they can update
+ * (with server push) without each re-reading the schedule from the DB.
+ *
+ * Class functionality:
+ * 1) Register a listener for a course's schedule (of a given year)
+ * 2) Publish a change to every listener registered for that schedule
+ *
+ * Listeners are called on the publishing thread, so they should hand the change to their UI with
+ * UI.access rather than do any work there.
+ */
+public class ScheduleEventBus {
+
+    // "courseCode:year" -> the listeners for that schedule
+    private static final Map<String, Set<Consumer<ScheduleChange>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * This method registers a listener for the changes to a schedule
+     *
+     * @param courseCode
+     * @param year
+     * @param listener
+     * @return the Registration to remove the listener with (e.g. when the view is detached)
+     */
+    public static Registration register(String courseCode, int year, Consumer<ScheduleChange> listener) {
+        String key = getKey(courseCode, year);
+        listeners.computeIfAbsent(key, k -> new CopyOnWriteArraySet<>()).add(listener);
+
+        return () -> listeners.computeIfPresent(key, (k, registered) -> {
+            registered.remove(listener);
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    /**
+     * This method passes a change to every listener registered for the schedule
+     *
+     * @param courseCode
+     * @param year
+     * @param change
+     */
+    public static void publish(String courseCode, int year, ScheduleChange change) {
+        Set<Consumer<ScheduleChange>> registered = listeners.get(getKey(courseCode, year));
+
+        if (registered == null) {
+            return;
+        }
+
+        for (Consumer<ScheduleChange> listener : registered) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                // e.g. the listener's UI was closed - the rest still get the change
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static String getKey(String courseCode, int year) {
+        return courseCode + ":" + year;
+    }
+}
@@ -1,31 +1,82 @@
 package com.example.application.microservices;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.example.application.PublicEnums.Response;
+import com.example.application.PublicEnums.ScheduleChangeType;
 import com.example.application.database.DatabaseController;
 import com.example.application.models.Schedule;
+import com.example.application.models.ScheduleChange;
+import com.example.application.models.ScheduleDiff;
+import com.example.application.models.SessionSlot;
+import com.example.application.models.Tutor;
+import com.example.application.models.TutorAssignment;
 
 /**
  * This class manages the tutoring schedule for each respective course
  */
 public class ScheduleManager {
 
+    // The tutor check-ins recorded so far, per date
+    private static final Map<String, Set<String>> checkInsByDate = new ConcurrentHashMap<>();
+
     // #region // !! EDITING A SCHEDULE
 
     /**
-     * This method takes in a schedule object to replace the current schedule stored in the DB. 
-     * This causes the schedule to effectlively be updated in the DB. 
-     * @param oldSchedule
-     * @param newSchedule
+     * This method saves the changes made to a schedule: only the sessions added, changed or removed
+     * since the old schedule was read are written to the DB, in one go.
+     * If the schedule was edited by someone else since then, nothing is saved (SCHEDULE_CONFLICT)
+     * @param oldSchedule the schedule as it was read from the DB (along with its version)
+     * @param newSchedule the edited schedule
      * @return Response type
      */
     public static Response updateSchedule(Schedule oldSchedule, Schedule newSchedule) {
 
-        // ****************************************************************
-        if (DatabaseController.updateSchedule(oldSchedule, newSchedule)) {
-            // ************************************************************
+        ScheduleDiff diff = ScheduleDiff.between(oldSchedule.getTutoringSessions(), newSchedule.getTutoringSessions());
+
+        if (diff.isEmpty()) {
             return Response.SUCCESS;
         }
-        return Response.UNSUCCESSFUL;
+
+        // the edit is checked against the version it was made to
+        newSchedule.setScheduleID(oldSchedule.getScheduleID());
+        newSchedule.setVersion(oldSchedule.getVersion());
+
+        // ****************************************************************
+        Response result = DatabaseController.updateSchedule(newSchedule, diff);
+        // ****************************************************************
+
+        if (result == Response.SUCCESS) {
+            // sessions may have been moved or deleted under the tutors signed up for them
+            TutorCommitments.invalidateAll();
+        }
+
+        return result;
+    }
+
+    /**
+     * This method updates the schedule of a course (as updateSchedule above), and lets the views showing
+     * that schedule know it changed
+     * @param courseCode
+     * @param year
+     * @param oldSchedule
+     * @param newSchedule
+     * @return Response type
+     */
+    public static Response updateSchedule(String courseCode, int year, Schedule oldSchedule, Schedule newSchedule) {
+        int version = oldSchedule.getVersion();
+        Response result = updateSchedule(oldSchedule, newSchedule);
+
+        // (nothing changed if the version was not bumped)
+        if (result == Response.SUCCESS && newSchedule.getVersion() != version) {
+            CourseDashboardManager.invalidate(courseCode, year);
+            ScheduleEventBus.publish(courseCode, year, new ScheduleChange(ScheduleChangeType.SCHEDULE_UPDATED, 0, null));
+        }
+
+        return result;
     }
 
     // #endregion
@@ -52,22 +103,63 @@ public class ScheduleManager {
     // #region // !! ADDING / REMOVING A TUTOR FROM A SLOT
 
     /**
-     * This method causes a tutor to be allocated to a tutoring session
+     * This method causes a tutor to be allocated to a tutoring session, unless it clashes with
+     * another session the tutor is signed up for
      * @param tutoringSessionID
      * @param studentID
      * @return
      */
     public static Response tutorSignUp(int tutoringSessionID, String studentID) {
 
+        // a tutor cannot be signed up for two sessions (of any courses) at the same time
+        // ****************************************************************************
+        SessionSlot slot = DatabaseController.getSessionSlot(tutoringSessionID);
+        // ****************************************************************************
+
+        if (slot != null && TutorCommitments.commit(studentID, slot) != null) {
+            return Response.SESSION_CLASH;
+        }
+
         // **************************************************
         if (DatabaseController.addTutorToSession(tutoringSessionID, studentID) == true) {
             return Response.SUCCESS;
         }
         // **************************************************
 
+        // the session was recorded as the tutor's - read their sessions again rather than guess which are
+        TutorCommitments.invalidate(studentID);
+
+        // **************************************************
+
+        // the sign-up was refused - tell the tutor if it is because every seat was taken
+        if (DatabaseController.getAvailableSeats(tutoringSessionID) == 0) {
+            return Response.SESSION_FULL;
+        }
+        // **************************************************
+
         return Response.UNSUCCESSFUL;
     }
 
+    /**
+     * This method causes a tutor to be allocated to a tutoring session of a course's schedule (as
+     * tutorSignUp above), and pushes the change to the views showing that schedule
+     * @param courseCode
+     * @param year
+     * @param tutoringSessionID
+     * @param tutor
+     * @return
+     */
+    public static Response tutorSignUp(String courseCode, int year, int tutoringSessionID, Tutor tutor) {
+        Response result = tutorSignUp(tutoringSessionID, tutor.getStudentID());
+
+        if (result == Response.SUCCESS) {
+            CourseDashboardManager.invalidate(courseCode, year);
+            ScheduleEventBus.publish(courseCode, year, new ScheduleChange(ScheduleChangeType.TUTOR_JOINED, tutoringSessionID, tutor));
+        }
+
+        return result;
+    }
+
     /**
      * This method causes a tutor to be deallocated from a tutoring session
      * @param tutoringSessionID
@@ -77,6 +169,7 @@ public class ScheduleManager {
     public static Response tutorLeave(int tutoringSessionID, String studentID) {
         // **************************************************
         if (DatabaseController.removeTutorFromSession(tutoringSessionID, studentID) == true) {
+            TutorCommitments.release(studentID, tutoringSessionID);
             return Response.SUCCESS;
         }
         // **************************************************
@@ -84,12 +177,81 @@ public class ScheduleManager {
         return Response.UNSUCCESSFUL;
     }
 
+    /**
+     * This method causes a tutor to be deallocated from a tutoring session of a course's schedule (as
+     * tutorLeave above), and pushes the change to the views showing that schedule
+     * @param courseCode
+     * @param year
+     * @param tutoringSessionID
+     * @param tutor
+     * @return
+     */
+    public static Response tutorLeave(String courseCode, int year, int tutoringSessionID, Tutor tutor) {
+        Response result = tutorLeave(tutoringSessionID, tutor.getStudentID());
+
+        if (result == Response.SUCCESS) {
+            CourseDashboardManager.invalidate(courseCode, year);
+            ScheduleEventBus.publish(courseCode, year, new ScheduleChange(ScheduleChangeType.TUTOR_LEFT, tutoringSessionID, tutor));
+        }
+
+        return result;
+    }
+
+    // #endregion
+
+    // #region // !! ASSIGNING TUTORS
+
+    /**
+     * This method fills the empty seats of a course's schedule with the course's tutors (see
+     * TutorAssignmentSolver), and saves the assignments in one go
+     * @param courseCode
+     * @param year
+     * @param maxSessionsPerTutor the most of the schedule's sessions a tutor is put in
+     * @return the assignments made (empty if there were no seats, or nobody free to fill them),
+     *         or null if they could not be saved
+     */
+    public static List<TutorAssignment> assignTutors(String courseCode, int year, int maxSessionsPerTutor) {
+
+        // ****************************************************************************************************
+        Schedule schedule = getSchedule(courseCode, year);
+        Map<String, List<SessionSlot>> commitments = DatabaseController.getCourseTutorCommitments(courseCode, year);
+        // ****************************************************************************************************
+
+        if (schedule == null || commitments == null) {
+            return null;
+        }
+
+        List<TutorAssignment> assignments = TutorAssignmentSolver.solve(schedule.getTutoringSessions(), year,
+                commitments, maxSessionsPerTutor);
+
+        if (assignments.isEmpty()) {
+            return assignments;
+        }
+
+        // *****************************************************************
+        if (!DatabaseController.assignTutorsToSessions(assignments)) {
+            // *************************************************************
+            return null;
+        }
+
+        for (TutorAssignment assignment : assignments) {
+            TutorCommitments.invalidate(assignment.getStudentID());
+        }
+
+        CourseDashboardManager.invalidate(courseCode, year);
+        ScheduleEventBus.publish(courseCode, year, new ScheduleChange(ScheduleChangeType.SCHEDULE_UPDATED, 0, null));
+
+        return assignments;
+    }
+
     // #endregion
 
     // #region // !! CHECKING IN
 
     /**
      * This method allows a tutor to confirm their attendance to a specific tutoring session
+     * 
+     * Repeat check-ins are caught by the in-memory record of the day's check-ins and never reach the DB
      * @param tutoringSessionID
      * @param courseCode
      * @param studentID
@@ -97,12 +259,31 @@ public class ScheduleManager {
      * @return
      */
     public static Response tutorCheckIn(int tutoringSessionID, String courseCode, String studentID, String date) {
+
+        Set<String> checkIns = getCheckInsFor(date);
+        String checkIn = tutoringSessionID + ":" + studentID;
+
+        // only the first of any concurrent check-ins gets past this point
+        if (!checkIns.add(checkIn)) {
+            return Response.ALREADY_CHECKED_IN;
+        }
+
         // **************************************************
         if (DatabaseController.tutorCheckIn(tutoringSessionID, courseCode, studentID, date) == true) {
+            // the course's statistics count every year's attendance
+            CourseDashboardManager.invalidate(courseCode);
             return Response.SUCCESS;
         }
         // **************************************************
 
+        // it was either already recorded (e.g. before a restart), or the insert failed and may be retried
+        // ************************************************************************************
+        if (DatabaseController.hasTutorAlreadyCheckedIn(tutoringSessionID, studentID, date)) {
+            return Response.ALREADY_CHECKED_IN;
+        }
+        // ************************************************************************************
+
+        checkIns.remove(checkIn);
         return Response.UNSUCCESSFUL;
     }
 
@@ -115,10 +296,40 @@ public class ScheduleManager {
      */
     public static boolean hasCheckedIn(int tutoringSessionID, String studentID, String date) {
 
+        Set<String> checkIns = getCheckInsFor(date);
+        String checkIn = tutoringSessionID + ":" + studentID;
+
+        if (checkIns.contains(checkIn)) {
+            return true;
+        }
+
         // ************************************************************************************
-        return DatabaseController.hasTutorAlreadyCheckedIn(tutoringSessionID, studentID, date);
+        if (DatabaseController.hasTutorAlreadyCheckedIn(tutoringSessionID, studentID, date)) {
         // ************************************************************************************
+            checkIns.add(checkIn);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * This method returns the check-ins ("sessionID:studentID") recorded so far on a given day.
+     * Once a new day starts, the previous days' check-ins are dropped
+     * @param date
+     * @return
+     */
+    private static Set<String> getCheckInsFor(String date) {
+        Set<String> checkIns = checkInsByDate.get(date);
+
+        if (checkIns == null) {
+            checkIns = checkInsByDate.computeIfAbsent(date, d -> ConcurrentHashMap.newKeySet());
+
+            // dates are ISO formatted (yyyy-mm-dd), so they compare chronologically
+            checkInsByDate.keySet().removeIf(d -> d.compareTo(date) < 0);
+        }
 
+        return checkIns;
     }
 
     // #endregion
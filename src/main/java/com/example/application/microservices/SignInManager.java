@@ -33,35 +33,22 @@ public class SignInManager {
         
         if (validationResponse.equals(Response.SUCCESS)) {
 
-            //**********************************************************
-            switch (DatabaseController.doesUserExist(email, password)) {
-            //**********************************************************
-			
-				case 0:
-					return Response.INVALID_CREDENTIALS;
-				
-				case 1: //Student
-					//*****************************************************
-					Student student = DatabaseController.getStudent(email);
-					//*****************************************************
-					setSession(student, password);
-                    break;
-
-				case 2: //Employee
-					//***************************************************
-					Lecturer emp = DatabaseController.getEmployee(email);
-					//***************************************************
-					setSession(emp, password);
-                    break;
-
-				case 3: //Administrator
-					//***************************************************************
-					Administrator admin = DatabaseController.getAdministrator(email);
-					//***************************************************************
-					setSession(admin, password);
-                    break;
-			}
-			
+            // resolves the role and loads the user in one go
+            //*************************************************************
+            Person user = DatabaseController.authenticate(email, password);
+            //*************************************************************
+
+            if (user == null) {
+                return Response.INVALID_CREDENTIALS;
+            }
+
+            setSession(user, password);
+
+            // the courses they work on, so moving between courses needs no access checks against the DB
+            if (user.getRole() != Role.Admin) {
+                MembershipManager.signIn((String) VaadinSession.getCurrent().getAttribute("id"));
+            }
+
             return Response.SUCCESS;
 		}
 
@@ -5,9 +5,9 @@ import java.util.List;
 import com.example.application.PublicEnums.Response;
 import com.example.application.PublicEnums.Role;
 import com.example.application.database.DatabaseController;
+import com.example.application.models.Applicant;
 import com.example.application.models.TA;
 import com.example.application.models.Tutor;
-import com.example.application.models.Student;
 
 // import java.util.ArrayList;
 // import java.util.List;
@@ -100,12 +100,40 @@ public class StudentManager {
 
     }
 
+    /**
+     * This method counts the tutors of a certain course for a certain year
+     * @param courseCode
+     * @param year
+     * @return
+     */
+    public static int countActiveTutors(String courseCode, String year) {
+
+        // *************************************************************************
+        return DatabaseController.countCourseStaff("Tutors", courseCode, year, "");
+        // *************************************************************************
+
+    }
+
+    /**
+     * This method counts the TAs of a certain course for a certain year
+     * @param courseCode
+     * @param year
+     * @return
+     */
+    public static int countActiveTAs(String courseCode, String year) {
+
+        // **********************************************************************
+        return DatabaseController.countCourseStaff("TAs", courseCode, year, "");
+        // **********************************************************************
+
+    }
+
     /**
      * This method returns all the applicants who have completed a given course
      * @param courseCode
      * @return
      */
-    public static List<Student> getPendingApplicants(String courseCode) {
+    public static List<Applicant> getPendingApplicants(String courseCode) {
 
         // ********************************************************
         return DatabaseController.getPendingApplicants(courseCode);
@@ -113,6 +141,37 @@ public class StudentManager {
 
     }
 
+    /**
+     * This method returns one page of the applicants who have completed a given course,
+     * each with their grade for the course and their motivation
+     * @param courseCode
+     * @param offset
+     * @param limit
+     * @param sortProperty
+     * @param ascending
+     * @return
+     */
+    public static List<Applicant> getPendingApplicants(String courseCode, int offset, int limit, String sortProperty, boolean ascending) {
+
+        // ******************************************************************************************************
+        return DatabaseController.getPendingApplicants(courseCode, offset, limit, sortProperty, ascending);
+        // ******************************************************************************************************
+
+    }
+
+    /**
+     * This method returns the number of applicants who have completed a given course
+     * @param courseCode
+     * @return
+     */
+    public static int countPendingApplicants(String courseCode) {
+
+        // **********************************************************
+        return DatabaseController.countPendingApplicants(courseCode);
+        // **********************************************************
+
+    }
+
     // #endregion
 
     // #region // !! RESETTING THE SYSTEM
@@ -125,6 +184,7 @@ public class StudentManager {
 
         // **************************************************
         if (DatabaseController.resetSystem()) {
+            CourseDashboardManager.invalidateAll();
             return Response.SUCCESS;
         }
         // **************************************************
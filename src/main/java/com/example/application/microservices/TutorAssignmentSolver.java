@@ -0,0 +1,143 @@
+package com.example.application.microservices;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+import com.example.application.models.SessionSlot;
+import com.example.application.models.TutorAssignment;
+import com.example.application.models.TutoringSession;
+
+/**
+ * This class works out which of a course's tutors to put in which of its tutoring sessions' empty seats,
+ * so that the sessions are filled evenly rather than by whoever signs up first.
+ *
+ * The seats are handed out one at a time, always to the emptiest session (the lowest share of its
+ * capacity taken), and always to the least loaded tutor who is free at that time - i.e. not already
+ * in the session, not tutoring anything else (of any course) then, and not yet at the maximum number
+ * of the course's sessions. This keeps every session's tutor count within one of the others' (where
+ * the tutors' availability allows), and each tutor's load within one of the other tutors'.
+ *
+ * It is all done in memory: O(seats * log(sessions)) for the sessions, and the tutors are tried in order
+ * of load, with an O(log n) conflict check each (see CommitmentIndex).
+ */
+public class TutorAssignmentSolver {
+
+    /**
+     * This method works out the assignments that fill a schedule's empty seats
+     *
+     * @param sessions            The schedule's sessions, with the tutors already signed up for them.
+     * @param year                The schedule's year.
+     * @param commitmentsByTutor  The course's tutors -> every session (of any course) they are already signed up for.
+     * @param maxSessionsPerTutor The most of the schedule's sessions a tutor is put in (counting the ones they are in already).
+     * @return the new assignments (the tutors already signed up are not included)
+     */
+    public static List<TutorAssignment> solve(List<TutoringSession> sessions, int year,
+            Map<String, List<SessionSlot>> commitmentsByTutor, int maxSessionsPerTutor) {
+
+        List<TutorAssignment> assignments = new ArrayList<>();
+
+        int[] filled = new int[sessions.size()];
+        int[] capacity = new int[sessions.size()];
+        SessionSlot[] slots = new SessionSlot[sessions.size()];
+
+        for (int i = 0; i < sessions.size(); i++) {
+            TutoringSession session = sessions.get(i);
+            List<?> signedUp = session.getSignedUpTutors();
+
+            filled[i] = signedUp == null ? 0 : signedUp.size();
+            capacity[i] = session.getTutoringCapacity();
+            slots[i] = new SessionSlot(session.getSessionID(), year, session.getDay(),
+                    session.getStartTimeAsDouble(), session.getEndTimeAsDouble());
+        }
+
+        // the emptiest session first: a/b < c/d <=> a*d < c*b
+        PriorityQueue<Integer> emptiest = new PriorityQueue<>((a, b) -> {
+            int byShare = Long.compare((long) filled[a] * capacity[b], (long) filled[b] * capacity[a]);
+            return byShare != 0 ? byShare : Integer.compare(a, b);
+        });
+
+        for (int i = 0; i < sessions.size(); i++) {
+            if (filled[i] < capacity[i]) {
+                emptiest.add(i);
+            }
+        }
+
+        // the least loaded tutor first
+        TreeSet<TutorLoad> leastLoaded = new TreeSet<>(
+                Comparator.comparingInt((TutorLoad t) -> t.load).thenComparing(t -> t.studentID));
+
+        for (Map.Entry<String, List<SessionSlot>> entry : commitmentsByTutor.entrySet()) {
+            TutorLoad tutor = new TutorLoad(entry.getKey());
+
+            for (SessionSlot slot : entry.getValue()) {
+                tutor.commitments.add(slot);
+            }
+
+            for (SessionSlot slot : slots) {
+                if (tutor.commitments.contains(slot.getSessionID())) {
+                    tutor.load++;
+                }
+            }
+
+            if (tutor.load < maxSessionsPerTutor) {
+                leastLoaded.add(tutor);
+            }
+        }
+
+        while (!emptiest.isEmpty() && !leastLoaded.isEmpty()) {
+            int session = emptiest.poll();
+            SessionSlot slot = slots[session];
+
+            TutorLoad chosen = null;
+            Iterator<TutorLoad> tutors = leastLoaded.iterator();
+
+            while (tutors.hasNext()) {
+                TutorLoad tutor = tutors.next();
+
+                if (!tutor.commitments.contains(slot.getSessionID()) && tutor.commitments.findClash(slot) == null) {
+                    chosen = tutor;
+                    tutors.remove();
+                    break;
+                }
+            }
+
+            // nobody is free at this time - the session keeps its empty seats
+            if (chosen == null) {
+                continue;
+            }
+
+            assignments.add(new TutorAssignment(slot.getSessionID(), chosen.studentID));
+            chosen.commitments.add(slot);
+            chosen.load++;
+
+            if (chosen.load < maxSessionsPerTutor) {
+                leastLoaded.add(chosen);
+            }
+
+            filled[session]++;
+            if (filled[session] < capacity[session]) {
+                emptiest.add(session);
+            }
+        }
+
+        return assignments;
+    }
+
+    /**
+     * A tutor, the sessions they are in, and how many of them are the schedule's
+     */
+    private static class TutorLoad {
+        private final String studentID;
+        private final CommitmentIndex commitments = new CommitmentIndex();
+        private int load;
+
+        TutorLoad(String studentID) {
+            this.studentID = studentID;
+        }
+    }
+}
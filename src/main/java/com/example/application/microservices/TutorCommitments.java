@@ -0,0 +1,138 @@
+package com.example.application.microservices;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.example.application.database.DatabaseController;
+import com.example.application.models.SessionSlot;
+
+/**
+ * This class keeps, in memory, when each tutor is already tutoring, so a sign-up that would double-book
+ * a tutor (in any course) is caught without loading every schedule.
+ *
+ * Class functionality:
+ * 1) Find the session (if any) a new session would clash with, in O(log n)
+ * 2) Record a tutor joining a session, refusing it if it clashes (atomically, per tutor)
+ * 3) Forget a tutor's session when they leave it, or a tutor's (or everyone's) sessions when they may be out of date
+ *
+ * A tutor's commitments are read from TutoringSessionTutors the first time they are needed, and are kept
+ * up to date incrementally after that (see CommitmentIndex). At most COMMITMENTS_MAX_SIZE tutors' are kept,
+ * each until it has not been used for COMMITMENTS_IDLE_TIME, after which they are read again.
+ */
+public class TutorCommitments {
+
+    public static final int COMMITMENTS_MAX_SIZE = 10000;
+    public static final Duration COMMITMENTS_IDLE_TIME = Duration.ofMinutes(30);
+
+    // studentID -> that tutor's commitments
+    private static final Cache<String, CommitmentIndex> commitmentsByTutor = Caffeine.newBuilder()
+            .maximumSize(COMMITMENTS_MAX_SIZE)
+            .expireAfterAccess(COMMITMENTS_IDLE_TIME)
+            .recordStats()
+            .build();
+
+    /**
+     * This method finds the session a tutor is already signed up for that a session would clash with
+     *
+     * @param studentID
+     * @param slot
+     * @return the clashing session's slot, or null if there is no clash (or the tutor's sessions could not be read)
+     */
+    public static SessionSlot findClash(String studentID, SessionSlot slot) {
+        CommitmentIndex commitments = getCommitments(studentID);
+
+        if (commitments == null) {
+            return null;
+        }
+
+        synchronized (commitments) {
+            return commitments.findClash(slot);
+        }
+    }
+
+    /**
+     * This method records a tutor joining a session, unless it clashes with a session they are already
+     * signed up for. Concurrent sign-ups of the same tutor are checked one after the other
+     *
+     * @param studentID
+     * @param slot
+     * @return the clashing session's slot (the session is then not recorded), or null if it was recorded
+     */
+    public static SessionSlot commit(String studentID, SessionSlot slot) {
+        CommitmentIndex commitments = getCommitments(studentID);
+
+        if (commitments == null) {
+            return null;
+        }
+
+        synchronized (commitments) {
+            SessionSlot clash = commitments.findClash(slot);
+
+            if (clash == null) {
+                commitments.add(slot);
+            }
+
+            return clash;
+        }
+    }
+
+    /**
+     * This method records a tutor leaving a session
+     *
+     * @param studentID
+     * @param tutoringSessionID
+     */
+    public static void release(String studentID, int tutoringSessionID) {
+        CommitmentIndex commitments = commitmentsByTutor.getIfPresent(studentID);
+
+        if (commitments != null) {
+            synchronized (commitments) {
+                commitments.remove(tutoringSessionID);
+            }
+        }
+    }
+
+    /**
+     * This method forgets a tutor's commitments, so they are read from the DB again the next time they are needed
+     *
+     * @param studentID
+     */
+    public static void invalidate(String studentID) {
+        commitmentsByTutor.invalidate(studentID);
+    }
+
+    /**
+     * This method forgets every tutor's commitments, e.g. after sessions were moved or deleted
+     */
+    public static void invalidateAll() {
+        commitmentsByTutor.invalidateAll();
+    }
+
+    private static CommitmentIndex getCommitments(String studentID) {
+        CommitmentIndex commitments = commitmentsByTutor.getIfPresent(studentID);
+
+        if (commitments != null) {
+            return commitments;
+        }
+
+        //***********************************************************************
+        List<SessionSlot> slots = DatabaseController.getTutorCommitments(studentID);
+        //***********************************************************************
+
+        if (slots == null) {
+            return null;
+        }
+
+        CommitmentIndex loaded = new CommitmentIndex();
+        for (SessionSlot slot : slots) {
+            loaded.add(slot);
+        }
+
+        // another thread may have loaded (and since updated) them first
+        commitments = commitmentsByTutor.asMap().putIfAbsent(studentID, loaded);
+        return commitments == null ? loaded : commitments;
+    }
+}
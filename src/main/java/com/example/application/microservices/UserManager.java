@@ -1,15 +1,21 @@
 package com.example.application.microservices;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Properties;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
-import javax.mail.*;
-import javax.mail.internet.*;
-
+import com.example.application.PublicEnums.ApplicationStatus;
+import com.example.application.PublicEnums.EmailStatus;
+import com.example.application.PublicEnums.QualificationLevel;
 import com.example.application.PublicEnums.Response;
 import com.example.application.PublicEnums.Role;
 
@@ -17,7 +23,9 @@ import com.example.application.database.DatabaseController;
 
 import com.example.application.models.Administrator;
 import com.example.application.models.CourseConvenor;
+import com.example.application.models.ImportResult;
 import com.example.application.models.Lecturer;
+import com.example.application.models.OutboxEmail;
 import com.example.application.models.Tutor;
 import com.vaadin.flow.server.VaadinSession;
 import com.example.application.models.TA;
@@ -164,11 +172,13 @@ public class UserManager {
         if (message == Response.SUCCESS) {
               
            String generatedPassword = generatePassword(); 
-           //***********************************************************
-           DatabaseController.createUser(user, role, generatedPassword);
-           //***********************************************************
-           Response emailAttempt = emailTemporaryPassword(user, generatedPassword); 
-           return emailAttempt;
+
+           // the email is queued with the user, and delivered in the background by the EmailDispatcher
+           OutboxEmail email = temporaryPasswordEmail(user, generatedPassword);
+           //*************************************************************************************
+           boolean created = DatabaseController.createUser(user, role, generatedPassword, email);
+           //*************************************************************************************
+           return created ? Response.SUCCESS : Response.UNSUCCESSFUL;
         }
 
         return message;
@@ -303,65 +313,283 @@ public class UserManager {
     }
 
     /**
-     * This method connects to the MyTutor gmail account and sends a sign-up email to the user. 
+     * This method composes the sign-up email (with their temporary password) sent to a newly created user.
      * 
      * @param user
      * @param password
      * @return
      */
-    private static Response emailTemporaryPassword(Person user, String password) {
-        //GMAIL ACCOUNT DETAILS
-        //email: mytutor.capstone@gmail.com
-        //password: MYTUTORcapstoneelite123
-        //password for this app: spfexfbovajeghns
-        
-        // Configure email properties for Gmail
-        Properties properties = new Properties();
-        properties.put("mail.smtp.host", "smtp.gmail.com"); // Gmail SMTP server host
-        properties.put("mail.smtp.port", "587"); // TLS Port for Gmail
-        properties.put("mail.smtp.auth", "true"); // Enable authentication
-        properties.put("mail.smtp.starttls.enable", "true"); // Enable TLS encryption
-
-        // Your Gmail email address and application-specific password
-        String email = "mytutor.capstone@gmail.com";
-        String appPassword = "spfexfbovajeghns"; // Replace with your app-specific password
-
-        // Create a session with Gmail authentication
-        Session session = Session.getInstance(properties, new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(email, appPassword);
+    private static OutboxEmail temporaryPasswordEmail(Person user, String password) {
+        String applicationURL = "https://mytutor-production.lm.r.appspot.com";
+
+        String messageText = "Dear " + user.getFirstName() + "\n\n" +
+                            " Please complete your MyTutor profile by visiting:  " + applicationURL + 
+                            " and creating a new password. \n\n" + 
+                            "Here is your temporary password for your first sign-in: " + password +  "\n\n" +
+                            "Warm regards \n The MyTutor Team";
+
+        return new OutboxEmail(user.getEmail(), "MyTutor Temporary Password", messageText);
+    }
+
+    /**
+     * This method returns the delivery status of the latest email (e.g. the temporary password) sent to a user.
+     * 
+     * @param email
+     * @return the EmailStatus, or null if no email was sent to the user
+     */
+    public static EmailStatus getEmailStatus(String email) {
+        //**********************************************
+        return DatabaseController.getEmailStatus(email);
+        //**********************************************
+    }
+
+    //#endregion
+
+    //#region // !! BULK IMPORTING users to the DB */
+
+    // The number of CSV rows checked for duplicates, and created, together
+    public static final int IMPORT_CHUNK_SIZE = 500;
+
+    /**
+     * This method imports users (of a single role) from a CSV, streaming it a chunk of rows at a time:
+     * 1) each row is validated with the same rules as a user created through the form
+     *      invalid rows are reported (by line number) and skipped
+     * 2) each chunk is checked for users that already exist with a single lookup
+     *      these (and rows repeated within the CSV) are skipped
+     * 3) the rest of the chunk is created, along with their temporary password emails, in one batch
+     * 4) progress is reported after every chunk
+     * 
+     * The columns expected are:
+     *      Administrator: employeeID, firstName, lastName, email
+     *      Employee: employeeID, firstName, lastName, email, department, faculty
+     *      Student: studentID, firstName, lastName, email, qualificationLevel
+     * A header row (starting with employeeID / studentID) is skipped.
+     * 
+     * @param csv
+     * @param role
+     * @param progress called with the running totals after every chunk
+     * @return the final totals
+     * @throws IOException
+     */
+    public static ImportResult importUsers(Reader csv, String role, Consumer<ImportResult> progress) throws IOException {
+        ImportResult result = new ImportResult();
+
+        BufferedReader reader = new BufferedReader(csv);
+        List<Person> chunk = new ArrayList<>();
+
+        // the emails and IDs already seen in this CSV
+        Set<String> seen = new HashSet<>();
+
+        String line;
+        int lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (line.isBlank()) {
+                continue;
             }
-        });
 
-        try {
-            // Compose the email
-            MimeMessage message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(email));
-            message.addRecipient(Message.RecipientType.TO, new InternetAddress(user.getEmail()));
-            message.setSubject("MyTutor Temporary Password");
+            List<String> fields = parseCSVLine(line);
+
+            if (lineNumber == 1 && fields.get(0).toLowerCase().endsWith("id")) {
+                continue; // header row
+            }
 
-            String applicationURL = "https://mytutor-production.lm.r.appspot.com";
+            result.addRowRead();
 
-            String messageText = "Dear " + user.getFirstName() + "\n\n" +
-                                " Please complete your MyTutor profile by visiting:  " + applicationURL + 
-                                " and creating a new password. \n\n" + 
-                                "Here is your temporary password for your first sign-in: " + password +  "\n\n" +
-                                "Warm regards \n The MyTutor Team";
+            Person user;
+            try {
+                user = createImportedUser(fields, role);
+            } catch (IllegalArgumentException e) {
+                result.addError("Line " + lineNumber + ": " + e.getMessage());
+                continue;
+            }
 
-            message.setText(messageText);
+            Response validation = validateImportedUser(user);
+            if (validation != Response.SUCCESS) {
+                result.addError("Line " + lineNumber + ": " + validation);
+                continue;
+            }
+
+            if (!seen.add(user.getEmail()) | !seen.add(getUserID(user))) {
+                result.addDuplicates(1);
+                continue;
+            }
 
-            // Send the email
-            Transport.send(message);
+            chunk.add(user);
 
-        } catch (MessagingException e) {
-            // e.printStackTrace();
-            return Response.PASSWORD_EMAIL_FAILED;
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, role, result);
+                chunk.clear();
+                progress.accept(result);
+            }
         }
-        
+
+        importChunk(chunk, role, result);
+        progress.accept(result);
+
+        return result;
+    }
+
+    /**
+     * This method creates the users of a chunk that do not exist yet.
+     * 
+     * @param chunk
+     * @param role
+     * @param result
+     */
+    private static void importChunk(List<Person> chunk, String role, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        //**********************************************************************
+        Set<String> existing = DatabaseController.findExistingUsers(chunk, role);
+        //**********************************************************************
+
+        List<Person> newUsers = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        List<OutboxEmail> emails = new ArrayList<>();
+
+        for (Person user : chunk) {
+            if (existing.contains(user.getEmail()) || existing.contains(getUserID(user))) {
+                result.addDuplicates(1);
+                continue;
+            }
+
+            String generatedPassword = generatePassword();
+
+            newUsers.add(user);
+            passwords.add(generatedPassword);
+            emails.add(temporaryPasswordEmail(user, generatedPassword));
+        }
+
+        //*****************************************************************************
+        int created = DatabaseController.createUsers(newUsers, role, passwords, emails);
+        //*****************************************************************************
+
+        result.addCreated(created);
+
+        if (created < newUsers.size()) {
+            result.addError(newUsers.size() + " users (" + getUserID(newUsers.get(0)) + " to "
+                    + getUserID(newUsers.get(newUsers.size() - 1)) + ") could not be created");
+        }
+    }
+
+    /**
+     * This method creates a user (of the given role) from the fields of a CSV row
+     * 
+     * @param fields
+     * @param role
+     * @return
+     */
+    private static Person createImportedUser(List<String> fields, String role) {
+        switch (role) {
+            case "Administrator":
+                requireFields(fields, 4);
+                return new Administrator(fields.get(1), fields.get(2), fields.get(3), fields.get(0));
+
+            case "Employee":
+                requireFields(fields, 6);
+                return new Lecturer(fields.get(1), fields.get(2), fields.get(3), fields.get(0), fields.get(4), fields.get(5));
+
+            case "Student":
+                requireFields(fields, 5);
+                return new Student(fields.get(1), fields.get(2), fields.get(3), fields.get(0),
+                        QualificationLevel.valueOf(fields.get(4)), ApplicationStatus.ACCEPTED, null);
+
+            default:
+                throw new IllegalArgumentException("Cannot import users of type " + role);
+        }
+    }
+
+    private static void requireFields(List<String> fields, int count) {
+        if (fields.size() != count) {
+            throw new IllegalArgumentException("Expected " + count + " columns but found " + fields.size());
+        }
+    }
+
+    /**
+     * This method validates an imported user: as validateUserCreation does, and also the ID of
+     * the (plain) students and admins it does not check
+     * 
+     * @param user
+     * @return
+     */
+    private static Response validateImportedUser(Person user) {
+        Response validation = validateUserCreation(user);
+
+        if (validation != Response.SUCCESS) {
+            return validation;
+        }
+
+        if (user instanceof Student && !validateSTUID(((Student) user).getStudentID())) {
+            return Response.INVALID_STUDENTNUMBER;
+        }
+
+        if (user instanceof Administrator && !validateEMPID(((Administrator) user).getEmployeeID())) {
+            return Response.INVALID_EMPID;
+        }
+
         return Response.SUCCESS;
     }
 
+    /**
+     * This method returns a user's studentID or employeeID
+     * 
+     * @param user
+     * @return
+     */
+    private static String getUserID(Person user) {
+        if (user instanceof Student) {
+            return ((Student) user).getStudentID();
+        }
+
+        if (user instanceof Lecturer) {
+            return ((Lecturer) user).getEmployeeID();
+        }
+
+        return ((Administrator) user).getEmployeeID();
+    }
+
+    /**
+     * This method splits a CSV row into its (trimmed) fields. Fields may be quoted, with "" standing for a quote.
+     * 
+     * @param line
+     * @return
+     */
+    private static List<String> parseCSVLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
     //#endregion
 
     //#region // !! UPDATING users in the DB */
@@ -382,6 +610,8 @@ public class UserManager {
         //***********************************************************************
 
         if (success) {
+            // the user may be listed on any of the course dashboards
+            CourseDashboardManager.invalidateAll();
             return Response.SUCCESS;
         }
     
@@ -435,6 +665,15 @@ public class UserManager {
         //**************************************************
         if (DatabaseController.deleteUser(selectedUser, role)) {
         //**************************************************
+            if (selectedUser instanceof Student) {
+                TutorCommitments.invalidate(((Student) selectedUser).getStudentID());
+                MembershipManager.invalidate(((Student) selectedUser).getStudentID());
+            } else if (selectedUser instanceof Lecturer) {
+                MembershipManager.invalidate(((Lecturer) selectedUser).getEmployeeID());
+            }
+
+            CourseDashboardManager.invalidateAll();
+
             return Response.SUCCESS;
         }
 
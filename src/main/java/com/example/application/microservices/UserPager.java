@@ -0,0 +1,235 @@
+package com.example.application.microservices;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.application.database.DatabaseController;
+import com.example.application.models.Administrator;
+import com.example.application.models.Lecturer;
+import com.example.application.models.Person;
+import com.example.application.models.Student;
+import com.example.application.models.TA;
+import com.example.application.models.Tutor;
+
+/**
+ * This class pages through one type of user for a lazy grid: in the Admin's "User Management" dashboard tab,
+ * or a course's Tutors, TAs or employees in the course view. Each grid has its own pager, as it remembers
+ * where the pages it has served end.
+ *
+ * Class functionality:
+ * 1) Serve a page (offset, limit) of users matching the search, sorted in SQL
+ * 2) Read the page that follows one already served with a keyset condition rather than an OFFSET
+ * 3) Count the users matching the search
+ */
+public class UserPager<T extends Person> {
+
+    /**
+     * Reads a page of users from the DB.
+     */
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        List<T> get(String search, String sortProperty, boolean ascending, String afterSortValue, String afterID, int offset, int limit);
+    }
+
+    /**
+     * Counts the users matching a search in the DB.
+     */
+    @FunctionalInterface
+    private interface CountQuery {
+        int count(String search);
+    }
+
+    private final PageQuery<T> pageQuery;
+    private final CountQuery countQuery;
+    private final Function<T, String> rowID;
+
+    private String search = "";
+
+    // offset -> { sort value, ID } of the row just before it, for the order the cursors were recorded in
+    private final Map<Integer, String[]> cursors = new HashMap<>();
+    private String cursorOrder = "";
+
+    private UserPager(PageQuery<T> pageQuery, CountQuery countQuery) {
+        this(pageQuery, countQuery, UserPager::getUserID);
+    }
+
+    private UserPager(PageQuery<T> pageQuery, CountQuery countQuery, Function<T, String> rowID) {
+        this.pageQuery = pageQuery;
+        this.countQuery = countQuery;
+        this.rowID = rowID;
+    }
+
+    public static UserPager<Administrator> administrators() {
+        return new UserPager<>(DatabaseController::getAdministratorsPage,
+                search -> DatabaseController.countUsers("Administrator", search));
+    }
+
+    public static UserPager<Lecturer> employees() {
+        return new UserPager<>(DatabaseController::getEmployeesPage,
+                search -> DatabaseController.countUsers("Employee", search));
+    }
+
+    public static UserPager<Student> students() {
+        return new UserPager<>(DatabaseController::getStudentsPage,
+                search -> DatabaseController.countUsers("Student", search));
+    }
+
+    /**
+     * @param courseCode
+     * @param year
+     * @return a pager through the course's Tutors that year
+     */
+    public static UserPager<Tutor> tutorsOf(String courseCode, int year) {
+        String y = Integer.toString(year);
+
+        return new UserPager<>(
+                (search, sortProperty, ascending, afterSortValue, afterID, offset, limit) -> DatabaseController
+                        .getActiveTutorsPage(courseCode, y, search, sortProperty, ascending, afterSortValue, afterID, offset, limit),
+                search -> DatabaseController.countCourseStaff("Tutors", courseCode, y, search));
+    }
+
+    /**
+     * @param courseCode
+     * @param year
+     * @return a pager through the course's TAs that year
+     */
+    public static UserPager<TA> tasOf(String courseCode, int year) {
+        String y = Integer.toString(year);
+
+        return new UserPager<>(
+                (search, sortProperty, ascending, afterSortValue, afterID, offset, limit) -> DatabaseController
+                        .getActiveTAsPage(courseCode, y, search, sortProperty, ascending, afterSortValue, afterID, offset, limit),
+                search -> DatabaseController.countCourseStaff("TAs", courseCode, y, search));
+    }
+
+    /**
+     * @param courseCode
+     * @param year
+     * @return a pager through the employees with access to the course that year, each once per role they have in it
+     */
+    public static UserPager<Lecturer> employeesOf(String courseCode, int year) {
+        String y = Integer.toString(year);
+
+        return new UserPager<>(
+                (search, sortProperty, ascending, afterSortValue, afterID, offset, limit) -> DatabaseController
+                        .getEmployeesForPage(courseCode, y, search, sortProperty, ascending, afterSortValue, afterID, offset, limit),
+                search -> DatabaseController.countCourseStaff("Employees", courseCode, y, search),
+                employee -> employee.getEmployeeID() + "/" + employee.getRole().name());
+    }
+
+    /**
+     * This method sets the search (an ID or name prefix) the users have to match
+     *
+     * @param search
+     */
+    public void setSearch(String search) {
+        this.search = search == null ? "" : search.trim();
+        cursors.clear();
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    /**
+     * This method forgets where the pages served end, e.g. after users were created or deleted
+     */
+    public void reset() {
+        cursors.clear();
+    }
+
+    /**
+     * This method returns a page of the users matching the search
+     *
+     * @param offset
+     * @param limit
+     * @param sortProperty the grid property to sort by, or null to sort by ID
+     * @param ascending
+     * @return
+     */
+    public List<T> fetch(int offset, int limit, String sortProperty, boolean ascending) {
+        String order = sortProperty + (ascending ? " ASC" : " DESC");
+
+        if (!order.equals(cursorOrder)) {
+            cursors.clear();
+            cursorOrder = order;
+        }
+
+        String[] cursor = offset == 0 ? null : cursors.get(offset);
+
+        //**********************************************************************************************************
+        List<T> page = pageQuery.get(search, sortProperty, ascending, cursor == null ? null : cursor[0], cursor == null ? null : cursor[1], offset, limit);
+        //**********************************************************************************************************
+
+        if (!page.isEmpty()) {
+            T last = page.get(page.size() - 1);
+            cursors.put(offset + page.size(), new String[] { getSortValue(last, sortProperty), getRowID(last) });
+        }
+
+        return page;
+    }
+
+    /**
+     * This method returns what identifies a user's row among the pages: their ID, or for a course's employees,
+     * their ID and role (an employee may have more than one role in a course)
+     *
+     * @param user
+     * @return
+     */
+    public String getRowID(T user) {
+        return rowID.apply(user);
+    }
+
+    /**
+     * This method counts the users matching the search
+     *
+     * @return
+     */
+    public int count() {
+        //******************************
+        return countQuery.count(search);
+        //******************************
+    }
+
+    /**
+     * This method returns a user's value for a sort property, as it is compared in SQL (null if they have none)
+     *
+     * @param user
+     * @param sortProperty
+     * @return
+     */
+    private static String getSortValue(Person user, String sortProperty) {
+        switch (sortProperty == null ? "" : sortProperty) {
+            case "firstName":
+                return user.getFirstName();
+            case "lastName":
+                return user.getLastName();
+            case "email":
+                return user.getEmail();
+            case "department":
+                return ((Lecturer) user).getDepartment();
+            case "faculty":
+                return ((Lecturer) user).getFaculty();
+            case "qualificationLevel":
+                return ((Student) user).getQualificationLevel().name();
+            case "role":
+                return user.getRole().name();
+            default:
+                return getUserID(user);
+        }
+    }
+
+    private static String getUserID(Person user) {
+        if (user instanceof Student) {
+            return ((Student) user).getStudentID();
+        }
+
+        if (user instanceof Lecturer) {
+            return ((Lecturer) user).getEmployeeID();
+        }
+
+        return ((Administrator) user).getEmployeeID();
+    }
+}
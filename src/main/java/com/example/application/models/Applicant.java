@@ -0,0 +1,39 @@
+package com.example.application.models;
+
+import com.example.application.PublicEnums.ApplicationStatus;
+import com.example.application.PublicEnums.QualificationLevel;
+
+/**
+ * A student with a pending application, as reviewed for a specific course: it carries the grade the
+ * student achieved for that course and the motivation they submitted, so neither has to be fetched
+ * separately.
+ */
+public class Applicant extends Student {
+
+    private double grade;
+    private String motivation;
+
+    /**
+     * @param firstName
+     * @param lastName
+     * @param email
+     * @param studentID
+     * @param qualificationLevel
+     * @param applicationStatus
+     * @param grade
+     * @param motivation
+     */
+    public Applicant(String firstName, String lastName, String email, String studentID, QualificationLevel qualificationLevel, ApplicationStatus applicationStatus, double grade, String motivation) {
+        super(firstName, lastName, email, studentID, qualificationLevel, applicationStatus, null);
+        this.grade = grade;
+        this.motivation = motivation;
+    }
+
+    public double getGrade() {
+        return grade;
+    }
+
+    public String getMotivation() {
+        return motivation;
+    }
+}
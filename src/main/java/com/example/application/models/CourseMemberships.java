@@ -0,0 +1,82 @@
+package com.example.application.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.example.application.PublicEnums.Role;
+
+/**
+ * A snapshot of the courses a user works on: every (courseCode, year, role) they hold, as a Tutor or TA
+ * (students) or as an employee given access to the course. Taken at sign-in and kept in the session, so
+ * moving between courses does not need the database to work out what the user may do there.
+ */
+public class CourseMemberships {
+
+    private final long loadedAt;
+    private final List<Membership> memberships;
+
+    /**
+     * @param loadedAt    When (see MembershipManager) the memberships were read.
+     * @param memberships The memberships, in the order the courses are to be listed in.
+     */
+    public CourseMemberships(long loadedAt, List<Membership> memberships) {
+        this.loadedAt = loadedAt;
+        this.memberships = Collections.unmodifiableList(new ArrayList<>(memberships));
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public List<Membership> getMemberships() {
+        return memberships;
+    }
+
+    /**
+     * @param courseCode
+     * @param year
+     * @return the user's role in the course that year (Tutor ahead of TA, should they be both), or NoRole
+     */
+    public Role getRole(String courseCode, int year) {
+        Role role = Role.NoRole;
+
+        for (Membership membership : memberships) {
+            if (membership.getYear() == year && membership.getCourseCode().equals(courseCode)) {
+                if (membership.getRole() == Role.Tutor) {
+                    return Role.Tutor;
+                }
+                role = membership.getRole();
+            }
+        }
+
+        return role;
+    }
+
+    /**
+     * One (courseCode, year, role) a user holds.
+     */
+    public static class Membership {
+        private final String courseCode;
+        private final int year;
+        private final Role role;
+
+        public Membership(String courseCode, int year, Role role) {
+            this.courseCode = courseCode;
+            this.year = year;
+            this.role = role;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.application.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The (running) outcome of a bulk user import: how many rows were read, created and skipped, along with
+ * the reason each invalid row was rejected.
+ */
+public class ImportResult {
+
+    private int rowsRead;
+    private int created;
+    private int duplicates;
+    private List<String> errors = new ArrayList<>();
+
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public void addRowRead() {
+        rowsRead++;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void addCreated(int count) {
+        created += count;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public void addDuplicates(int count) {
+        duplicates += count;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void addError(String error) {
+        errors.add(error);
+    }
+
+    @Override
+    public String toString() {
+        return rowsRead + " rows read: " + created + " created, " + duplicates + " already existed, " + errors.size() + " invalid";
+    }
+}
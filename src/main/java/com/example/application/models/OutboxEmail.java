@@ -0,0 +1,64 @@
+package com.example.application.models;
+
+import com.example.application.PublicEnums.EmailStatus;
+
+/**
+ * An email waiting in (or delivered from) the EmailOutbox table.
+ */
+public class OutboxEmail {
+
+    private int emailID;
+    private String recipient;
+    private String subject;
+    private String body;
+    private EmailStatus status;
+    private int attempts;
+
+    /**
+     * @param recipient
+     * @param subject
+     * @param body
+     */
+    public OutboxEmail(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = EmailStatus.PENDING;
+    }
+
+    public int getEmailID() {
+        return emailID;
+    }
+
+    public void setEmailID(int emailID) {
+        this.emailID = emailID;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public EmailStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EmailStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -6,6 +6,7 @@ public class Schedule {
 
     // Attributes
     private int scheduleID;
+    private int version; // bumped with every edit, so an edit made to an out of date copy can be refused
     private Course course;
     private ArrayList<TutoringSession> slots;
 
@@ -49,6 +50,14 @@ public class Schedule {
         this.slots = slots;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public Course getCourse() {
         return course;
     }
@@ -0,0 +1,38 @@
+package com.example.application.models;
+
+import com.example.application.PublicEnums.ScheduleChangeType;
+
+/**
+ * A change to a course's schedule, as pushed to the views showing it: a tutor joining or leaving a
+ * session (the delta the view applies to its copy of the schedule), or the sessions themselves
+ * having been edited (which the view reloads).
+ */
+public class ScheduleChange {
+
+    private ScheduleChangeType type;
+    private int sessionID;
+    private Tutor tutor;
+
+    /**
+     * @param type
+     * @param sessionID The session the tutor joined or left (unused for SCHEDULE_UPDATED).
+     * @param tutor     The tutor who joined or left (null for SCHEDULE_UPDATED).
+     */
+    public ScheduleChange(ScheduleChangeType type, int sessionID, Tutor tutor) {
+        this.type = type;
+        this.sessionID = sessionID;
+        this.tutor = tutor;
+    }
+
+    public ScheduleChangeType getType() {
+        return type;
+    }
+
+    public int getSessionID() {
+        return sessionID;
+    }
+
+    public Tutor getTutor() {
+        return tutor;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.application.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The changes between two versions of a schedule: the sessions added (which have no ID yet), the sessions
+ * with at least one of their fields changed (and which fields), and the sessions removed. Sessions that are
+ * unchanged are not included, so saving the diff touches only the rows - and columns - that changed.
+ */
+public class ScheduleDiff {
+
+    private List<TutoringSession> added = new ArrayList<>();
+    private List<TutoringSession> updated = new ArrayList<>();
+    private List<TutoringSession> removed = new ArrayList<>();
+    // sessionID -> the fields changed, of each updated session
+    private Map<Integer, Set<String>> updatedFields = new HashMap<>();
+
+    /**
+     * Works out the changes from one version of a schedule's sessions to another, matching the sessions
+     * up by their IDs - O(n) in the number of sessions.
+     *
+     * @param oldSessions The sessions as they are stored.
+     * @param newSessions The sessions as they should be stored (the new ones with ID 0).
+     * @return the diff
+     */
+    public static ScheduleDiff between(List<TutoringSession> oldSessions, List<TutoringSession> newSessions) {
+        ScheduleDiff diff = new ScheduleDiff();
+
+        Map<Integer, TutoringSession> oldByID = new HashMap<>();
+        for (TutoringSession session : oldSessions) {
+            oldByID.put(session.getSessionID(), session);
+        }
+
+        for (TutoringSession session : newSessions) {
+            TutoringSession old = session.getSessionID() == 0 ? null : oldByID.remove(session.getSessionID());
+
+            if (old == null) {
+                diff.added.add(session);
+                continue;
+            }
+
+            Set<String> fields = getChangedFields(old, session);
+
+            if (!fields.isEmpty()) {
+                diff.updated.add(session);
+                diff.updatedFields.put(session.getSessionID(), fields);
+            }
+        }
+
+        // whichever old sessions were not matched up are gone
+        diff.removed.addAll(oldByID.values());
+
+        return diff;
+    }
+
+    /**
+     * @param old
+     * @param updated
+     * @return the names of the fields (as they are called in the TutoringSessions table) that differ
+     */
+    public static Set<String> getChangedFields(TutoringSession old, TutoringSession updated) {
+        Set<String> fields = new LinkedHashSet<>();
+
+        if (!Objects.equals(old.getDay(), updated.getDay())) {
+            fields.add("day");
+        }
+        if (old.getStartTimeAsDouble() != updated.getStartTimeAsDouble()) {
+            fields.add("startTime");
+        }
+        if (old.getEndTimeAsDouble() != updated.getEndTimeAsDouble()) {
+            fields.add("endTime");
+        }
+        if (old.getTutoringCapacity() != updated.getTutoringCapacity()) {
+            fields.add("tutoringCapacity");
+        }
+        if (!Objects.equals(old.getLocation(), updated.getLocation())) {
+            fields.add("location");
+        }
+        if (!Objects.equals(old.getWhatsappLink(), updated.getWhatsappLink())) {
+            fields.add("whatsappLink");
+        }
+
+        return fields;
+    }
+
+    public List<TutoringSession> getAdded() {
+        return added;
+    }
+
+    public List<TutoringSession> getUpdated() {
+        return updated;
+    }
+
+    public List<TutoringSession> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @param session one of the updated sessions
+     * @return the names of its fields (as they are called in the TutoringSessions table) that changed
+     */
+    public Set<String> getUpdatedFields(TutoringSession session) {
+        return updatedFields.get(session.getSessionID());
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+}
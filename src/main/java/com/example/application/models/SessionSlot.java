@@ -0,0 +1,47 @@
+package com.example.application.models;
+
+/**
+ * When a tutoring session takes place: the year of its schedule, its day and its start and end times
+ * (in hours, e.g. 14.5 for 14:30). This is all the tutor conflict check needs to know about a session.
+ */
+public class SessionSlot {
+
+    private int sessionID;
+    private int year;
+    private String day;
+    private double startTime;
+    private double endTime;
+
+    public SessionSlot(int sessionID, int year, String day, double startTime, double endTime) {
+        this.sessionID = sessionID;
+        this.year = year;
+        this.day = day;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public int getSessionID() {
+        return sessionID;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public double getStartTime() {
+        return startTime;
+    }
+
+    public double getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return day + " " + startTime + " - " + endTime + " (" + year + ")";
+    }
+}
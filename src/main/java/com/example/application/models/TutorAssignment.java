@@ -0,0 +1,28 @@
+package com.example.application.models;
+
+/**
+ * A tutor given a seat in a tutoring session by the assignment solver.
+ */
+public class TutorAssignment {
+
+    private int sessionID;
+    private String studentID;
+
+    public TutorAssignment(int sessionID, String studentID) {
+        this.sessionID = sessionID;
+        this.studentID = studentID;
+    }
+
+    public int getSessionID() {
+        return sessionID;
+    }
+
+    public String getStudentID() {
+        return studentID;
+    }
+
+    @Override
+    public String toString() {
+        return studentID + " -> " + sessionID;
+    }
+}
@@ -9,11 +9,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,12 +34,14 @@ import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.Grid.SelectionMode;
 import com.vaadin.flow.component.grid.GridVariant;
 import com.vaadin.flow.component.grid.ItemClickEvent;
+import com.vaadin.flow.data.renderer.LitRenderer;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.Tabs;
 import com.vaadin.flow.component.tabs.TabsVariant;
@@ -45,13 +51,26 @@ import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.timepicker.TimePicker;
 import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.Registration;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
 import com.example.application.Dialogs;
 import com.example.application.PublicEnums.Response;
 import com.example.application.PublicEnums.Role;
+import com.example.application.PublicEnums.ScheduleChangeType;
 
 import com.example.application.microservices.*;
 import com.example.application.models.*;
@@ -74,18 +93,42 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
     private int year;
 
     private Grid<TimeSlot> scheduleGrid;
+
+    // Renders a day's session cells (TimeSlot.getCells) in the browser; clicking one calls openSession(id, index)
+    private static final String SESSION_CELLS_TEMPLATE =
+            "<div class=\"session-cells\">"
+            + "${item.cells.map(cell => html`"
+            + "<vaadin-button theme=\"small primary\" style=\"background-color: ${cell.colour}\""
+            + " @click=${event => { event.stopPropagation(); openSession(cell.id, cell.index); }}>${cell.label}</vaadin-button>`)}"
+            + "</div>";
     private Schedule schedule;
+    private Schedule scheduleBeforeEdit; // the schedule as read when editing started, to work out the changes from
     private Button editScheduleButton;
     private Button cancelButton;
     private boolean isEditClicked = false;
 
     private VerticalLayout contentContainer;
+    private H2 courseHeading;
+
+    // The read of the selected tab's data, until it is shown (it is dropped if another tab is selected first)
+    private CompletableFuture<?> pendingLoad;
+
+    // The read of a schedule someone else has edited, until it is shown
+    private volatile CompletableFuture<Schedule> pendingScheduleRead;
 
     private Grid<Tutor> tutorGrid = new Grid<>(Tutor.class);
     private Grid<TA> TAGrid = new Grid<>(TA.class);
 
+    // The staff grids are lazy: each page is read (and sorted) in the DB as it is scrolled to
+    private UserPager<Tutor> tutorPager;
+    private UserPager<TA> taPager;
+    private UserPager<Lecturer> employeePager;
+
     private List<String> sessionColours = new ArrayList<>();
 
+    // The changes other users make to this schedule are pushed to the view while it is attached
+    private Registration scheduleChangeRegistration;
+
     /**
      * Constructor for the CourseView class.
      * Initializes the UI components and sets up event listeners.
@@ -102,21 +145,20 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
             year = (int) VaadinSession.getCurrent().getAttribute("selectedCourseYear");
 
             if (role == Role.Student) {
-                //*********************************************************************************
-                isTutorOrTA = StudentManager.isTutorOrTA(courseCode, Integer.toString(year), id);
-                //*********************************************************************************
+                // from the memberships read at sign-in
+                isTutorOrTA = MembershipManager.getRole(courseCode, year);
             }
 
-            //*****************************************************
-            currentCourse = CourseManager.getCourseFor(courseCode);
-            //*****************************************************
+            tutorPager = UserPager.tutorsOf(courseCode, year);
+            taPager = UserPager.tasOf(courseCode, year);
+            employeePager = UserPager.employeesOf(courseCode, year);
 
-            // Initialise Schedule
-            schedule = new Schedule(currentCourse);
+            // Initialise Schedule (it is read along with the rest of the course, once the view is drawn)
+            schedule = new Schedule();
             initialiseSessionColours();
 
-            // Create a heading element to display the course code
-            Div courseHeading = new Div(new H2(courseCode + " - " + currentCourse.getName()));
+            // Create a heading element to display the course code (and its name, once it is read)
+            courseHeading = new H2(courseCode);
 
             // Create tabs
             Tabs tabs = new Tabs();
@@ -158,7 +200,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
             }
             
             // Add components to the layout
-            add(courseHeading, tabs, contentContainer);
+            add(new Div(courseHeading), tabs, contentContainer);
         }
     }
 
@@ -173,23 +215,280 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         }
     }
 
+    /**
+     * Starts listening for changes to the schedule (e.g. other tutors signing up) once the view is shown.
+     * @param attachEvent
+     */
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+
+        if (role == null) {
+            return;
+        }
+
+        UI ui = attachEvent.getUI();
+        scheduleChangeRegistration = ScheduleEventBus.register(courseCode, year,
+                change -> receiveScheduleChange(ui, change));
+    }
+
+    /**
+     * Stops listening for changes to the schedule once the view is closed.
+     * @param detachEvent
+     */
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        cancelPendingLoad();
+
+        if (scheduleChangeRegistration != null) {
+            scheduleChangeRegistration.remove();
+            scheduleChangeRegistration = null;
+        }
+
+        CompletableFuture<Schedule> scheduleRead = pendingScheduleRead;
+        if (scheduleRead != null) {
+            scheduleRead.cancel(false);
+        }
+
+        super.onDetach(detachEvent);
+    }
+
+    /**
+     * Receives a change pushed for this schedule (on the thread of whoever made it), and has it applied on the
+     * UI. A schedule edited by someone else is read again first, in the background and without holding the
+     * UI's lock (see CourseDashboardManager.getScheduleAsync, which shares the read between everyone viewing it).
+     * 
+     * @param ui     The UI the view is attached to.
+     * @param change ScheduleChange, the change made to the schedule.
+     */
+    private void receiveScheduleChange(UI ui, ScheduleChange change) {
+        if (change.getType() != ScheduleChangeType.SCHEDULE_UPDATED) {
+            ui.access(() -> applyScheduleChange(change, null));
+            return;
+        }
+
+        //**********************************************************************************************
+        CompletableFuture<Schedule> scheduleRead = CourseDashboardManager.getScheduleAsync(courseCode, year);
+        //**********************************************************************************************
+
+        pendingScheduleRead = scheduleRead;
+        scheduleRead.thenAccept(updatedSchedule -> ui.access(() -> applyScheduleChange(change, updatedSchedule)));
+    }
+
+    /**
+     * Applies a change pushed for this schedule. A tutor joining or leaving a session is applied to the
+     * schedule already loaded; only an edit of the sessions themselves replaces it.
+     * 
+     * @param change          ScheduleChange, the change made to the schedule.
+     * @param updatedSchedule The schedule as it is since it was edited (SCHEDULE_UPDATED only).
+     */
+    private void applyScheduleChange(ScheduleChange change, Schedule updatedSchedule) {
+        switch (change.getType()) {
+            case TUTOR_JOINED:
+            case TUTOR_LEFT:
+                for (TutoringSession ts : schedule.getTutoringSessions()) {
+                    if (ts.getSessionID() != change.getSessionID()) {
+                        continue;
+                    }
+
+                    if (ts.getSignedUpTutors() == null) {
+                        ts.setSignedUpTutors(new ArrayList<>());
+                    }
+
+                    String studentID = change.getTutor().getStudentID();
+                    ts.getSignedUpTutors().removeIf(tutor -> tutor.getStudentID().equals(studentID));
+
+                    if (change.getType() == ScheduleChangeType.TUTOR_JOINED) {
+                        ts.addTutor(change.getTutor());
+                    }
+                }
+                break;
+
+            case SCHEDULE_UPDATED:
+                // an edit in progress here is not thrown away
+                if (isEditClicked) {
+                    return;
+                }
+
+                schedule = updatedSchedule;
+                break;
+
+            default:
+                return;
+        }
+
+        if (scheduleGrid != null) {
+            populateScheduleGrid();
+        }
+    }
+
+    /**
+     * @return The current user, as a Tutor of this course.
+     */
+    private Tutor getCurrentTutor() {
+        Student student = (Student) VaadinSession.getCurrent().getAttribute("personObject");
+
+        return new Tutor(student.getFirstName(), student.getLastName(), student.getEmail(), student.getStudentID(),
+                student.getQualificationLevel(), student.getApplicationStatus(), null);
+    }
+
     /**
      * Used to update the container underneath Tabs, based on the user's choice of
      * Tab.
      * 
+     * Only the data the tab shows is read (see CourseDashboardManager), in the background: a placeholder
+     * is shown until it is, rather than holding up the request.
+     * 
      * @param tabName The string of the tab that the user clicked.
      */
     private void setContent(String tabName) {
+        cancelPendingLoad();
+
+        //**********************************************************************************************
+        CompletableFuture<Course> course = CourseDashboardManager.getCourseAsync(courseCode, year);
+        CompletableFuture<?> tabData = readTabData(tabName);
+        //**********************************************************************************************
+
+        CompletableFuture<Void> load = CompletableFuture.allOf(course, tabData);
+
+        // nobody is waiting for the tab's data any more (another tab was selected, or the view was closed)
+        load.whenComplete((done, e) -> {
+            if (load.isCancelled()) {
+                course.cancel(false);
+                tabData.cancel(false);
+            }
+        });
+
+        // already read (e.g. by someone else viewing the course) - no need for a placeholder
+        if (load.isDone() && !load.isCompletedExceptionally()) {
+            showContent(tabName, course.join(), tabData.join());
+            return;
+        }
+
         contentContainer.removeAll();
+        ProgressBar placeholder = new ProgressBar();
+        placeholder.setIndeterminate(true);
+        contentContainer.add(new Span("Loading " + tabName + "..."), placeholder);
+
+        UI ui = UI.getCurrent();
+        pendingLoad = load;
+
+        load.whenComplete((done, e) -> {
+            if (load.isCancelled()) {
+                return;
+            }
+
+            ui.access(() -> {
+                // a tab selected since has taken over
+                if (pendingLoad != load) {
+                    return;
+                }
+                pendingLoad = null;
+
+                if (e != null) {
+                    e.printStackTrace();
+                    showContent(tabName, null, null);
+                } else {
+                    showContent(tabName, course.join(), tabData.join());
+                }
+            });
+        });
+    }
+
+    /**
+     * Reads the data a tab shows, besides the course.
+     * 
+     * @param tabName The string of the tab that the user clicked.
+     * @return The schedule, or the number of Tutors or TAs, once it is read (null for the other tabs).
+     */
+    private CompletableFuture<?> readTabData(String tabName) {
+        switch (tabName) {
+            case "Schedule":
+                return CourseDashboardManager.getScheduleAsync(courseCode, year);
+            case "Tutor Listing":
+                return CourseDashboardManager.countTutorsAsync(courseCode, year);
+            case "TA Listing":
+                return CourseDashboardManager.countTAsAsync(courseCode, year);
+            default:
+                return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Fetches the page of staff a grid asks for, in the grid's sort order.
+     *
+     * @param pager The pager of the grid's staff.
+     * @param query The grid's query (offset, limit and sort order).
+     * @return The page of staff.
+     */
+    private <T extends Person> Stream<T> fetchPage(UserPager<T> pager, Query<T, Void> query) {
+        QuerySortOrder sortOrder = query.getSortOrders().isEmpty() ? null : query.getSortOrders().get(0);
+
+        //*******************************************************************************************
+        return pager.fetch(query.getOffset(), query.getLimit(),
+                sortOrder == null ? null : sortOrder.getSorted(),
+                sortOrder == null || sortOrder.getDirection() == SortDirection.ASCENDING).stream();
+        //*******************************************************************************************
+    }
+
+    /**
+     * Creates a field that searches a staff grid (by ID or name prefix) as the user types.
+     *
+     * @param pager The pager of the grid's staff.
+     * @param grid  The grid.
+     * @return The search field.
+     */
+    private <T extends Person> TextField createSearchField(UserPager<T> pager, Grid<T> grid) {
+        TextField searchField = new TextField();
+        searchField.setPlaceholder("Search by ID or Name");
+        searchField.setValue(pager.getSearch());
+        searchField.setWidthFull();
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.setValueChangeTimeout(300); // search once the user pauses typing, not on every keystroke
+        searchField.addValueChangeListener(event -> {
+            pager.setSearch(event.getValue());
+            grid.getDataProvider().refreshAll();
+        });
+
+        return searchField;
+    }
+
+    /**
+     * Cancels the read of the selected tab's data, if it has not been shown yet.
+     */
+    private void cancelPendingLoad() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+            pendingLoad = null;
+        }
+    }
+
+    /**
+     * Fills the container underneath Tabs with a tab's content.
+     * 
+     * @param tabName The string of the tab that the user clicked.
+     * @param course  The course (null if it could not be read).
+     * @param tabData The data the tab shows, as read by readTabData.
+     */
+    private void showContent(String tabName, Course course, Object tabData) {
+        contentContainer.removeAll();
+
+        if (course == null) {
+            contentContainer.add(new Span("Sorry! " + courseCode + " could not be loaded...Please try again!"));
+            return;
+        }
+
+        if (currentCourse == null) {
+            currentCourse = course;
+            courseHeading.setText(courseCode + " - " + currentCourse.getName());
+        }
 
         switch (tabName) {
             case "Schedule":
                 // Schedule has been chosen
 
                 configureScheduleGrid();
-                //*******************************************************
-                schedule = ScheduleManager.getSchedule(courseCode, year);
-                //*******************************************************
+                schedule = (Schedule) tabData;
                 populateScheduleGrid();
 
                 contentContainer.add(scheduleGrid);
@@ -207,6 +506,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                             //*******************************************************
                             schedule = ScheduleManager.getSchedule(courseCode, year);
                             //*******************************************************
+                            scheduleBeforeEdit = copySchedule(schedule);
                             populateScheduleGrid();
 
                             // Enable handling of cell clicks
@@ -217,9 +517,9 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
 
                         } else if (editScheduleButton.getText().contains("Save")) {
 
-                            // *******************************************************************************************************
-                            Response result = ScheduleManager.updateSchedule(ScheduleManager.getSchedule(courseCode, year), schedule);
-                            // *******************************************************************************************************
+                            // *************************************************************************************
+                            Response result = ScheduleManager.updateSchedule(courseCode, year, scheduleBeforeEdit, schedule);
+                            // *************************************************************************************
 
                             if (result == Response.SUCCESS) {
                                 Dialogs.showDialog("Successful Schedule Update!");
@@ -230,6 +530,16 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                                 // Disable handling of cell clicks
                                 isEditClicked = false;
 
+                            } else if (result == Response.SCHEDULE_CONFLICT) {
+                                // someone else saved their changes first - start again from theirs
+                                Dialogs.showDialog(result);
+
+                                //*******************************************************
+                                schedule = ScheduleManager.getSchedule(courseCode, year);
+                                //*******************************************************
+                                scheduleBeforeEdit = copySchedule(schedule);
+                                populateScheduleGrid();
+
                             } else {
                                 Dialogs.showDialog(
                                         "Sorry! Unsuccessful update of Schedule...Please try again!");
@@ -259,6 +569,17 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                     HorizontalLayout scheduleButtonLayout = new HorizontalLayout(editScheduleButton, cancelButton);
                     scheduleButtonLayout.setWidthFull();
 
+                    // Employees can also have the empty seats filled with the course's tutors
+                    if (role.equals(Role.Employee)) {
+                        Button assignTutorsButton = new Button("Assign Tutors", event -> openAssignTutorsDialog());
+                        assignTutorsButton.setWidth("50%");
+                        assignTutorsButton.setIcon(VaadinIcon.USERS.create());
+                        editScheduleButton.addClickListener(event -> assignTutorsButton.setVisible(!isEditClicked));
+                        cancelButton.addClickListener(event -> assignTutorsButton.setVisible(true));
+
+                        scheduleButtonLayout.add(assignTutorsButton);
+                    }
+
                     contentContainer.add(scheduleButtonLayout);
                 }
 
@@ -272,22 +593,27 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                 topLayout.setAlignItems(Alignment.BASELINE);
                 topLayout.setJustifyContentMode(JustifyContentMode.BETWEEN);
 
-                //*****************************************************************************************
-                List<Tutor> tutorData = StudentManager.getActiveTutors(courseCode, Integer.toString(year));
-                //*****************************************************************************************
+                int tutorCount = (Integer) tabData;
 
-                Button tutorCounter = new Button(tutorData.size() + "/" + currentCourse.getTutorCapacity() + " Active Tutors");
+                Button tutorCounter = new Button(tutorCount + "/" + currentCourse.getTutorCapacity() + " Active Tutors");
                 tutorCounter.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
                 tutorCounter.getStyle().set("cursor", "none");
                 tutorCounter.setEnabled(false);
 
                 // Add "See Applications" button above the TA grid
-                Button seeApplicationsButton = new Button("See Applications", event -> openApplicationsDialog("Tutor Applications", tutorData.size() - currentCourse.getTutorCapacity()));
+                Button seeApplicationsButton = new Button("See Applications", event -> openApplicationsDialog("Tutor Applications", tutorCount - currentCourse.getTutorCapacity()));
                 seeApplicationsButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
                 topLayout.add(seeApplicationsButton, tutorCounter);
 
-                tutorGrid.setItems(tutorData);
+                // the tutors may have changed since the grid was last shown
+                tutorPager.reset();
+                tutorGrid.setItems(
+                        query -> fetchPage(tutorPager, query),
+                        //*******************************
+                        query -> tutorPager.count())
+                        //*******************************
+                        .setIdentifierProvider(Tutor::getStudentID);
                 tutorGrid.setColumns("studentID", "firstName", "lastName", "email", "qualificationLevel");
                 tutorGrid.getStyle().set("border-radius", "15px");
                 tutorGrid.getStyle().set("overflow", "hidden");
@@ -298,7 +624,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                     contentContainer.add(topLayout);
                 }
 
-                contentContainer.add(tutorGrid);
+                contentContainer.add(createSearchField(tutorPager, tutorGrid), tutorGrid);
 
                 break;
 
@@ -310,22 +636,27 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                 topLayout.setAlignItems(Alignment.BASELINE);
                 topLayout.setJustifyContentMode(JustifyContentMode.BETWEEN);
 
-                //********************************************************************************
-                List<TA> taData = StudentManager.getActiveTAs(courseCode, Integer.toString(year));
-                //********************************************************************************
+                int taCount = (Integer) tabData;
 
-                Button taCounter = new Button(taData.size() + "/" + currentCourse.getTaCapacity() + " Active TAs");
+                Button taCounter = new Button(taCount + "/" + currentCourse.getTaCapacity() + " Active TAs");
                 taCounter.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
                 taCounter.getStyle().set("cursor", "none");
                 taCounter.setEnabled(false);
 
                 // Add "See Applications" button above the tutor grid
-                seeApplicationsButton = new Button("See Applications", event -> openApplicationsDialog("TA Applications", taData.size() - currentCourse.getTaCapacity()));
+                seeApplicationsButton = new Button("See Applications", event -> openApplicationsDialog("TA Applications", taCount - currentCourse.getTaCapacity()));
                 seeApplicationsButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
                 topLayout.add(seeApplicationsButton, taCounter);
 
-                TAGrid.setItems(taData);
+                // the TAs may have changed since the grid was last shown
+                taPager.reset();
+                TAGrid.setItems(
+                        query -> fetchPage(taPager, query),
+                        //****************************
+                        query -> taPager.count())
+                        //****************************
+                        .setIdentifierProvider(TA::getStudentID);
                 TAGrid.setColumns("studentID", "firstName", "lastName", "email", "qualificationLevel");
                 TAGrid.getStyle().set("border-radius", "15px");
                 TAGrid.getStyle().set("overflow", "hidden");
@@ -336,7 +667,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                     contentContainer.add(topLayout);
                 }
                 
-                contentContainer.add(TAGrid);
+                contentContainer.add(createSearchField(taPager, TAGrid), TAGrid);
                 
                 break;
 
@@ -360,17 +691,19 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                 Grid<Lecturer> employeeGrid = new Grid<>(Lecturer.class);
                 employeeGrid.setSizeFull();
 
-                //************************************************************************************************
-                List<Lecturer> employeeData = EmployeeManager.getEmployeesFor(courseCode, Integer.toString(year));
-                //************************************************************************************************
-
-                employeeGrid.setItems(employeeData);
+                employeePager.reset();
+                employeeGrid.setItems(
+                        query -> fetchPage(employeePager, query),
+                        //**********************************
+                        query -> employeePager.count())
+                        //**********************************
+                        .setIdentifierProvider(employeePager::getRowID);
                 employeeGrid.setColumns("employeeID", "firstName", "lastName", "email", "department", "faculty", "role");
                 employeeGrid.getStyle().set("border-radius", "15px");
                 employeeGrid.getStyle().set("overflow", "hidden");
                 employeeGrid.setHeightFull();
 
-                courseDetailsLayout.add(employeeGrid);
+                courseDetailsLayout.add(createSearchField(employeePager, employeeGrid), employeeGrid);
                 contentContainer.add(courseDetailsLayout);
                 break;
         }
@@ -387,19 +720,29 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         applicationsDialog.setWidth("850px");
         applicationsDialog.setHeightFull();
 
-        Grid<Student> applicationsGrid = new Grid<>(Student.class);
+        Grid<Applicant> applicationsGrid = new Grid<>(Applicant.class);
         applicationsGrid.setHeightFull();
         applicationsGrid.setSelectionMode(SelectionMode.MULTI);
 
-        //********************************************************************************
-        List<Student> pendingApplicants = StudentManager.getPendingApplicants(courseCode);
-        //********************************************************************************
-        applicationsGrid.setItems(pendingApplicants);
-        applicationsGrid.setColumns("studentID", "firstName", "lastName", "email", "qualificationLevel");
+        // applicants are fetched a page at a time (sorted in the DB), along with their grades and motivations
+        applicationsGrid.setItems(
+                query -> {
+                    QuerySortOrder sortOrder = query.getSortOrders().isEmpty() ? null : query.getSortOrders().get(0);
+                    //******************************************************************************************
+                    return StudentManager.getPendingApplicants(courseCode, query.getOffset(), query.getLimit(),
+                            sortOrder == null ? "studentID" : sortOrder.getSorted(),
+                            sortOrder == null || sortOrder.getDirection() == SortDirection.ASCENDING).stream();
+                    //******************************************************************************************
+                },
+                //**********************************************************
+                query -> StudentManager.countPendingApplicants(courseCode))
+                //**********************************************************
+                .setIdentifierProvider(Applicant::getStudentID);
+        applicationsGrid.setColumns("studentID", "firstName", "lastName", "email", "qualificationLevel", "grade");
         applicationsGrid.getStyle().set("border-radius", "15px");
         applicationsGrid.getStyle().set("overflow", "hidden");
 
-        applicationsGrid.addItemClickListener(event -> openMotivationDialog(event.getItem().getStudentID()));
+        applicationsGrid.addItemClickListener(event -> openMotivationDialog(event.getItem()));
 
         // Add the applications grid to the dialog
         applicationsDialog.add(applicationsGrid);
@@ -407,7 +750,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         // Accepting of Tutors/TAs
         Button acceptButton = new Button("Accept Selected", event -> {
             // Get the selected items from the applicationsGrid
-            Set<Student> selectedStudents = applicationsGrid.getSelectedItems();
+            Set<Student> selectedStudents = new HashSet<>(applicationsGrid.getSelectedItems());
             System.out.println(selectedStudents.size());
 
             // None-Selected Check
@@ -425,15 +768,13 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
             }
 
             //*****************************************************************************************************************
-            Response result = ApplyManager.acceptStudents(courseCode, Integer.toString(year), selectedStudents, applicantRole);
+            Map<String, Response> outcomes = ApplyManager.acceptStudents(courseCode, Integer.toString(year), selectedStudents, applicantRole);
             //*****************************************************************************************************************
 
-            if (result == Response.SUCCESS) {
-                Dialogs.showDialog("Successful acceptance of selected applicants!");
-                
-                //*************************************************************************
-                applicationsGrid.setItems(StudentManager.getPendingApplicants(courseCode));
-                //*************************************************************************
+            if (outcomes != null) {
+                showAcceptanceOutcomes(outcomes, applicantRole);
+
+                applicationsGrid.getDataProvider().refreshAll();
                 applicationsDialog.close();
 
                 if (dialogTitle.contains("Tutor")) {
@@ -455,7 +796,9 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         buttonLayout.setWidthFull();
 
         // Check if Capacity Available, or if no Applicants Found
-        if (capacityAvailable == 0 || pendingApplicants.isEmpty()) {
+        //*******************************************************************************************
+        if (capacityAvailable == 0 || StudentManager.countPendingApplicants(courseCode) == 0) {
+        //*******************************************************************************************
             acceptButton.setEnabled(false);
             acceptButton.getStyle().set("background-color", "gray");
         }
@@ -464,25 +807,58 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         applicationsDialog.open();
     }
 
+    /**
+     * Tells the user how accepting the selected applicants went: how many were accepted, and why the rest
+     * were not (they were already on the course's staff, or the course ran out of capacity before them).
+     * 
+     * @param outcomes Each selected applicant's ID -> SUCCESS, USER_ALREADY_EXISTS or CAPACITY_REACHED.
+     * @param applicantRole What the applicants were accepted as (Tutor or TA).
+     */
+    private void showAcceptanceOutcomes(Map<String, Response> outcomes, Role applicantRole) {
+        long accepted = outcomes.values().stream().filter(outcome -> outcome == Response.SUCCESS).count();
+        long alreadyStaff = outcomes.values().stream().filter(outcome -> outcome == Response.USER_ALREADY_EXISTS).count();
+        long overCapacity = outcomes.values().stream().filter(outcome -> outcome == Response.CAPACITY_REACHED).count();
+
+        if (accepted == outcomes.size()) {
+            Dialogs.showDialog("Successful acceptance of selected applicants!");
+            return;
+        }
+
+        if (overCapacity == outcomes.size()) {
+            Dialogs.showDialog(Response.CAPACITY_REACHED);
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Accepted " + accepted + " of the " + outcomes.size() + " selected applicants.");
+
+        if (alreadyStaff > 0) {
+            message.append(" " + alreadyStaff + " already " + (alreadyStaff == 1 ? "is a " : "are ")
+                    + applicantRole + (alreadyStaff == 1 ? "" : "s") + " of the course.");
+        }
+
+        if (overCapacity > 0) {
+            message.append(" The course has no more capacity for the other " + overCapacity + ".");
+        }
+
+        Dialogs.showDialog(message.toString());
+    }
+
     /**
      * Creates a dialog box to display a student's motivation and grade for a
      * specific course.
      * 
-     * @param studentID String that represetns the unique identifier for a student.
+     * @param applicant The applicant, as loaded with their grade and motivation.
      */
-    private void openMotivationDialog(String studentID) {
+    private void openMotivationDialog(Applicant applicant) {
         Dialog motivationDialog = new Dialog();
         motivationDialog.setWidth("500px");
-        motivationDialog.setHeaderTitle(studentID + "'s Motivation");
+        motivationDialog.setHeaderTitle(applicant.getStudentID() + "'s Motivation");
 
         NumberField gradeField = new NumberField("Grade for " + courseCode);
         gradeField.setWidth("50%");
         gradeField.setSuffixComponent(new Div(new Span("%")));
         gradeField.setReadOnly(true);
-
-        //*****************************************************************************************
-        gradeField.setValue(Double.parseDouble(StudentManager.getGradeFor(courseCode, studentID)));
-        //*****************************************************************************************
+        gradeField.setValue(applicant.getGrade());
 
         // Create a TextArea to display the student's motivation
         TextArea motivationTextArea = new TextArea();
@@ -490,9 +866,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         motivationTextArea.setWidthFull();
         motivationTextArea.setHeight("300px");
 
-        //*******************************************************************
-        motivationTextArea.setValue(StudentManager.getMotivation(studentID));
-        //*******************************************************************
+        motivationTextArea.setValue(applicant.getMotivation());
 
         Button closeButton = new Button("Close", event -> motivationDialog.close());
         closeButton.setIcon(VaadinIcon.ARROW_BACKWARD.create());
@@ -526,11 +900,14 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         scheduleGrid.addColumn(TimeSlot::getTimeslot).setHeader("Time");
 
         // Add columns for each day of the week
+        // The session cells are rendered in the browser from a small JSON model (see TimeSlot), rather than
+        // as a server-side Button per cell - the template is sent once, and one handler serves every cell
         for (String day : Arrays.asList("Monday", "Tuesday", "Wednesday", "Thursday", "Friday")) {
-            scheduleGrid.addComponentColumn(timeSlot -> {
-                List<Button> buttons = timeSlot.getButtonsByDay().getOrDefault(day, Collections.emptyList());
-                return createButtonGroup(buttons);
-            }).setHeader(day);
+            scheduleGrid.addColumn(LitRenderer.<TimeSlot>of(SESSION_CELLS_TEMPLATE)
+                    .withProperty("cells", timeSlot -> timeSlot.getCells(day))
+                    .withFunction("openSession", (timeSlot, args) ->
+                            openTutoringSessionDialog((int) args.getNumber(0), (int) args.getNumber(1))))
+                    .setHeader(day);
         }
 
         // Create data for the grid
@@ -548,27 +925,33 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
      * Schedule.
      */
     private void populateScheduleGrid() {
-        List<TimeSlot> data = getCleanScheduleData();
+        scheduleGrid.setItems(buildScheduleData(schedule.getTutoringSessions(), sessionColours, this::sessionCellLabel));
+    }
 
-        // If Schedule is currently empty, just set it to cleanScheduleData
-        if (schedule.getTutoringSessions().isEmpty()) {
-            scheduleGrid.setItems(data);
-            return;
-        }
+    /**
+     * Builds the rows of the schedule grid: a TimeSlot for every hour from 8:00 to 19:00, with a cell
+     * for every hour each tutoring session runs into (only the first of which is labelled).
+     * 
+     * @param sessions The Schedule's TutoringSessions (a cell's index is the session's index in this list).
+     * @param colours The colour of each session's cells, in order (black once they run out).
+     * @param label Returns the label of a session's first cell.
+     * @return List of TimeSlot objects.
+     */
+    static List<TimeSlot> buildScheduleData(List<TutoringSession> sessions, List<String> colours,
+            Function<TutoringSession, String> label) {
+        List<TimeSlot> data = getCleanScheduleData();
 
-        Iterator<String> colorIterator = sessionColours.iterator();
+        Iterator<String> colorIterator = colours.iterator();
 
-        for (TutoringSession ts : schedule.getTutoringSessions()) {
+        for (int sessionIndex = 0; sessionIndex < sessions.size(); sessionIndex++) {
+            TutoringSession ts = sessions.get(sessionIndex);
             String randomColour = colorIterator.hasNext() ? colorIterator.next() : "#000000"; // Use black if colors run out
 
             int rowIndex = (int) ts.getStartTimeAsDouble() - 8;
             TimeSlot currentTimeSlot = data.get(rowIndex);
 
-            // Create a button for the TutoringSession
-            Button button = viewSessionButton(ts, true);
-            button.getStyle().set("background-color", randomColour);
-
-            currentTimeSlot.addButton(ts.getDay(), button);
+            // Add a cell for the TutoringSession
+            currentTimeSlot.addCell(ts.getDay(), ts.getSessionID(), sessionIndex, label.apply(ts), randomColour);
 
             int duration = (int) (Math.ceil(ts.getEndTimeAsDouble()) - ts.getStartTimeAsDouble()) - 1;
 
@@ -577,54 +960,123 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                 rowIndex++;
                 currentTimeSlot = data.get(rowIndex);
 
-                // Create a new button for each time slot
-                button = viewSessionButton(ts, false);
-                button.getStyle().set("background-color", randomColour);
-
-                currentTimeSlot.addButton(ts.getDay(), button);
+                // Add an (unlabelled) cell for each time slot the session runs into
+                currentTimeSlot.addCell(ts.getDay(), ts.getSessionID(), sessionIndex, "", randomColour);
             }
         }
 
-        scheduleGrid.setItems(data);
+        return data;
     }
 
     /**
-     * Creates a button with the capacity of a tutoring session and adds a click
-     * listener
-     * to handle button clicks.
+     * Returns the label of a tutoring session's first cell in the schedule grid: "SIGNED UP" if the
+     * current user is a Tutor who is signed up for it, otherwise the number of seats available.
      * 
      * @param ts TutoringSession, which contains information about a tutoring
      *           session.
-     * @return Button object.
+     * @return the label
      */
-    private Button viewSessionButton(TutoringSession ts, boolean isFirstHour) {
-        Button button = new Button("");
-        button.addClickListener(event -> openTutoringSessionDialog(ts));
+    private String sessionCellLabel(TutoringSession ts) {
+        // Check if current user is a Tutor who is signed up for this TutoringSession
+        if (role.equals(Role.Student) && isTutorOrTA.equals(Role.Tutor) && ts.getSignedUpTutors() != null) {
 
-        if (isFirstHour) {
+            boolean isCurrentUserSignedUp = ts.getSignedUpTutors()
+                                            .stream()
+                                            .anyMatch(tutor -> tutor.getStudentID().equals(id));
 
-            // Check if current user is a Tutor who is signed up for this TutoringSession
-            if (role.equals(Role.Student) && isTutorOrTA.equals(Role.Tutor)) {
+            if (isCurrentUserSignedUp) {
+                return "SIGNED UP";
+            }
+
+        }
 
-                boolean isCurrentUserSignedUp = ts.getSignedUpTutors()
-                                                .stream()
-                                                .anyMatch(tutor -> tutor.getStudentID().equals(id));
+        if (ts.getSignedUpTutors() == null) {
+            return "Available: " + ts.getTutoringCapacity();
+        }
 
-                if (isCurrentUserSignedUp) {
-                    button.setText("SIGNED UP");
-                    return button;
-                }
+        return "Available: " + (ts.getTutoringCapacity() - ts.getSignedUpTutors().size());
+    }
 
+    /**
+     * Opens the dialog of the tutoring session a schedule grid cell was clicked for. A saved session is found by
+     * its ID, since the cell may have been rendered before a change pushed to the schedule moved it; one added
+     * while editing (which has no ID yet) by its index.
+     * 
+     * @param sessionID the session's ID, as rendered in the cell (0 if it has not been saved)
+     * @param sessionIndex the session's index in the Schedule, as rendered in the cell
+     */
+    private void openTutoringSessionDialog(int sessionID, int sessionIndex) {
+        List<TutoringSession> sessions = schedule.getTutoringSessions();
+
+        if (sessionID != 0) {
+            // nothing is opened if the session has since been removed
+            sessions.stream()
+                    .filter(ts -> ts.getSessionID() == sessionID)
+                    .findFirst()
+                    .ifPresent(this::openTutoringSessionDialog);
+
+        } else if (sessionIndex >= 0 && sessionIndex < sessions.size() && sessions.get(sessionIndex).getSessionID() == 0) {
+            openTutoringSessionDialog(sessions.get(sessionIndex));
+        }
+    }
+
+    /**
+     * Creates and opens a dialog for filling the empty seats of the schedule with the course's tutors,
+     * spread evenly over the sessions and never double-booking a tutor.
+     */
+    private void openAssignTutorsDialog() {
+        Dialog assignDialog = new Dialog();
+        assignDialog.setHeaderTitle("Assign Tutors");
+
+        IntegerField sessionsPerTutorField = new IntegerField("Sessions per tutor");
+        sessionsPerTutorField.setValue(1);
+        sessionsPerTutorField.setMin(1);
+        sessionsPerTutorField.setStepButtonsVisible(true);
+        sessionsPerTutorField.setWidthFull();
+
+        Button assignButton = new Button("Assign", event -> {
+            if (sessionsPerTutorField.getValue() == null || sessionsPerTutorField.getValue() < 1) {
+                Dialogs.showDialog(Response.EMPTY_FIELD);
+                return;
             }
 
-            if (ts.getSignedUpTutors() == null) {
-                button.setText("Available: " + ts.getTutoringCapacity());
+            //***************************************************************************************************************
+            List<TutorAssignment> assignments = ScheduleManager.assignTutors(courseCode, year, sessionsPerTutorField.getValue());
+            //***************************************************************************************************************
+
+            // the grid is updated by the change pushed to every view of this schedule (this one included)
+            if (assignments == null) {
+                Dialogs.showDialog("Sorry! The tutors could not be assigned...Please try again!");
+            } else if (assignments.isEmpty()) {
+                Dialogs.showDialog("There are no empty seats that a tutor is free to fill.");
             } else {
-                button.setText("Available: " + (ts.getTutoringCapacity() - ts.getSignedUpTutors().size()));
+                Dialogs.showDialog("Successfully assigned " + assignments.size() + " seat(s) to tutors!");
             }
-        }
 
-        return button;
+            assignDialog.close();
+        });
+        assignButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+
+        Button closeButton = new Button("Cancel", event -> assignDialog.close());
+
+        assignDialog.add(sessionsPerTutorField);
+        assignDialog.getFooter().add(closeButton, assignButton);
+        assignDialog.open();
+    }
+
+    /**
+     * Copies a schedule, so the changes made to it while editing can be worked out. The sessions
+     * themselves are shared, as editing replaces a session rather than changing it.
+     * 
+     * @param original
+     * @return the copy
+     */
+    private static Schedule copySchedule(Schedule original) {
+        Schedule copy = new Schedule(original.getCourse());
+        copy.setScheduleID(original.getScheduleID());
+        copy.setVersion(original.getVersion());
+        copy.setSlots(new ArrayList<>(original.getTutoringSessions()));
+        return copy;
     }
 
     /**
@@ -634,7 +1086,7 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
      * 
      * @return List of TimeSlot objects.
      */
-    private List<TimeSlot> getCleanScheduleData() {
+    static List<TimeSlot> getCleanScheduleData() {
         List<TimeSlot> data = new ArrayList<>();
         for (int i = 8; i <= 19; i++) {
             String timeslot = String.format("%02d:00", i);
@@ -643,35 +1095,6 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         return data;
     }
 
-    /**
-     * Creates a button group component using a list of buttons, applying styling
-     * and adding the buttons to the group.
-     * 
-     * @param buttons A list of Button objects that will be added to the button
-     *                group.
-     * @return Component, specifically a Div component that contains a group of
-     *         buttons.
-     */
-    private Component createButtonGroup(List<Button> buttons) {
-        Div buttonGroup = new Div();
-
-        // Use Flexbox to make buttons wrap and stack vertically
-        buttonGroup.getStyle().set("display", "flex");
-        buttonGroup.getStyle().set("flex-wrap", "wrap");
-        buttonGroup.getStyle().set("flex-direction", "column");
-
-        for (Button button : buttons) {
-            button.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
-            button.setHeightFull();
-            buttonGroup.add(button);
-        }
-
-        buttonGroup.setWidth("75%");
-        buttonGroup.setHeightFull();
-
-        return buttonGroup;
-    }
-
     /**
      * Handles a cell click event by displaying a dialog with information about the
      * clicked timeslot and day.
@@ -1064,19 +1487,29 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                         // Create a signup button
                         Button signUpButton = new Button("Sign Up", event -> {
 
-                            //********************************************************************************
-                            Response result = ScheduleManager.tutorSignUp(tutoringSession.getSessionID(), id);
-                            //********************************************************************************
+                            //*********************************************************************************************************
+                            Response result = ScheduleManager.tutorSignUp(courseCode, year, tutoringSession.getSessionID(), getCurrentTutor());
+                            //*********************************************************************************************************
 
+                            // the grid is updated by the change pushed to every view of this schedule (this one included)
                             if (result == Response.SUCCESS) {
                                 Dialogs.showDialog("Successfully signed up to the session!");
                                 sessionDialog.close();
 
+                            } else if (result == Response.SESSION_FULL) {
+                                // another tutor took the last seat since the schedule was loaded
+                                Dialogs.showDialog(result);
+                                sessionDialog.close();
+
                                 //******************************************************
                                 schedule = ScheduleManager.getSchedule(courseCode, year);
                                 //******************************************************
                                 populateScheduleGrid();
 
+                            } else if (result == Response.SESSION_CLASH) {
+                                // the tutor is signed up for another session (maybe of another course) at this time
+                                Dialogs.showDialog(result);
+
                             } else {
                                 Dialogs.showDialog("Sorry! Something went wrong signing up to the session...Please try again!");
                                 sessionDialog.close();
@@ -1097,20 +1530,15 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                     // Create a button for the user to leave the TutoringSession
                     Button leaveButton = new Button("Leave", event -> {
 
-                        //*******************************************************************************
-                        Response result = ScheduleManager.tutorLeave(tutoringSession.getSessionID(), id);
-                        //*******************************************************************************
+                        //********************************************************************************************************
+                        Response result = ScheduleManager.tutorLeave(courseCode, year, tutoringSession.getSessionID(), getCurrentTutor());
+                        //********************************************************************************************************
 
+                        // the pushed change removes the current user from the session's signed-up tutors
                         if (result == Response.SUCCESS) {
-                            // Remove the current user from signed-up tutors
                             Dialogs.showDialog("You have left the session.");
                             sessionDialog.close();
 
-                            //*******************************************************
-                            schedule = ScheduleManager.getSchedule(courseCode, year);
-                            //*******************************************************
-                            populateScheduleGrid();
-
                         } else {
                             Dialogs.showDialog("Sorry! Something went wrong leaving the session...Please try again!");
                         }
@@ -1148,6 +1576,9 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
                                 if (result == Response.SUCCESS) {
                                     Dialogs.showDialog("Your attendance has been successfully recorded!");
                                     sessionDialog.close();
+                                } else if (result == Response.ALREADY_CHECKED_IN) {
+                                    Dialogs.showDialog(result);
+                                    sessionDialog.close();
                                 } else {
                                     Dialogs.showDialog("Sorry! Something went wrong recording your attendance...Please try again!");
                                 }
@@ -1261,12 +1692,22 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         stat.setWidthFull();
         stat.setHelperText("This is the overall number of tutor attendances for " + courseCode + ".");
 
-        //*********************************************************
-        stat.setValue(CourseManager.getCourseStatsFor(courseCode));
-        //*********************************************************
-
         perCourseStatsDialog.add(stat);
         perCourseStatsDialog.open();
+
+        // the dialog is filled in once the statistics are read
+        UI ui = UI.getCurrent();
+
+        //**************************************************************************************************
+        CompletableFuture<Integer> stats = CourseDashboardManager.getCourseStatsAsync(courseCode, year);
+        //**************************************************************************************************
+
+        stats.thenAccept(attendances -> ui.access(() -> stat.setValue(attendances)));
+        perCourseStatsDialog.addOpenedChangeListener(event -> {
+            if (!event.isOpened()) {
+                stats.cancel(false);
+            }
+        });
     } 
 
     /**
@@ -1326,19 +1767,21 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
      * The TimeSlot class represents a time slot and stores buttons organized by
      * day.
      */
-    private static class TimeSlot {
+    static class TimeSlot {
+        private static final JsonArray EMPTY_CELLS = Json.createArray();
+
         private String timeslot;
-        private Map<String, List<Button>> buttonsByDay; // Store buttons by day
+        private Map<String, JsonArray> cellsByDay; // Store the session cells by day
 
         /**
          * Constructor that takes in a paramter called timeslot and assings it to timeslot attribute.
-         * Also, initialises a new HashMap called buttonsByDay.
+         * Also, initialises a new HashMap called cellsByDay.
          * 
          * @param timeslot
          */
         public TimeSlot(String timeslot) {
             this.timeslot = timeslot;
-            this.buttonsByDay = new HashMap<>();
+            this.cellsByDay = new HashMap<>();
         }
 
         /**
@@ -1351,23 +1794,34 @@ public class CourseView extends VerticalLayout implements BeforeEnterObserver {
         }
 
         /**
-         * The function returns a map that contains a list of buttons for each day.
+         * The function returns the session cells of a day, as they are sent to the browser:
+         * [{ "id": session ID, "index": session index, "label": ..., "colour": ... }, ...]
          * 
-         * @return A Map object with String keys and List<Button> values is being returned.
+         * @param day
+         * @return A JsonArray with an object for each cell (empty if there are none).
          */
-        public Map<String, List<Button>> getButtonsByDay() {
-            return buttonsByDay;
+        public JsonArray getCells(String day) {
+            return cellsByDay.getOrDefault(day, EMPTY_CELLS);
         }
 
         /**
-         * The function adds a button to a list of buttons associated with a specific day.
+         * The function adds a session cell to the list of cells associated with a specific day.
          * 
-         * @param day A string representing the day for which the button is being added.
-         * @param button The parameter "button" is of type Button. It represents the button that needs
-         * to be added to the list of buttons for a specific day.
+         * @param day A string representing the day for which the cell is being added.
+         * @param sessionID The ID of the TutoringSession (0 if it has not been saved yet).
+         * @param sessionIndex The index of the TutoringSession in the Schedule.
+         * @param label The text shown in the cell.
+         * @param colour The background colour of the cell.
          */
-        public void addButton(String day, Button button) {
-            buttonsByDay.computeIfAbsent(day, k -> new ArrayList<>()).add(button);
+        public void addCell(String day, int sessionID, int sessionIndex, String label, String colour) {
+            JsonObject cell = Json.createObject();
+            cell.put("id", sessionID);
+            cell.put("index", sessionIndex);
+            cell.put("label", label);
+            cell.put("colour", colour);
+
+            JsonArray cells = cellsByDay.computeIfAbsent(day, k -> Json.createArray());
+            cells.set(cells.length(), cell);
         }
     }
 }
\ No newline at end of file
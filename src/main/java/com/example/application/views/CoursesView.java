@@ -27,10 +27,9 @@ import com.vaadin.flow.data.value.ValueChangeMode;
 import com.example.application.PublicEnums.Role;
 
 import com.example.application.models.Course;
-import com.example.application.models.Lecturer;
-import com.example.application.models.Student;
 
 import com.example.application.microservices.CourseManager;
+import com.example.application.microservices.MembershipManager;
 
 /**
  * A view that displays a list of active courses as clickable blocks.
@@ -105,13 +104,13 @@ public class CoursesView extends VerticalLayout implements BeforeEnterObserver {
             // If user is an Employee (CC or Lecturer),
             // show only Courses that they are associated with - AccessibleCourses table.
             case Employee:
-                initialisedCourses = CourseManager.getCoursesFor((Lecturer) VaadinSession.getCurrent().getAttribute("personObject"));
+                initialisedCourses = CourseManager.getCoursesFor(MembershipManager.getMemberships());
                 break; 
 
             // If the user is an Accepted Student (Tutor or TA),
             // show only the Course they are working for or have worked in the past
             case Student:
-                initialisedCourses = CourseManager.getCoursesFor((Student) VaadinSession.getCurrent().getAttribute("personObject"));
+                initialisedCourses = CourseManager.getCoursesFor(MembershipManager.getMemberships());
                 break;
 
             case NoRole:
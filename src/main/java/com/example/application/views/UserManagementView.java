@@ -1,8 +1,12 @@
 package com.example.application.views;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
@@ -19,6 +23,9 @@ import com.vaadin.flow.component.tabs.TabsVariant;
 
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -27,6 +34,12 @@ import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
 
 import com.example.application.Dialogs;
 import com.example.application.PublicEnums.ApplicationStatus;
@@ -35,6 +48,7 @@ import com.example.application.PublicEnums.Response;
 import com.example.application.PublicEnums.Role;
 import com.example.application.microservices.StudentManager;
 import com.example.application.microservices.UserManager;
+import com.example.application.microservices.UserPager;
 import com.example.application.models.*;
 
 /**
@@ -53,6 +67,11 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
     private Grid<Lecturer> employeeGrid = new Grid<>(Lecturer.class);
     private Grid<Student> studentGrid = new Grid<>(Student.class);
 
+    // each grid is paged (and searched) in SQL, a page at a time
+    private UserPager<Administrator> administratorPager = UserPager.administrators();
+    private UserPager<Lecturer> employeePager = UserPager.employees();
+    private UserPager<Student> studentPager = UserPager.students();
+
     private String currentTab = "Administrator";
 
     private TextField searchField;
@@ -92,12 +111,13 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
         employeeGrid.addItemClickListener(event -> openUserFormDialog(event.getItem()));
         studentGrid.addItemClickListener(event -> openUserFormDialog(event.getItem()));
 
-        searchField = new TextField("Search by User ID");
-        searchField.setPlaceholder("User ID");
+        searchField = new TextField("Search by User ID or Name");
+        searchField.setPlaceholder("User ID or Name");
         searchField.getStyle().setPadding("0px");
         searchField.setWidthFull();
         searchField.setMinWidth("130px");
         searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.setValueChangeTimeout(300); // search once the admin pauses typing, not on every keystroke
         searchField.addValueChangeListener(event -> filterUsers(event.getValue()));
 
         // Set up content containers
@@ -139,6 +159,14 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
         layout.setAlignItems(Alignment.CENTER);
         layout.setJustifyContentMode(JustifyContentMode.START);
 
+        // Adding Import CSV button
+        Button importButton = new Button("Import CSV", event -> openImportDialog());
+        importButton.addThemeVariants(ButtonVariant.LUMO_LARGE);
+        importButton.setIcon(VaadinIcon.UPLOAD.create());
+        importButton.setHeightFull();
+        importButton.setMinWidth("150px");
+        layout.add(importButton);
+
         // Adding Reset System button
         if ("Student".equals(currentTab)) {
             Button resetSystemButton = new Button("Reset System", event -> openResetSystemConfirmDialog());
@@ -160,10 +188,13 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
     private void configureUserGrid() {
         switch (currentTab) {
             case "Administrator":
-                // **************************************************************************
-                 List<Administrator> administrators = UserManager.getAdministrators();
-                // **************************************************************************
-                administratorGrid.setItems(administrators);
+                administratorPager.setSearch(searchField.getValue());
+                administratorGrid.setItems(
+                        query -> fetchPage(administratorPager, query),
+                        //*****************************************
+                        query -> administratorPager.count())
+                        //*****************************************
+                        .setIdentifierProvider(Administrator::getEmployeeID);
                 administratorGrid.setColumns("employeeID", "firstName", "lastName", "email");
                 administratorGrid.setHeightFull();
                 administratorGrid.getStyle().set("border-radius", "15px");
@@ -171,10 +202,13 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
                 contentContainer.add(administratorGrid);
                 break;
             case "Employee":
-                // **************************************************************************
-                 List<Lecturer> employees = UserManager.getEmployees();
-                // **************************************************************************
-                employeeGrid.setItems(employees);
+                employeePager.setSearch(searchField.getValue());
+                employeeGrid.setItems(
+                        query -> fetchPage(employeePager, query),
+                        //*************************************
+                        query -> employeePager.count())
+                        //*************************************
+                        .setIdentifierProvider(Lecturer::getEmployeeID);
                 employeeGrid.setColumns("employeeID", "firstName", "lastName", "email", "department", "faculty");
                 employeeGrid.setHeightFull();
                 employeeGrid.getStyle().set("border-radius", "15px");
@@ -182,10 +216,13 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
                 contentContainer.add(employeeGrid);
                 break;
             case "Student":
-                // **************************************************************************
-                 List<Student> students = UserManager.getStudents();
-                // **************************************************************************
-                studentGrid.setItems(students);
+                studentPager.setSearch(searchField.getValue());
+                studentGrid.setItems(
+                        query -> fetchPage(studentPager, query),
+                        //************************************
+                        query -> studentPager.count())
+                        //************************************
+                        .setIdentifierProvider(Student::getStudentID);
                 studentGrid.setColumns("studentID", "firstName", "lastName", "email", "qualificationLevel");
                 studentGrid.setHeightFull();
                 studentGrid.getStyle().set("border-radius", "15px");
@@ -196,6 +233,23 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
         }
     }
 
+    /**
+     * Fetches the page of users a grid asks for, in the grid's sort order.
+     *
+     * @param pager The pager of the grid's type of user.
+     * @param query The grid's query (offset, limit and sort order).
+     * @return The page of users.
+     */
+    private <T extends Person> Stream<T> fetchPage(UserPager<T> pager, Query<T, Void> query) {
+        QuerySortOrder sortOrder = query.getSortOrders().isEmpty() ? null : query.getSortOrders().get(0);
+
+        //*******************************************************************************************
+        return pager.fetch(query.getOffset(), query.getLimit(),
+                sortOrder == null ? null : sortOrder.getSorted(),
+                sortOrder == null || sortOrder.getDirection() == SortDirection.ASCENDING).stream();
+        //*******************************************************************************************
+    }
+
     /**
      * Opens a dialog for creating or editing profiles.
      *
@@ -246,6 +300,99 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
         userFormDialog.open();
     }
 
+    /**
+     * Opens a dialog for importing users (of the current tab's type) from a CSV.
+     * The import runs in the background, with the running totals shown as each chunk is created.
+     */
+    private void openImportDialog() {
+        Dialog importDialog = new Dialog();
+        importDialog.setWidth("50%");
+        importDialog.setMinWidth("350px");
+        importDialog.setHeaderTitle("Import " + currentTab + "s");
+
+        Span columns = new Span("Columns: " + getImportColumns());
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+
+        Span status = new Span();
+
+        // the CSV is buffered to a temporary file, and streamed from there
+        FileBuffer buffer = new FileBuffer();
+        Upload upload = new Upload(buffer);
+        upload.setAcceptedFileTypes(".csv", "text/csv");
+        upload.setMaxFiles(1);
+
+        String role = currentTab;
+
+        upload.addSucceededListener(event -> {
+            UI ui = UI.getCurrent();
+            upload.setVisible(false);
+            progressBar.setVisible(true);
+            importDialog.setCloseOnOutsideClick(false);
+            ui.setPollInterval(500);
+
+            Thread importThread = new Thread(() -> {
+                ImportResult result;
+
+                try (Reader csv = new InputStreamReader(buffer.getInputStream(), StandardCharsets.UTF_8)) {
+                    //*****************************************************
+                    result = UserManager.importUsers(csv, role, progress -> {
+                        String totals = progress.toString();
+                        ui.access(() -> status.setText(totals));
+                    });
+                    //*****************************************************
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    result = null;
+                } finally {
+                    buffer.getFileData().getFile().delete();
+                }
+
+                ImportResult finalResult = result;
+                ui.access(() -> {
+                    ui.setPollInterval(-1);
+                    progressBar.setVisible(false);
+
+                    if (finalResult == null) {
+                        status.setText("Sorry! The CSV could not be read...Please try again!");
+                    } else {
+                        status.setText(finalResult.toString());
+                        finalResult.getErrors().forEach(error -> importDialog.add(new Div(new Span(error))));
+                    }
+
+                    setContent();
+                });
+            }, "user-import");
+
+            importThread.setDaemon(true);
+            importThread.start();
+        });
+
+        VerticalLayout dialogLayout = new VerticalLayout(columns, upload, progressBar, status);
+        dialogLayout.setWidthFull();
+        dialogLayout.setPadding(false);
+
+        importDialog.add(dialogLayout);
+        importDialog.getFooter().add(new Button("Close", event -> importDialog.close()));
+        importDialog.open();
+    }
+
+    /**
+     * @return The columns an imported CSV has for the current tab's type of user.
+     */
+    private String getImportColumns() {
+        switch (currentTab) {
+            case "Administrator":
+                return "employeeID, firstName, lastName, email";
+            case "Employee":
+                return "employeeID, firstName, lastName, email, department, faculty";
+            default:
+                return "studentID, firstName, lastName, email, qualificationLevel";
+        }
+    }
+
     /**
      * Creates form fields for the user profile form.
      *
@@ -620,72 +767,30 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
     }
 
     /**
-     * Filters users based on their user ID and updates the corresponding grid with the
-     * filtered results.
+     * Filters the current grid to the users whose ID, name or email starts with the search.
+     * The matching (and paging) is done in SQL, so only the visible page is fetched.
      * 
-     * @param userId String that represents the user ID that will be used to filter the users in the grid.
+     * @param search String that the users' ID, first name, last name or email has to start with.
      */
-    private void filterUsers(String userId) {
+    private void filterUsers(String search) {
         switch (currentTab) {
             case "Administrator":
-                // Filter administrators based on the user ID
-                List<Administrator> filteredAdmins = getFilteredAdministrators(userId);
-                administratorGrid.setItems(filteredAdmins);
+                administratorPager.setSearch(search);
+                administratorGrid.getDataProvider().refreshAll();
                 break;
             case "Employee":
-                // Filter employees based on the user ID
-                List<Lecturer> filteredEmployees = getFilteredEmployees(userId);
-                employeeGrid.setItems(filteredEmployees);
+                employeePager.setSearch(search);
+                employeeGrid.getDataProvider().refreshAll();
                 break;
             case "Student":
-                // Filter students based on the user ID
-                List<Student> filteredStudents = getFilteredStudents(userId);
-                studentGrid.setItems(filteredStudents);
+                studentPager.setSearch(search);
+                studentGrid.getDataProvider().refreshAll();
                 break;
             default:
                 break;
         }
     }
 
-    /**
-     * Returns a filtered list of administrators based on a given user ID.
-     * 
-     * @param userId String that represents the employee ID that we want to filter the administrators by.
-     * @return List of Administrator objects that match the given userId.
-     */
-    private List<Administrator> getFilteredAdministrators(String userId) {
-        List<Administrator> administrators = UserManager.getAdministrators();
-        return administrators.stream()
-                .filter(administrator -> administrator.getEmployeeID().toLowerCase().contains(userId.toLowerCase()))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Returns a filtered list of employees based on a given user ID.
-     * 
-     * @param userId String that represents the employee ID that we want to filter the employees by.
-     * @return Filtered list of Lecturer objects.
-     */
-    private List<Lecturer> getFilteredEmployees(String userId) {
-        List<Lecturer> employees = UserManager.getEmployees();
-        return employees.stream()
-                .filter(lecturer -> lecturer.getEmployeeID().toLowerCase().contains(userId.toLowerCase()))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Returns a filtered list of students based on a given student ID.
-     * 
-     * @param userId String that represents the user ID of a student.
-     * @return Filtered list of students based on the provided userId.
-     */
-    private List<Student> getFilteredStudents(String userId) {
-        List<Student> students = UserManager.getStudents();
-        return students.stream()
-                .filter(student -> student.getStudentID().toLowerCase().contains(userId.toLowerCase()))
-                .collect(Collectors.toList());
-    }
-
     /**
      * Opens a confirmation dialog box asking the user if they want to reset the system,
      * and if confirmed, it invokes the StudentManager microservice.
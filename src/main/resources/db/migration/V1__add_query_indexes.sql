@@ -0,0 +1,36 @@
+-- The indexes the DatabaseController's queries rely on, each named after the lookup it serves.
+-- Where a query only reads indexed columns, the index lists them all, so it can be answered from the index alone.
+
+-- Sign-up and user management look users up by email
+CREATE INDEX idx_students_email ON Students (email);
+CREATE INDEX idx_employees_email ON Employees (email);
+CREATE INDEX idx_administrators_email ON Administrators (email);
+
+-- The pending applicants are the students who have APPLIED
+CREATE INDEX idx_students_status ON Students (applicationStatus, studentID);
+
+-- The applicants' best grade for a course, and a student's completed courses (sign-in, profile)
+CREATE INDEX idx_completed_course ON CompletedCourses (courseCode, studentID, grade);
+CREATE INDEX idx_completed_student ON CompletedCourses (studentID, courseCode);
+
+-- A student's tutor and TA courses (memberships at sign-in, role checks), and a course's tutors and TAs
+CREATE INDEX idx_tutors_student ON Tutors (stuID, courseCode, year);
+CREATE INDEX idx_tutors_course ON Tutors (courseCode, year, stuID);
+CREATE INDEX idx_tas_student ON TAs (studID, courseCode, year);
+CREATE INDEX idx_tas_course ON TAs (courseCode, year, studID);
+
+-- An employee's courses and roles (memberships at sign-in, access checks), and a course's employees
+CREATE INDEX idx_accessible_employee ON AccessibleCourses (empID, courseCode, year, role);
+CREATE INDEX idx_accessible_course ON AccessibleCourses (courseCode, year);
+
+-- A course's schedule for a year, and its sessions
+CREATE INDEX idx_schedules_course ON Schedules (courseID, year);
+CREATE INDEX idx_sessions_schedule ON TutoringSessions (scheduleID);
+
+-- A tutor's sessions (double-booking checks); a session's tutors are looked up by the primary key
+CREATE INDEX idx_session_tutors_student ON TutoringSessionTutors (studentID, tutSessionID);
+
+-- Attendance by course (and tutor) and by session, e.g. when the attendance counters are rebuilt;
+-- a check-in is looked up by (studentID, date, tutoringSessionID), see uq_attendance_checkin
+CREATE INDEX idx_attendance_course ON Attendance (courseCode, studentID);
+CREATE INDEX idx_attendance_session ON Attendance (tutoringSessionID);
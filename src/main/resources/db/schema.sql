@@ -0,0 +1,102 @@
+-- The MyTutor base schema. Safe to run against an existing database.
+--
+-- The tables, columns and indexes added since (UserIdentities, EmailOutbox, the attendance counters, the
+-- indexes in db/migration, ...) are not here: DatabaseController.updateSchema() adds them on startup,
+-- backfilling them from these tables.
+
+CREATE TABLE IF NOT EXISTS Students (
+    studentID VARCHAR(9) PRIMARY KEY,
+    firstName VARCHAR(255),
+    lastName VARCHAR(255),
+    email VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    qualificationLevel VARCHAR(32),
+    applicationStatus VARCHAR(32)
+);
+
+CREATE TABLE IF NOT EXISTS Employees (
+    employeeID VARCHAR(9) PRIMARY KEY,
+    firstName VARCHAR(255),
+    lastName VARCHAR(255),
+    email VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    department VARCHAR(255),
+    faculty VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS Administrators (
+    employeeID VARCHAR(9) PRIMARY KEY,
+    firstName VARCHAR(255),
+    lastName VARCHAR(255),
+    email VARCHAR(255) UNIQUE,
+    password VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS Courses (
+    courseCode VARCHAR(16) PRIMARY KEY,
+    courseName VARCHAR(255),
+    tutorCapacity INT,
+    TACapacity INT
+);
+
+-- a student may complete a course more than once
+CREATE TABLE IF NOT EXISTS CompletedCourses (
+    courseCode VARCHAR(16),
+    studentID VARCHAR(9),
+    grade DOUBLE,
+    year INT
+);
+
+CREATE TABLE IF NOT EXISTS Applications (
+    studentID VARCHAR(9) PRIMARY KEY,
+    motivation VARCHAR(2048)
+);
+
+CREATE TABLE IF NOT EXISTS Tutors (
+    stuID VARCHAR(9),
+    courseCode VARCHAR(16),
+    year INT
+);
+
+CREATE TABLE IF NOT EXISTS TAs (
+    studID VARCHAR(9),
+    courseCode VARCHAR(16),
+    year INT
+);
+
+CREATE TABLE IF NOT EXISTS AccessibleCourses (
+    empID VARCHAR(9),
+    courseCode VARCHAR(16),
+    role VARCHAR(32),
+    year INT
+);
+
+CREATE TABLE IF NOT EXISTS Schedules (
+    scheduleID INT AUTO_INCREMENT PRIMARY KEY,
+    courseID VARCHAR(16),
+    year INT
+);
+
+CREATE TABLE IF NOT EXISTS TutoringSessions (
+    tutSessionID INT AUTO_INCREMENT PRIMARY KEY,
+    scheduleID INT,
+    day VARCHAR(16),
+    startTime DOUBLE,
+    endTime DOUBLE,
+    tutoringCapacity INT,
+    location VARCHAR(255),
+    whatsappLink VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS TutoringSessionTutors (
+    tutSessionID INT,
+    studentID VARCHAR(9),
+    PRIMARY KEY (tutSessionID, studentID)
+);
+
+CREATE TABLE IF NOT EXISTS Attendance (
+    studentID VARCHAR(9),
+    date VARCHAR(10),
+    tutoringSessionID INT,
+    courseCode VARCHAR(16)
+);
@@ -1,5 +1,12 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import com.example.application.PublicEnums.QualificationLevel;
 import com.example.application.PublicEnums.Response;
+import com.example.application.PublicEnums.Role;
 import com.example.application.microservices.ApplyManager;
 import com.example.application.models.Student;
 import org.junit.jupiter.api.Test;
@@ -62,4 +69,95 @@ public class ApplyManagerTest {
 
         assertEquals(Response.SUCCESS, result);
     }
+
+    // seeds the given number of applicants (APPLIC000, APPLIC001, ...) for CSC1015F, which takes 50 tutors and 2 TAs
+    private TestDatabase seedApplicants(int count) {
+        TestDatabase database = new TestDatabase();
+
+        List<String> sql = new ArrayList<>();
+        sql.add("INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC1015F', 'Computer Science 1015', 50, 2)");
+
+        for (int i = 0; i < count; i++) {
+            String studentID = String.format("APPLIC%03d", i);
+            sql.add("INSERT INTO Students VALUES ('" + studentID + "', 'First" + i + "', 'Last" + i + "', 'a" + i + "@uct.ac.za', 'pw', 'SecondYear', 'APPLIED')");
+            sql.add("INSERT INTO Applications VALUES ('" + studentID + "', 'Motivation " + i + "')");
+        }
+
+        database.execute(sql.toArray(new String[0]));
+        return database;
+    }
+
+    private static Set<Student> selectApplicants(int from, int to) {
+        Set<Student> selected = new LinkedHashSet<>();
+        for (int i = from; i < to; i++) {
+            selected.add(new Student("First" + i, "Last" + i, "a" + i + "@uct.ac.za", String.format("APPLIC%03d", i), QualificationLevel.SecondYear, null, null));
+        }
+        return selected;
+    }
+
+    @Test
+    public void testAcceptStudents_OneTransactionUpToCapacity() {
+        TestDatabase database = seedApplicants(80);
+        database.execute("INSERT INTO Tutors VALUES ('APPLIC000', 'CSC1015F', 2023)");
+        database.resetCounts();
+
+        Map<String, Response> outcomes = ApplyManager.acceptStudents("CSC1015F", "2023", selectApplicants(0, 80), Role.Tutor);
+
+        // one connection, with the three writes batched
+        assertEquals(1, database.getConnectionCount());
+        assertEquals(5, database.getStatementCount());
+
+        assertEquals(80, outcomes.size());
+        assertEquals(Response.USER_ALREADY_EXISTS, outcomes.get("APPLIC000"));
+        assertEquals(Response.SUCCESS, outcomes.get("APPLIC001"));
+        assertEquals(Response.SUCCESS, outcomes.get("APPLIC049"));
+        assertEquals(Response.CAPACITY_REACHED, outcomes.get("APPLIC050"));
+        assertEquals(30, outcomes.values().stream().filter(outcome -> outcome == Response.CAPACITY_REACHED).count());
+
+        assertEquals(50, database.queryForInt("SELECT COUNT(*) FROM Tutors WHERE courseCode = 'CSC1015F' AND year = 2023"));
+        assertEquals(49, database.queryForInt("SELECT COUNT(*) FROM Students WHERE applicationStatus = 'ACCEPTED'"));
+        assertEquals(31, database.queryForInt("SELECT COUNT(*) FROM Applications"));
+    }
+
+    @Test
+    public void testAcceptStudents_TAsCountedSeparately() {
+        TestDatabase database = seedApplicants(3);
+
+        Map<String, Response> outcomes = ApplyManager.acceptStudents("CSC1015F", "2023", selectApplicants(0, 3), Role.TA);
+
+        assertEquals(Response.SUCCESS, outcomes.get("APPLIC000"));
+        assertEquals(Response.SUCCESS, outcomes.get("APPLIC001"));
+        assertEquals(Response.CAPACITY_REACHED, outcomes.get("APPLIC002"));
+        assertEquals(2, database.queryForInt("SELECT COUNT(*) FROM TAs"));
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM Tutors"));
+    }
+
+    @Test
+    public void testAcceptStudents_AcceptedInOrderOfStudentID() {
+        TestDatabase database = seedApplicants(3);
+
+        // selected last to first, in a set with an order of its own
+        Set<Student> selected = new LinkedHashSet<>();
+        for (int i = 2; i >= 0; i--) {
+            selected.addAll(selectApplicants(i, i + 1));
+        }
+
+        Map<String, Response> outcomes = ApplyManager.acceptStudents("CSC1015F", "2023", selected, Role.TA);
+
+        assertEquals(Response.SUCCESS, outcomes.get("APPLIC000"));
+        assertEquals(Response.SUCCESS, outcomes.get("APPLIC001"));
+        assertEquals(Response.CAPACITY_REACHED, outcomes.get("APPLIC002"));
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM TAs WHERE studID = 'APPLIC002'"));
+    }
+
+    @Test
+    public void testAcceptStudents_NobodyAcceptedWhenAWriteFails() {
+        TestDatabase database = seedApplicants(10);
+        database.execute("DROP TABLE Applications");
+
+        assertNull(ApplyManager.acceptStudents("CSC1015F", "2023", selectApplicants(0, 10), Role.Tutor));
+
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM Tutors"));
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM Students WHERE applicationStatus = 'ACCEPTED'"));
+    }
 }
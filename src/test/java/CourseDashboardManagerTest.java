@@ -0,0 +1,167 @@
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.application.PublicEnums.Response;
+import com.example.application.database.DatabaseController;
+import com.example.application.microservices.CourseDashboardManager;
+import com.example.application.microservices.ScheduleManager;
+import com.example.application.models.Course;
+import com.example.application.models.Schedule;
+import com.example.application.models.Tutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseDashboardManagerTest {
+
+    private static final int YEAR = Integer.parseInt(DatabaseController.getCurrentYear());
+
+    private TestDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC1015F', 'Computer Science 1015', 20, 5)",
+                "INSERT INTO Students VALUES ('TUTOR001', 'Tess', 'Tutor', 'tess@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')",
+                "INSERT INTO Students VALUES ('TA0000001', 'Tom', 'Assistant', 'tom@uct.ac.za', 'pw', 'Honours', 'ACCEPTED')",
+                "INSERT INTO Tutors VALUES ('TUTOR001', 'CSC1015F', " + YEAR + ")",
+                "INSERT INTO TAs VALUES ('TA0000001', 'CSC1015F', " + YEAR + ")",
+                "INSERT INTO Schedules (scheduleID, courseID, year) VALUES (1, 'CSC1015F', " + YEAR + ")",
+                "INSERT INTO TutoringSessions (tutSessionID, scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) "
+                        + "VALUES (1, 1, 'Monday', 10.0, 11.0, 4, 'Venue 1', 'link')");
+    }
+
+    @Test
+    public void testGetParts_EveryPartRead() {
+        Course course = CourseDashboardManager.getCourseAsync("CSC1015F", YEAR).join();
+
+        assertEquals("Computer Science 1015", course.getName());
+        assertEquals(YEAR, course.getYear());
+        assertEquals(1, CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join().getTutoringSessions().size());
+        assertEquals(1, CourseDashboardManager.countTutorsAsync("CSC1015F", YEAR).join());
+        assertEquals(1, CourseDashboardManager.countTAsAsync("CSC1015F", YEAR).join());
+        assertEquals(0, CourseDashboardManager.getCourseStatsAsync("CSC1015F", YEAR).join());
+
+        assertNull(CourseDashboardManager.getCourseAsync("XXX0000X", YEAR).join());
+    }
+
+    @Test
+    public void testGetScheduleAsync_SharedWithoutTheDatabase() {
+        Schedule first = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+
+        database.resetCounts();
+        CompletableFuture<Schedule> cached = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR);
+
+        assertTrue(cached.isDone());
+        assertEquals(0, database.getConnectionCount());
+
+        // each viewer edits their own copy of the schedule
+        cached.join().getTutoringSessions().clear();
+        assertEquals(1, first.getTutoringSessions().size());
+        assertEquals(1, CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join().getTutoringSessions().size());
+    }
+
+    @Test
+    public void testGetScheduleAsync_OnlyTheScheduleRead() {
+        Schedule schedule = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+        assertEquals(1, schedule.getTutoringSessions().size());
+
+        // the other parts are read when they are first asked for
+        database.resetCounts();
+        assertEquals(1, CourseDashboardManager.countTutorsAsync("CSC1015F", YEAR).join());
+        assertTrue(database.getConnectionCount() > 0);
+
+        database.resetCounts();
+        CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+        assertEquals(0, database.getConnectionCount());
+    }
+
+    @Test
+    public void testGetScheduleAsync_ReadAgainOnceTheCourseIsWrittenTo() {
+        Schedule before = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+        assertTrue(before.getTutoringSessions().get(0).getSignedUpTutors().isEmpty());
+
+        Tutor tutor = new Tutor("Tess", "Tutor", "tess@uct.ac.za", "TUTOR001", null, null, null);
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp("CSC1015F", YEAR, 1, tutor));
+
+        Schedule after = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+
+        assertEquals("TUTOR001", after.getTutoringSessions().get(0).getSignedUpTutors().get(0).getStudentID());
+    }
+
+    @Test
+    public void testGetScheduleAsync_ViewersShareOneRead() {
+        CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+        CourseDashboardManager.invalidate("CSC1015F", YEAR);
+
+        database.resetCounts();
+        CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join();
+        int oneRead = database.getConnectionCount();
+
+        CourseDashboardManager.invalidate("CSC1015F", YEAR);
+        database.resetCounts();
+
+        CompletableFuture<Schedule> first = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR);
+        CompletableFuture<Schedule> second = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR);
+
+        assertEquals(first.join().getScheduleID(), second.join().getScheduleID());
+        assertEquals(oneRead, database.getConnectionCount());
+    }
+
+    @Test
+    public void testGetScheduleAsync_ReadKeptForAnotherViewerWhenOneGivesUp() {
+        CompletableFuture<Schedule> first = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR);
+        CompletableFuture<Schedule> second = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR);
+
+        first.cancel(false);
+
+        assertEquals(1, second.join().getTutoringSessions().size());
+    }
+
+    @Test
+    public void testGetScheduleAsync_CachedWhenAnotherCourseIsWrittenToMeanwhile() {
+        CompletableFuture<Schedule> loading = CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR);
+        CourseDashboardManager.invalidate("CSC2001F", YEAR);
+        loading.join();
+
+        database.resetCounts();
+
+        assertEquals(1, CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR).join().getTutoringSessions().size());
+        assertEquals(0, database.getConnectionCount());
+    }
+
+    @Test
+    public void testCountTAsAsync_ReadNobodyWaitsForCancelled() {
+        database.execute("INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC2001F', 'Computer Science 2001', 20, 5)");
+
+        database.holdConnections();
+
+        try {
+            // these reads take up the loaders, so the count of the second course's TAs waits for one
+            List<CompletableFuture<?>> reads = List.of(
+                    CourseDashboardManager.getScheduleAsync("CSC1015F", YEAR),
+                    CourseDashboardManager.countTutorsAsync("CSC1015F", YEAR),
+                    CourseDashboardManager.countTAsAsync("CSC1015F", YEAR),
+                    CourseDashboardManager.getCourseStatsAsync("CSC1015F", YEAR),
+                    CourseDashboardManager.countTutorsAsync("CSC2001F", YEAR),
+                    CourseDashboardManager.getCourseStatsAsync("CSC2001F", YEAR));
+            assertEquals(CourseDashboardManager.LOADER_COUNT, reads.size());
+
+            CompletableFuture<Integer> taCount = CourseDashboardManager.countTAsAsync("CSC2001F", YEAR);
+
+            // the view showing the second course is closed
+            taCount.cancel(false);
+
+            database.releaseConnections();
+            reads.forEach(CompletableFuture::join);
+        } finally {
+            database.releaseConnections();
+        }
+
+        // the second course's TAs were never counted
+        database.resetCounts();
+        assertEquals(0, CourseDashboardManager.countTAsAsync("CSC2001F", YEAR).join());
+        assertEquals(1, database.getConnectionCount());
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.List;
+
+import com.example.application.PublicEnums.Response;
+import com.example.application.microservices.CourseManager;
+import com.example.application.models.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseManagerTest {
+
+    private TestDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC1015F', 'Computer Science 1015', 20, 5)",
+                "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('MAM1000W', 'Mathematics 1000', 30, 6)");
+    }
+
+    @Test
+    public void testCatalog_ReadFromTheDatabaseOnce() {
+        database.resetCounts();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(List.of("CSC1015F", "MAM1000W"), CourseManager.getCourseCodes());
+            assertEquals(2, CourseManager.getCourses().size());
+            assertEquals("Mathematics 1000", CourseManager.getCourseFor("MAM1000W").getName());
+        }
+
+        // the single courses were cached along with the catalog
+        assertEquals(1, database.getStatementCount());
+        assertTrue(CourseManager.getCatalogCacheStats().hitCount() >= 29);
+    }
+
+    @Test
+    public void testCatalog_UnknownCoursesAreNotCached() {
+        assertNull(CourseManager.getCourseFor("PHY1004W"));
+
+        database.execute("INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('PHY1004W', 'Physics 1004', 10, 2)");
+
+        assertEquals("Physics 1004", CourseManager.getCourseFor("PHY1004W").getName());
+    }
+
+    @Test
+    public void testCatalog_InvalidatedByWrites() {
+        assertEquals(2, CourseManager.getCourses().size());
+        Course course = CourseManager.getCourseFor("CSC1015F");
+
+        assertEquals(Response.SUCCESS, CourseManager.create(new Course("PHY1004W", "Physics 1004", 10, 2)));
+        assertEquals(3, CourseManager.getCourses().size());
+
+        assertEquals(Response.SUCCESS, CourseManager.update(course, new Course("CSC1015F", "Computer Science 1015F", 25, 5)));
+        assertEquals(25, CourseManager.getCourseFor("CSC1015F").getTutorCapacity());
+    }
+
+    @Test
+    public void testCatalog_CallersGetCopies() {
+        CourseManager.getCourseFor("CSC1015F").setTutorCapacity(99);
+
+        assertEquals(20, CourseManager.getCourseFor("CSC1015F").getTutorCapacity());
+    }
+}
@@ -0,0 +1,104 @@
+import javax.mail.internet.MimeMessage;
+
+import com.example.application.PublicEnums.EmailStatus;
+import com.example.application.PublicEnums.Response;
+import com.example.application.microservices.EmailDispatcher;
+import com.example.application.microservices.UserManager;
+import com.example.application.models.Lecturer;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailDispatcherTest {
+
+    private static final String RECIPIENT = "cy@uct.ac.za";
+
+    private TestDatabase database;
+    private GreenMail smtpServer;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+
+        // a local SMTP stand-in, on any free port
+        smtpServer = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        smtpServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        smtpServer.stop();
+    }
+
+    private EmailDispatcher dispatcherFor(int port, int maxAttempts) {
+        return new EmailDispatcher("127.0.0.1", port, "mytutor@test.com", "pw", false, false, 2, 60000, maxAttempts, 0);
+    }
+
+    private void createUser() {
+        Lecturer lecturer = new Lecturer("Cy", "Convenor", RECIPIENT, "100000003", "Computer Science", "Science");
+        assertEquals(Response.SUCCESS, UserManager.create(lecturer, "Course Convenor"));
+    }
+
+    // waits for the workers to finish delivering
+    private EmailStatus awaitStatus(EmailStatus expected) throws InterruptedException {
+        for (int i = 0; i < 100 && UserManager.getEmailStatus(RECIPIENT) != expected; i++) {
+            Thread.sleep(50);
+        }
+        return UserManager.getEmailStatus(RECIPIENT);
+    }
+
+    @Test
+    public void testCreate_QueuesEmailWithoutSending() {
+        database.resetCounts();
+
+        createUser();
+
+        // one connection to check the user does not exist yet, and one to create them (and queue their email)
+        assertEquals(2, database.getConnectionCount());
+        assertEquals(EmailStatus.PENDING, UserManager.getEmailStatus(RECIPIENT));
+        assertEquals(0, smtpServer.getReceivedMessages().length);
+    }
+
+    @Test
+    public void testDispatch_DeliversQueuedEmail() throws Exception {
+        createUser();
+        EmailDispatcher dispatcher = dispatcherFor(smtpServer.getSmtp().getPort(), 5);
+
+        assertEquals(1, dispatcher.dispatchDueEmails());
+        assertEquals(EmailStatus.SENT, awaitStatus(EmailStatus.SENT));
+        dispatcher.stop();
+
+        MimeMessage[] received = smtpServer.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("MyTutor Temporary Password", received[0].getSubject());
+        assertEquals(RECIPIENT, received[0].getAllRecipients()[0].toString());
+
+        // a delivered email is never claimed again, and its temporary password is not kept
+        assertEquals(0, dispatcher.dispatchDueEmails());
+        assertEquals(0, database.queryForInt("SELECT LENGTH(body) FROM EmailOutbox"));
+    }
+
+    @Test
+    public void testDispatch_RetriesThenGivesUp() throws Exception {
+        createUser();
+        int port = smtpServer.getSmtp().getPort();
+        smtpServer.stop();
+
+        EmailDispatcher dispatcher = dispatcherFor(port, 2);
+
+        // first attempt fails and is scheduled for a retry
+        assertEquals(1, dispatcher.dispatchDueEmails());
+        for (int i = 0; i < 100 && database.queryForInt("SELECT attempts FROM EmailOutbox") < 1; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(EmailStatus.PENDING, UserManager.getEmailStatus(RECIPIENT));
+
+        // second (and last) attempt fails too
+        assertEquals(1, dispatcher.dispatchDueEmails());
+        assertEquals(EmailStatus.FAILED, awaitStatus(EmailStatus.FAILED));
+        dispatcher.stop();
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.List;
+
+import com.example.application.database.DatabaseController;
+import com.example.application.database.InstrumentedDataSource;
+import com.example.application.microservices.UserManager;
+import com.example.application.models.Student;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedDataSourceTest {
+
+    private TestDatabase database;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Students VALUES ('METRIC001', 'Ann', 'One', 'ann@uct.ac.za', 'pw', 'ThirdYear', 'IDLE')",
+                "INSERT INTO Students VALUES ('METRIC002', 'Ben', 'Two', 'ben@uct.ac.za', 'pw', 'ThirdYear', 'IDLE')");
+
+        registry = new SimpleMeterRegistry();
+        DatabaseController.setDataSource(InstrumentedDataSource.wrap(database.getDataSource(), registry));
+        database.resetCounts();
+    }
+
+    @Test
+    public void testOperation_TaggedByMethodAndCaller() {
+        List<Student> students = UserManager.getStudents();
+        UserManager.getStudents();
+
+        assertEquals(2, students.size());
+        assertEquals(2, registry.get("mytutor.db.operation")
+                .tags("method", "getAllStudents", "caller", "UserManager", "outcome", "success").timer().count());
+        assertEquals(2, registry.get("mytutor.db.connection.acquire")
+                .tags("method", "getAllStudents", "caller", "UserManager").timer().count());
+        assertEquals(4, registry.get("mytutor.db.rows")
+                .tags("method", "getAllStudents", "caller", "UserManager").summary().totalAmount());
+        assertEquals(0, registry.get("mytutor.db.errors")
+                .tags("method", "getAllStudents", "caller", "UserManager").counter().count());
+
+        // the statements still reach the DB (and are counted) as before
+        assertEquals(2, database.getConnectionCount());
+    }
+
+    @Test
+    public void testOperation_ErrorsCounted() {
+        database.execute("DROP TABLE Students");
+
+        assertTrue(UserManager.getStudents().isEmpty());
+
+        assertEquals(1, registry.get("mytutor.db.errors")
+                .tags("method", "getAllStudents", "caller", "UserManager").counter().count());
+        assertEquals(1, registry.get("mytutor.db.operation")
+                .tags("method", "getAllStudents", "caller", "UserManager", "outcome", "error").timer().count());
+    }
+}
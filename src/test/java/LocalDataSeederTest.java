@@ -0,0 +1,102 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Year;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.example.application.database.DatabaseController;
+import com.example.application.database.LocalDataSeeder;
+import com.example.application.models.Person;
+import com.example.application.models.Schedule;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalDataSeederTest {
+
+    private static JdbcDataSource emptyDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE"
+                + ";NON_KEYWORDS=DAY,YEAR,VALUE;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static LocalDataSeeder seeder(JdbcDataSource dataSource) {
+        return new LocalDataSeeder(dataSource, 500, 20, 15, 2, 4, 3, 42);
+    }
+
+    private static String query(JdbcDataSource dataSource, String sql) {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+
+            return resultSet.next() ? resultSet.getString(1) : null;
+
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void testSeed_SchemaAndDataAsConfigured() {
+        JdbcDataSource dataSource = emptyDatabase();
+
+        assertTrue(seeder(dataSource).seed());
+
+        assertEquals("500", query(dataSource, "SELECT COUNT(*) FROM Students"));
+        assertEquals("20", query(dataSource, "SELECT COUNT(*) FROM Employees"));
+        assertEquals("15", query(dataSource, "SELECT COUNT(*) FROM Courses"));
+        assertEquals("30", query(dataSource, "SELECT COUNT(*) FROM Schedules"));
+        assertEquals("120", query(dataSource, "SELECT COUNT(*) FROM TutoringSessions"));
+        assertEquals("3000", query(dataSource, "SELECT COUNT(*) FROM CompletedCourses"));
+        assertNotEquals("0", query(dataSource, "SELECT COUNT(*) FROM Attendance"));
+
+        // only ever seeded once
+        assertFalse(seeder(dataSource).seed());
+        assertEquals("500", query(dataSource, "SELECT COUNT(*) FROM Students"));
+    }
+
+    @Test
+    public void testSeed_SameSettingsSameData() {
+        JdbcDataSource first = emptyDatabase();
+        JdbcDataSource second = emptyDatabase();
+
+        seeder(first).seed();
+        seeder(second).seed();
+
+        String[] checks = {
+                "SELECT COUNT(*) || ':' || SUM(grade) FROM CompletedCourses",
+                "SELECT COUNT(*) || ':' || SUM(tutoringSessionID) FROM Attendance",
+                "SELECT GROUP_CONCAT(stuID ORDER BY stuID) FROM Tutors",
+                "SELECT GROUP_CONCAT(applicationStatus ORDER BY studentID) FROM Students" };
+
+        for (String check : checks) {
+            assertEquals(query(first, check), query(second, check));
+        }
+    }
+
+    @Test
+    public void testSeed_UsableByTheDatabaseController() {
+        JdbcDataSource dataSource = emptyDatabase();
+        seeder(dataSource).seed();
+
+        DatabaseController.setDataSource(dataSource);
+        assertTrue(DatabaseController.updateSchema());
+
+        Person student = DatabaseController.authenticate(LocalDataSeeder.studentID(7).toLowerCase() + "@myuct.ac.za", LocalDataSeeder.PASSWORD);
+        assertNotNull(student);
+        assertNotNull(DatabaseController.authenticate("admin@mytutor.local", LocalDataSeeder.PASSWORD));
+
+        Schedule schedule = DatabaseController.getSchedule(LocalDataSeeder.courseCode(0), Year.now().getValue());
+        assertEquals(4, schedule.getTutoringSessions().size());
+
+        // the attendance counters are built from the seeded attendance
+        assertEquals(query(dataSource, "SELECT COUNT(*) FROM Attendance"),
+                query(dataSource, "SELECT SUM(attendances) FROM AttendanceCourseCounts"));
+        assertEquals(query(dataSource, "SELECT COUNT(*) FROM TutoringSessionTutors"),
+                query(dataSource, "SELECT SUM(signedUpTutors) FROM TutoringSessions"));
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.application.PublicEnums.QualificationLevel;
+import com.example.application.PublicEnums.Response;
+import com.example.application.PublicEnums.Role;
+import com.example.application.microservices.ApplyManager;
+import com.example.application.microservices.CourseManager;
+import com.example.application.microservices.MembershipManager;
+import com.example.application.models.Course;
+import com.example.application.models.CourseMemberships;
+import com.example.application.models.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MembershipManagerTest {
+
+    private TestDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC1015F', 'Computer Science 1015', 20, 5)",
+                "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC1016S', 'Computer Science 1016', 20, 5)",
+                "INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('MAM1000W', 'Mathematics 1000', 20, 5)",
+                "INSERT INTO Students VALUES ('MEMBER001', 'Mo', 'Member', 'mo@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')",
+                "INSERT INTO Tutors VALUES ('MEMBER001', 'CSC1015F', 2022)",
+                "INSERT INTO Tutors VALUES ('MEMBER001', 'CSC1015F', 2023)",
+                "INSERT INTO TAs VALUES ('MEMBER001', 'MAM1000W', 2023)",
+                "INSERT INTO AccessibleCourses VALUES ('100000001', 'CSC1016S', 'CourseConvenor', 2023)");
+    }
+
+    @Test
+    public void testLoad_OneQueryForEveryRole() {
+        database.resetCounts();
+
+        CourseMemberships student = MembershipManager.load("MEMBER001");
+        CourseMemberships employee = MembershipManager.load("100000001");
+
+        assertEquals(2, database.getStatementCount());
+
+        assertEquals(3, student.getMemberships().size());
+        assertEquals(Role.Tutor, student.getRole("CSC1015F", 2023));
+        assertEquals(Role.TA, student.getRole("MAM1000W", 2023));
+        assertEquals(Role.NoRole, student.getRole("MAM1000W", 2022));
+        assertEquals(Role.NoRole, student.getRole("CSC1016S", 2023));
+
+        assertEquals(Role.CourseConvenor, employee.getRole("CSC1016S", 2023));
+    }
+
+    @Test
+    public void testGetCoursesFor_ListedWithoutTheDatabase() {
+        CourseMemberships memberships = MembershipManager.load("MEMBER001");
+        CourseManager.getCourses(); // the catalog is cached
+
+        database.resetCounts();
+        List<Course> courses = CourseManager.getCoursesFor(memberships);
+
+        assertEquals(0, database.getStatementCount());
+        assertEquals(3, courses.size());
+        assertEquals("MAM1000W", courses.get(0).getCourseCode());
+        assertEquals("Mathematics 1000", courses.get(0).getName());
+        assertEquals(2023, courses.get(0).getYear());
+    }
+
+    @Test
+    public void testInvalidate_AcceptanceMakesTheSnapshotOutOfDate() {
+        database.execute("INSERT INTO Students VALUES ('MEMBER002', 'Ny', 'Member', 'ny@uct.ac.za', 'pw', 'ThirdYear', 'APPLIED')",
+                "INSERT INTO Applications VALUES ('MEMBER002', 'Motivation')");
+
+        CourseMemberships before = MembershipManager.load("MEMBER002");
+        CourseMemberships other = MembershipManager.load("MEMBER001");
+        assertFalse(MembershipManager.isOutOfDate("MEMBER002", before));
+
+        Student applicant = new Student("Ny", "Member", "ny@uct.ac.za", "MEMBER002", QualificationLevel.ThirdYear, null, null);
+        Map<String, Response> outcomes = ApplyManager.acceptStudents("CSC1016S", "2023", Set.of(applicant), Role.Tutor);
+        assertEquals(Response.SUCCESS, outcomes.get("MEMBER002"));
+
+        assertTrue(MembershipManager.isOutOfDate("MEMBER002", before));
+        assertFalse(MembershipManager.isOutOfDate("MEMBER001", other));
+
+        CourseMemberships after = MembershipManager.load("MEMBER002");
+        assertFalse(MembershipManager.isOutOfDate("MEMBER002", after));
+        assertEquals(Role.Tutor, after.getRole("CSC1016S", 2023));
+    }
+
+    @Test
+    public void testInvalidateAll_DeletingACourse() {
+        CourseMemberships memberships = MembershipManager.load("MEMBER001");
+
+        assertEquals(Response.SUCCESS, CourseManager.delete(CourseManager.getCourseFor("MAM1000W")));
+
+        assertTrue(MembershipManager.isOutOfDate("MEMBER001", memberships));
+        assertEquals(Role.NoRole, MembershipManager.load("MEMBER001").getRole("MAM1000W", 2023));
+    }
+}
@@ -0,0 +1,546 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.application.PublicEnums.Response;
+import com.example.application.PublicEnums.ScheduleChangeType;
+import com.example.application.database.DatabaseController;
+import com.example.application.microservices.CourseManager;
+import com.example.application.microservices.ScheduleEventBus;
+import com.example.application.microservices.ScheduleManager;
+import com.example.application.microservices.TutorAssignmentSolver;
+import com.example.application.models.Schedule;
+import com.example.application.models.ScheduleChange;
+import com.example.application.models.SessionSlot;
+import com.example.application.models.TutoringSession;
+import com.example.application.models.Tutor;
+import com.example.application.models.TutorAssignment;
+import com.vaadin.flow.shared.Registration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleManagerTest {
+
+    private static final int YEAR = Integer.parseInt(DatabaseController.getCurrentYear());
+
+    private TestDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+        database.execute("INSERT INTO Courses (courseCode, courseName, tutorCapacity, TACapacity) VALUES ('CSC1015F', 'Computer Science 1015', 20, 5)");
+    }
+
+    // seeds a schedule of the given size, with every session signed up to by the given number of tutors
+    private void seedSchedule(int sessions, int tutorsPerSession) {
+        List<String> sql = new ArrayList<>();
+        sql.add("INSERT INTO Schedules (scheduleID, courseID, year) VALUES (1, 'CSC1015F', " + YEAR + ")");
+
+        for (int t = 0; t < tutorsPerSession; t++) {
+            sql.add("INSERT INTO Students VALUES ('TUTOR00" + t + "', 'Tutor', '" + t + "', 'tutor" + t + "@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')");
+        }
+
+        for (int s = 1; s <= sessions; s++) {
+            sql.add("INSERT INTO TutoringSessions (tutSessionID, scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) "
+                    + "VALUES (" + s + ", 1, 'Monday', " + (8 + s % 10) + ".0, " + (9 + s % 10) + ".5, 4, 'Venue " + s + "', 'link')");
+
+            for (int t = 0; t < tutorsPerSession; t++) {
+                sql.add("INSERT INTO TutoringSessionTutors VALUES (" + s + ", 'TUTOR00" + t + "')");
+            }
+        }
+
+        database.execute(sql.toArray(new String[0]));
+    }
+
+    @Test
+    public void testGetSchedule_QueryCountIndependentOfSize() {
+        seedSchedule(30, 4);
+        database.resetCounts();
+
+        Schedule schedule = ScheduleManager.getSchedule("CSC1015F", YEAR);
+
+        assertEquals(1, database.getConnectionCount());
+        assertTrue(database.getStatementCount() <= 2, "statements executed: " + database.getStatementCount());
+
+        assertEquals(1, schedule.getScheduleID());
+        assertEquals("CSC1015F", schedule.getCourse().getCourseCode());
+        assertEquals(30, schedule.getTutoringSessions().size());
+    }
+
+    @Test
+    public void testGetSchedule_PopulatesSessionsAndTutors() {
+        seedSchedule(3, 2);
+
+        Schedule schedule = ScheduleManager.getSchedule("CSC1015F", YEAR);
+        TutoringSession session = schedule.getTutoringSessions().get(1);
+
+        assertEquals(2, session.getSessionID());
+        assertEquals("Monday", session.getDay());
+        assertEquals(10.0, session.getStartTimeAsDouble());
+        assertEquals(11.5, session.getEndTimeAsDouble());
+        assertEquals("Venue 2", session.getLocation());
+        assertEquals(4, session.getTutoringCapacity());
+
+        List<Tutor> tutors = session.getSignedUpTutors();
+        assertEquals(2, tutors.size());
+        assertEquals("TUTOR000", tutors.get(0).getStudentID());
+        assertEquals("tutor1@uct.ac.za", tutors.get(1).getEmail());
+    }
+
+    @Test
+    public void testGetSchedule_CreatesMissingSchedule() {
+        database.resetCounts();
+
+        Schedule schedule = ScheduleManager.getSchedule("CSC1015F", YEAR);
+
+        assertEquals(1, database.getConnectionCount());
+        assertTrue(schedule.getScheduleID() > 0);
+        assertTrue(schedule.getTutoringSessions().isEmpty());
+
+        // the next load finds the schedule that was just created
+        assertEquals(schedule.getScheduleID(), ScheduleManager.getSchedule("CSC1015F", YEAR).getScheduleID());
+    }
+
+    @Test
+    public void testTutorCheckIn_RepeatTapsNeverReachTheDatabase() {
+        seedSchedule(1, 1);
+        database.resetCounts();
+
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-09-04"));
+        int statements = database.getStatementCount();
+
+        assertEquals(Response.ALREADY_CHECKED_IN, ScheduleManager.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-09-04"));
+        assertTrue(ScheduleManager.hasCheckedIn(1, "TUTOR000", "2023-09-04"));
+        assertEquals(statements, database.getStatementCount());
+    }
+
+    @Test
+    public void testTutorCheckIn_SingleConditionalInsert() {
+        seedSchedule(1, 1);
+        database.resetCounts();
+
+        // the check-in, then the course, tutor and session counters
+        assertTrue(DatabaseController.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-09-05"));
+        assertEquals(4, database.getStatementCount());
+
+        // the DB itself refuses the second check-in, even without the in-memory record
+        database.resetCounts();
+        assertFalse(DatabaseController.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-09-05"));
+        assertEquals(1, database.getStatementCount());
+        assertEquals(1, ScheduleManager.getTutoringSessionStatsFor(1));
+    }
+
+    @Test
+    public void testTutorCheckIn_ConcurrentTapsRecordedOnce() throws Exception {
+        seedSchedule(1, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response>> results = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return ScheduleManager.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-09-06");
+            }));
+        }
+
+        start.countDown();
+
+        int successes = 0;
+        for (Future<Response> result : results) {
+            if (result.get() == Response.SUCCESS) {
+                successes++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, successes);
+        assertEquals(1, ScheduleManager.getTutoringSessionStatsFor(1));
+    }
+
+    @Test
+    public void testAttendanceStats_CountedAsTutorsCheckIn() {
+        seedSchedule(2, 2);
+
+        ScheduleManager.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-10-02");
+        ScheduleManager.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-10-03");
+        ScheduleManager.tutorCheckIn(2, "CSC1015F", "TUTOR001", "2023-10-03");
+        ScheduleManager.tutorCheckIn(2, "CSC1015F", "TUTOR001", "2023-10-03"); // refused
+
+        database.resetCounts();
+
+        assertEquals(3, CourseManager.getCourseStatsFor("CSC1015F"));
+        assertEquals(2, DatabaseController.getTutorStatsFor("CSC1015F", "TUTOR000"));
+        assertEquals(1, ScheduleManager.getTutoringSessionStatsFor(2));
+        assertEquals(0, CourseManager.getCourseStatsFor("MAM1000W"));
+        assertEquals(4, database.getStatementCount());
+    }
+
+    @Test
+    public void testAttendanceStats_RebuiltFromAttendance() {
+        seedSchedule(1, 1);
+        ScheduleManager.tutorCheckIn(1, "CSC1015F", "TUTOR000", "2023-10-09");
+
+        // attendance recorded behind the counters' back
+        database.execute("INSERT INTO Attendance VALUES ('TUTOR000', '2023-10-10', 1, 'CSC1015F')");
+        assertEquals(1, CourseManager.getCourseStatsFor("CSC1015F"));
+
+        assertEquals(Response.SUCCESS, CourseManager.rebuildStats());
+
+        assertEquals(2, CourseManager.getCourseStatsFor("CSC1015F"));
+        assertEquals(2, DatabaseController.getTutorStatsFor("CSC1015F", "TUTOR000"));
+        assertEquals(2, ScheduleManager.getTutoringSessionStatsFor(1));
+    }
+
+    @Test
+    public void testTutorSignUp_ConcurrentSignUpsNeverOverbook() throws Exception {
+        seedSchedule(1, 0); // capacity 4, nobody signed up
+
+        List<String> sql = new ArrayList<>();
+        for (int t = 0; t < 300; t++) {
+            sql.add(String.format("INSERT INTO Students VALUES ('SIGNUP%03d', 'Tutor', '%d', 'signup%d@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')", t, t, t));
+        }
+        database.execute(sql.toArray(new String[0]));
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Response>> results = new ArrayList<>();
+
+        for (int t = 0; t < 300; t++) {
+            String studentID = String.format("SIGNUP%03d", t);
+            results.add(executor.submit(() -> {
+                start.await();
+                return ScheduleManager.tutorSignUp(1, studentID);
+            }));
+        }
+
+        start.countDown();
+
+        int successes = 0;
+        int full = 0;
+        for (Future<Response> result : results) {
+            Response response = result.get();
+            successes += response == Response.SUCCESS ? 1 : 0;
+            full += response == Response.SESSION_FULL ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(4, successes);
+        assertEquals(296, full);
+        assertEquals(4, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors WHERE tutSessionID = 1"));
+        assertEquals(0, DatabaseController.getAvailableSeats(1));
+    }
+
+    @Test
+    public void testTutorSignUp_SameTutorTakesOneSeat() {
+        // TUTOR000, not signed up yet
+        seedSchedule(1, 1);
+        database.execute("DELETE FROM TutoringSessionTutors");
+
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(1, "TUTOR000"));
+        assertEquals(Response.UNSUCCESSFUL, ScheduleManager.tutorSignUp(1, "TUTOR000"));
+        assertEquals(3, DatabaseController.getAvailableSeats(1));
+
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave(1, "TUTOR000"));
+        assertEquals(4, DatabaseController.getAvailableSeats(1));
+    }
+
+    @Test
+    public void testScheduleEvents_SignUpsPushedToTheSchedulesViews() {
+        seedSchedule(1, 0);
+        database.execute("INSERT INTO Students VALUES ('TUTOR009', 'Tutor', '9', 'tutor9@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')");
+        Tutor tutor = new Tutor("Tutor", "9", "tutor9@uct.ac.za", "TUTOR009", null, null, null);
+
+        List<ScheduleChange> changes = new ArrayList<>();
+        List<ScheduleChange> otherCourseChanges = new ArrayList<>();
+        Registration registration = ScheduleEventBus.register("CSC1015F", YEAR, changes::add);
+        Registration otherRegistration = ScheduleEventBus.register("MAM1000W", YEAR, otherCourseChanges::add);
+
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp("CSC1015F", YEAR, 1, tutor));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave("CSC1015F", YEAR, 1, tutor));
+
+        registration.remove();
+        otherRegistration.remove();
+
+        // no longer listening
+        ScheduleManager.tutorSignUp("CSC1015F", YEAR, 1, tutor);
+
+        assertEquals(2, changes.size());
+        assertEquals(ScheduleChangeType.TUTOR_JOINED, changes.get(0).getType());
+        assertEquals(1, changes.get(0).getSessionID());
+        assertEquals("TUTOR009", changes.get(0).getTutor().getStudentID());
+        assertEquals(ScheduleChangeType.TUTOR_LEFT, changes.get(1).getType());
+        assertTrue(otherCourseChanges.isEmpty());
+    }
+
+    @Test
+    public void testScheduleEvents_RefusedSignUpsNotPushed() {
+        seedSchedule(1, 0);
+        database.execute("UPDATE TutoringSessions SET tutoringCapacity = 0");
+
+        List<ScheduleChange> changes = new ArrayList<>();
+        Registration registration = ScheduleEventBus.register("CSC1015F", YEAR, changes::add);
+
+        Tutor tutor = new Tutor("Tutor", "9", "tutor9@uct.ac.za", "TUTOR009", null, null, null);
+        assertEquals(Response.SESSION_FULL, ScheduleManager.tutorSignUp("CSC1015F", YEAR, 1, tutor));
+
+        registration.remove();
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testTutorSignUp_ClashesAcrossCoursesRefused() {
+        // session 1: CSC1015F, Monday 09:00 - 10:30, TUTOR000 not signed up yet
+        seedSchedule(1, 1);
+        database.execute("DELETE FROM TutoringSessionTutors",
+                "INSERT INTO Schedules (scheduleID, courseID, year) VALUES (2, 'MAM1000W', " + YEAR + ")",
+                "INSERT INTO Schedules (scheduleID, courseID, year) VALUES (3, 'MAM1000W', " + (YEAR - 1) + ")",
+                "INSERT INTO TutoringSessions (tutSessionID, scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) VALUES "
+                        + "(100, 2, 'Monday', 10.0, 11.0, 4, 'Overlapping', 'link'), "
+                        + "(101, 2, 'Monday', 10.5, 12.0, 4, 'Right after', 'link'), "
+                        + "(102, 2, 'Tuesday', 9.0, 10.5, 4, 'Another day', 'link'), "
+                        + "(103, 3, 'Monday', 9.0, 10.5, 4, 'Last year', 'link')");
+
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(1, "TUTOR000"));
+
+        // the tutor's sessions are in memory now - the check needs no more than the new session's times
+        database.resetCounts();
+        assertEquals(Response.SESSION_CLASH, ScheduleManager.tutorSignUp(100, "TUTOR000"));
+        assertEquals(1, database.getStatementCount());
+        assertEquals(4, DatabaseController.getAvailableSeats(100));
+
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(101, "TUTOR000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(102, "TUTOR000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(103, "TUTOR000"));
+
+        // leaving a session frees its time
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave(1, "TUTOR000"));
+        assertEquals(Response.SESSION_CLASH, ScheduleManager.tutorSignUp(100, "TUTOR000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave(101, "TUTOR000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(100, "TUTOR000"));
+    }
+
+    @Test
+    public void testTutorSignUp_ClashesWithSessionsSignedUpForBefore() {
+        // TUTOR000 is already signed up for session 1 (Monday 09:00 - 10:30) in the DB
+        seedSchedule(2, 1);
+        database.execute("DELETE FROM TutoringSessionTutors WHERE tutSessionID = 2",
+                "UPDATE TutoringSessions SET startTime = 8.0, endTime = 9.5 WHERE tutSessionID = 2");
+
+        assertEquals(Response.SESSION_CLASH, ScheduleManager.tutorSignUp(2, "TUTOR000"));
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors WHERE tutSessionID = 2"));
+    }
+
+    @Test
+    public void testTutorSignUp_ClashesWithOverlappingSessionsSignedUpForBefore() {
+        // TUTOR000 was signed up, before clashes were checked, for overlapping sessions in the DB:
+        // 1 (Monday 09:00 - 13:00), 2 (Monday 09:00 - 10:00) and 3 (Monday 10:00 - 11:00)
+        seedSchedule(4, 1);
+        database.execute("DELETE FROM TutoringSessionTutors WHERE tutSessionID = 4",
+                "UPDATE TutoringSessions SET startTime = 9.0, endTime = 13.0 WHERE tutSessionID = 1",
+                "UPDATE TutoringSessions SET startTime = 9.0, endTime = 10.0 WHERE tutSessionID = 2",
+                "UPDATE TutoringSessions SET startTime = 10.0, endTime = 11.0 WHERE tutSessionID = 3",
+                "UPDATE TutoringSessions SET startTime = 12.0, endTime = 14.0 WHERE tutSessionID = 4");
+
+        // session 4 only clashes with the longest (and earliest) of them
+        assertEquals(Response.SESSION_CLASH, ScheduleManager.tutorSignUp(4, "TUTOR000"));
+
+        // as long as the tutor is signed up for it
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave(1, "TUTOR000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(4, "TUTOR000"));
+
+        // both sessions starting at 09:00 were kept, so leaving one leaves the other's time taken
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave(3, "TUTOR000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorLeave(4, "TUTOR000"));
+        assertEquals(Response.SESSION_CLASH, ScheduleManager.tutorSignUp(1, "TUTOR000"));
+    }
+
+    @Test
+    public void testAssignTutors_FillsSessionsEvenlyWithoutClashes() {
+        // sessions 1 - 4 (capacity 4): Monday 09:00 - 10:30, 10:00 - 11:30, 11:00 - 12:30, 12:00 - 13:30
+        seedSchedule(4, 0);
+
+        List<String> sql = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            sql.add("INSERT INTO Students VALUES ('ASSIGN00" + t + "', 'Tutor', '" + t + "', 'assign" + t + "@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')");
+            sql.add("INSERT INTO Tutors VALUES ('ASSIGN00" + t + "', 'CSC1015F', " + YEAR + ")");
+        }
+
+        // ASSIGN000 tutors another course at 09:00 on Mondays, and ASSIGN001 already has session 3
+        sql.add("INSERT INTO Schedules (scheduleID, courseID, year) VALUES (2, 'MAM1000W', " + YEAR + ")");
+        sql.add("INSERT INTO TutoringSessions (tutSessionID, scheduleID, day, startTime, endTime, tutoringCapacity, location, whatsappLink) "
+                + "VALUES (100, 2, 'Monday', 9.0, 10.0, 4, 'Elsewhere', 'link')");
+        sql.add("INSERT INTO TutoringSessionTutors VALUES (100, 'ASSIGN000')");
+        sql.add("INSERT INTO TutoringSessionTutors VALUES (3, 'ASSIGN001')");
+        sql.add("UPDATE TutoringSessions SET signedUpTutors = 1 WHERE tutSessionID IN (3, 100)");
+        database.execute(sql.toArray(new String[0]));
+
+        List<TutorAssignment> assignments = ScheduleManager.assignTutors("CSC1015F", YEAR, 2);
+
+        // 6 tutors, 2 sessions each, less the one ASSIGN001 already has
+        assertEquals(11, assignments.size());
+        assertEquals(12, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors WHERE tutSessionID <= 4"));
+
+        // spread evenly: every session has 3 tutors, and its counter agrees
+        for (int session = 1; session <= 4; session++) {
+            assertEquals(3, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors WHERE tutSessionID = " + session));
+            assertEquals(1, DatabaseController.getAvailableSeats(session));
+        }
+
+        // nobody is in two overlapping sessions, in this course or another
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors WHERE tutSessionID = 1 AND studentID = 'ASSIGN000'"));
+        assertEquals(0, database.queryForInt(
+                "SELECT COUNT(*) FROM TutoringSessionTutors a JOIN TutoringSessionTutors b ON a.studentID = b.studentID "
+                + "JOIN TutoringSessions sa ON sa.tutSessionID = a.tutSessionID JOIN TutoringSessions sb ON sb.tutSessionID = b.tutSessionID "
+                + "WHERE a.tutSessionID < b.tutSessionID AND sa.day = sb.day AND sa.startTime < sb.endTime AND sb.startTime < sa.endTime"));
+
+        // the seats are all taken by the tutors available
+        assertTrue(ScheduleManager.assignTutors("CSC1015F", YEAR, 2).isEmpty());
+    }
+
+    @Test
+    public void testAssignTutors_RefusedWhenASessionFillsUpMeanwhile() {
+        seedSchedule(1, 0);
+        database.execute("INSERT INTO Students VALUES ('ASSIGN000', 'Tutor', '0', 'assign0@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')",
+                "INSERT INTO Tutors VALUES ('ASSIGN000', 'CSC1015F', " + YEAR + ")");
+
+        List<TutorAssignment> assignments = List.of(new TutorAssignment(1, "ASSIGN000"), new TutorAssignment(1, "TUTOR009"));
+        database.execute("UPDATE TutoringSessions SET signedUpTutors = 3 WHERE tutSessionID = 1");
+
+        assertFalse(DatabaseController.assignTutorsToSessions(assignments));
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors"));
+        assertEquals(1, DatabaseController.getAvailableSeats(1));
+    }
+
+    @Test
+    public void testAssignTutors_RefusedWhenATutorSignsUpMeanwhile() {
+        seedSchedule(5, 0);
+        database.execute("INSERT INTO Students VALUES ('ASSIGN000', 'Tutor', '0', 'assign0@uct.ac.za', 'pw', 'ThirdYear', 'ACCEPTED')",
+                "INSERT INTO Tutors VALUES ('ASSIGN000', 'CSC1015F', " + YEAR + ")");
+
+        // sessions 1 (Monday 09:00 - 10:30) and 5 (Monday 13:00 - 14:30), the tutor signing up for 5 themselves
+        List<TutorAssignment> assignments = List.of(new TutorAssignment(1, "ASSIGN000"), new TutorAssignment(5, "ASSIGN000"));
+        assertEquals(Response.SUCCESS, ScheduleManager.tutorSignUp(5, "ASSIGN000"));
+
+        assertFalse(DatabaseController.assignTutorsToSessions(assignments));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors"));
+        assertEquals(4, DatabaseController.getAvailableSeats(1));
+        assertEquals(3, DatabaseController.getAvailableSeats(5));
+    }
+
+    @Test
+    public void testAssignTutors_SolvesThousandTutorsFiveHundredSessions() {
+        String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+        List<TutoringSession> sessions = new ArrayList<>();
+        for (int s = 0; s < 500; s++) {
+            double start = 8 + (s / 5) % 10;
+            TutoringSession session = new TutoringSession(start, start + 1.5, days[s % 5], "Venue", "link", 4);
+            session.setSessionID(s + 1);
+            session.setSignedUpTutors(new ArrayList<>());
+            sessions.add(session);
+        }
+
+        // every tutor already tutors another course at some point in the week
+        Map<String, List<SessionSlot>> commitments = new HashMap<>();
+        for (int t = 0; t < 1000; t++) {
+            commitments.put(String.format("BENCH%04d", t),
+                    List.of(new SessionSlot(10_000 + t, YEAR, days[t % 5], 8 + t % 10, 9 + t % 10)));
+        }
+
+        // how long it takes is measured by TutorAssignmentSolverBenchmark
+        List<TutorAssignment> assignments = TutorAssignmentSolver.solve(sessions, YEAR, commitments, 3);
+
+        assertEquals(2000, assignments.size());
+    }
+
+    // what CourseView edits: a copy of the schedule's list of sessions
+    private static Schedule editableCopy(Schedule schedule) {
+        Schedule copy = new Schedule(schedule.getCourse());
+        copy.setScheduleID(schedule.getScheduleID());
+        copy.setVersion(schedule.getVersion());
+        copy.setSlots(new ArrayList<>(schedule.getTutoringSessions()));
+        return copy;
+    }
+
+    private static TutoringSession editedSession(TutoringSession session, String location) {
+        TutoringSession edited = new TutoringSession(session.getStartTimeAsDouble(), session.getEndTimeAsDouble(),
+                session.getDay(), location, session.getWhatsappLink(), session.getTutoringCapacity());
+        edited.setSessionID(session.getSessionID());
+        return edited;
+    }
+
+    @Test
+    public void testUpdateSchedule_WritesOnlyTheChangesInOneTransaction() {
+        seedSchedule(20, 1);
+
+        Schedule before = ScheduleManager.getSchedule("CSC1015F", YEAR);
+        Schedule edited = editableCopy(before);
+
+        edited.getTutoringSessions().set(2, editedSession(edited.getTutoringSessions().get(2), "New Venue"));
+        edited.getTutoringSessions().remove(4);
+        edited.addTutoringSession(new TutoringSession(14.0, 15.0, "Friday", "Added", "link", 3));
+
+        // a column the edit did not change, changed directly in the DB
+        database.execute("UPDATE TutoringSessions SET whatsappLink = 'other link' WHERE tutSessionID = 3");
+
+        database.resetCounts();
+        assertEquals(Response.SUCCESS, ScheduleManager.updateSchedule(before, edited));
+
+        // the version check, then one batch each for the insert, the update and the two deletes
+        assertEquals(1, database.getConnectionCount());
+        assertEquals(5, database.getStatementCount());
+
+        assertEquals(1, edited.getVersion());
+        assertEquals(1, database.queryForInt("SELECT version FROM Schedules WHERE scheduleID = 1"));
+        assertEquals(20, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions"));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions WHERE location = 'New Venue' AND tutSessionID = 3"));
+
+        // only the changed column was written
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions WHERE whatsappLink = 'other link' AND tutSessionID = 3"));
+        assertEquals(0, database.queryForInt("SELECT COUNT(*) FROM TutoringSessionTutors WHERE tutSessionID = 5"));
+
+        // the new session was given its ID
+        int addedID = edited.getTutoringSessions().get(19).getSessionID();
+        assertTrue(addedID > 20);
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions WHERE location = 'Added' AND tutSessionID = " + addedID));
+
+        // nothing left to save
+        database.resetCounts();
+        assertEquals(Response.SUCCESS, ScheduleManager.updateSchedule(editableCopy(edited), edited));
+        assertEquals(0, database.getStatementCount());
+    }
+
+    @Test
+    public void testUpdateSchedule_ConcurrentEditsRefused() {
+        seedSchedule(3, 0);
+
+        Schedule before = ScheduleManager.getSchedule("CSC1015F", YEAR);
+        Schedule first = editableCopy(before);
+        Schedule second = editableCopy(before);
+
+        first.getTutoringSessions().set(0, editedSession(first.getTutoringSessions().get(0), "First"));
+        second.getTutoringSessions().set(0, editedSession(second.getTutoringSessions().get(0), "Second"));
+        second.getTutoringSessions().remove(1);
+
+        assertEquals(Response.SUCCESS, ScheduleManager.updateSchedule(before, first));
+        assertEquals(Response.SCHEDULE_CONFLICT, ScheduleManager.updateSchedule(before, second));
+
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions WHERE tutSessionID = 1 AND location = 'First'"));
+        assertEquals(3, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions"));
+
+        // starting again from the saved schedule works
+        Schedule reread = ScheduleManager.getSchedule("CSC1015F", YEAR);
+        Schedule retry = editableCopy(reread);
+        retry.getTutoringSessions().remove(1);
+        assertEquals(Response.SUCCESS, ScheduleManager.updateSchedule(reread, retry));
+        assertEquals(2, database.queryForInt("SELECT COUNT(*) FROM TutoringSessions"));
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.List;
+
+import com.example.application.database.DatabaseController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigratorTest {
+
+    private TestDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+    }
+
+    @Test
+    public void testMigrate_AppliedOnceAndRecorded() {
+        assertEquals(8, database.queryForInt("SELECT COUNT(*) FROM SchemaHistory"));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM SchemaHistory WHERE version = 1 AND description = 'add query indexes'"));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_tutors_student'"));
+
+        // a second startup applies nothing again
+        assertTrue(DatabaseController.updateSchema());
+        assertEquals(8, database.queryForInt("SELECT COUNT(*) FROM SchemaHistory"));
+    }
+
+    @Test
+    public void testMigrate_PartlyAppliedMigrationCompleted() {
+        // V1 failed after creating some of its indexes, so it was not recorded
+        database.execute("DELETE FROM SchemaHistory WHERE version = 1", "DROP INDEX idx_tas_course");
+
+        assertTrue(DatabaseController.updateSchema());
+
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM SchemaHistory WHERE version = 1"));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_tas_course'"));
+    }
+
+    @Test
+    public void testMigrate_ChangedMigrationRefused() {
+        database.execute("UPDATE SchemaHistory SET description = 'something else' WHERE version = 1");
+
+        assertFalse(DatabaseController.updateSchema());
+    }
+
+    @Test
+    public void testUpdateSchema_DuplicateCheckInsKeptOnce() {
+        // a database from before check-ins were unique
+        database.execute("DROP INDEX uq_attendance_checkin", "DELETE FROM SchemaHistory WHERE version = 3",
+                "INSERT INTO Attendance VALUES ('TUTOR001', '2023-10-10', 1, 'CSC1015F')",
+                "INSERT INTO Attendance VALUES ('TUTOR001', '2023-10-10', 1, 'CSC1015F')",
+                "INSERT INTO Attendance VALUES ('TUTOR001', '2023-10-11', 1, 'CSC1015F')");
+
+        assertTrue(DatabaseController.updateSchema());
+
+        assertEquals(2, database.queryForInt("SELECT COUNT(*) FROM Attendance"));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'uq_attendance_checkin'"));
+    }
+
+    @Test
+    public void testCheckHotQueryPlans_NoFullTableScans() {
+        List<String> scans = DatabaseController.checkHotQueryPlans();
+
+        assertNotNull(scans);
+        assertEquals(List.of(), scans);
+    }
+
+    @Test
+    public void testCheckHotQueryPlans_MissingIndexReported() {
+        database.execute("DROP INDEX idx_tutors_student", "DROP INDEX idx_tutors_course");
+
+        List<String> scans = DatabaseController.checkHotQueryPlans();
+
+        assertTrue(scans.stream().anyMatch(scan -> scan.startsWith("isTutorOrTA (Tutors): ") && scan.contains("tutors")), scans.toString());
+    }
+}
@@ -1,6 +1,11 @@
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import com.example.application.microservices.SignInManager;
+import com.example.application.database.DatabaseController;
+import com.example.application.models.Administrator;
+import com.example.application.models.Lecturer;
+import com.example.application.models.Person;
+import com.example.application.models.Student;
 import com.example.application.PublicEnums.Response;
 
 
@@ -19,4 +24,68 @@ public class SignInManagerTest {
         Response response = SignInManager.validateEmailFormat("test@test.com");
         assertEquals(Response.SUCCESS, response);
     }
+
+    // seeds one of each kind of user - the identity index is backfilled from them
+    private TestDatabase seedUsers() {
+        TestDatabase database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Students VALUES ('STUDNT001', 'Sam', 'Student', 'sam@uct.ac.za', 'pw1', 'ThirdYear', 'APPLIED')",
+                "INSERT INTO CompletedCourses VALUES ('CSC1015F', 'STUDNT001', 81, 2022)",
+                "INSERT INTO CompletedCourses VALUES ('CSC1016S', 'STUDNT001', 74, 2022)",
+                "INSERT INTO Employees VALUES ('100000001', 'Lee', 'Lecturer', 'lee@uct.ac.za', 'pw2', 'Computer Science', 'Science')",
+                "INSERT INTO Administrators VALUES ('100000002', 'Ada', 'Admin', 'ada@uct.ac.za', 'pw3')",
+                // as if they were there before the index was
+                "DELETE FROM SchemaHistory WHERE version = 2");
+        DatabaseController.updateSchema();
+        database.resetCounts();
+        return database;
+    }
+
+    @Test
+    public void testAuthenticate_StudentInOneQuery() {
+        TestDatabase database = seedUsers();
+
+        Person user = DatabaseController.authenticate("sam@uct.ac.za", "pw1");
+
+        assertEquals(1, database.getStatementCount());
+        Student student = (Student) user;
+        assertEquals("STUDNT001", student.getStudentID());
+        assertEquals("Sam", student.getFirstName());
+        assertEquals(2, student.getCompletedCourses().size());
+    }
+
+    @Test
+    public void testAuthenticate_EmployeeAndAdministrator() {
+        TestDatabase database = seedUsers();
+
+        Lecturer lecturer = (Lecturer) DatabaseController.authenticate("lee@uct.ac.za", "pw2");
+        Administrator admin = (Administrator) DatabaseController.authenticate("ada@uct.ac.za", "pw3");
+
+        assertEquals(2, database.getStatementCount());
+        assertEquals("100000001", lecturer.getEmployeeID());
+        assertEquals("Computer Science", lecturer.getDepartment());
+        assertEquals("100000002", admin.getEmployeeID());
+        assertEquals(3, DatabaseController.doesUserExist("ada@uct.ac.za", "pw3"));
+    }
+
+    @Test
+    public void testAuthenticate_InvalidCredentials() {
+        seedUsers();
+
+        assertNull(DatabaseController.authenticate("sam@uct.ac.za", "wrong"));
+        assertNull(DatabaseController.authenticate("nobody@uct.ac.za", "pw1"));
+        assertEquals(0, DatabaseController.doesUserExist("lee@uct.ac.za", "pw3"));
+    }
+
+    @Test
+    public void testAuthenticate_IdentityFollowsCreateAndDelete() {
+        seedUsers();
+        Lecturer lecturer = new Lecturer("Cy", "Convenor", "cy@uct.ac.za", "100000003", "Computer Science", "Science");
+
+        DatabaseController.createUser(lecturer, "Course Convenor", "temp");
+        assertEquals("100000003", ((Lecturer) DatabaseController.authenticate("cy@uct.ac.za", "temp")).getEmployeeID());
+
+        DatabaseController.deleteUser(lecturer, "Course Convenor");
+        assertNull(DatabaseController.authenticate("cy@uct.ac.za", "temp"));
+    }
 }
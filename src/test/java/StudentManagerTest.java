@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.application.microservices.StudentManager;
+import com.example.application.models.Applicant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentManagerTest {
+
+    private TestDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new TestDatabase();
+
+        List<String> sql = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String studentID = String.format("STUDNT%03d", i);
+            String status = i < 40 ? "APPLIED" : "ACCEPTED";
+
+            sql.add("INSERT INTO Students VALUES ('" + studentID + "', 'First" + i + "', 'Last" + i + "', 's" + i + "@uct.ac.za', 'pw', 'SecondYear', '" + status + "')");
+            sql.add("INSERT INTO Applications VALUES ('" + studentID + "', 'Motivation " + i + "')");
+
+            // only the even students have completed the course
+            if (i % 2 == 0) {
+                sql.add("INSERT INTO CompletedCourses VALUES ('CSC1015F', '" + studentID + "', " + (50 + i) + ", 2022)");
+            }
+            sql.add("INSERT INTO CompletedCourses VALUES ('MAM1000W', '" + studentID + "', 60, 2022)");
+        }
+
+        database.execute(sql.toArray(new String[0]));
+    }
+
+    @Test
+    public void testGetPendingApplicants_SingleQuery() {
+        database.resetCounts();
+
+        List<Applicant> applicants = StudentManager.getPendingApplicants("CSC1015F");
+
+        assertEquals(1, database.getStatementCount());
+        assertEquals(20, applicants.size());
+
+        Applicant applicant = applicants.get(1);
+        assertEquals("STUDNT002", applicant.getStudentID());
+        assertEquals(52.0, applicant.getGrade());
+        assertEquals("Motivation 2", applicant.getMotivation());
+    }
+
+    @Test
+    public void testGetPendingApplicants_PagedAndSortedByGrade() {
+        List<Applicant> page = StudentManager.getPendingApplicants("CSC1015F", 5, 5, "grade", false);
+
+        assertEquals(5, page.size());
+        assertEquals(78.0, page.get(0).getGrade());
+        assertEquals(70.0, page.get(4).getGrade());
+    }
+
+    @Test
+    public void testGetPendingApplicants_UnknownSortFallsBackToStudentID() {
+        List<Applicant> page = StudentManager.getPendingApplicants("CSC1015F", 0, 2, "1; DROP TABLE Students", true);
+
+        assertEquals("STUDNT000", page.get(0).getStudentID());
+        assertEquals("STUDNT002", page.get(1).getStudentID());
+    }
+
+    @Test
+    public void testCountPendingApplicants() {
+        assertEquals(20, StudentManager.countPendingApplicants("CSC1015F"));
+        assertEquals(40, StudentManager.countPendingApplicants("MAM1000W"));
+        assertEquals(0, StudentManager.countPendingApplicants("PHY1004W"));
+    }
+}
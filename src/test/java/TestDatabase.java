@@ -0,0 +1,180 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import com.example.application.database.DatabaseController;
+import com.example.application.microservices.CourseDashboardManager;
+import com.example.application.microservices.CourseManager;
+import com.example.application.microservices.TutorCommitments;
+
+/**
+ * A fresh, in-memory H2 database (in MySQL mode) with the MyTutor schema, handed to the
+ * DatabaseController in place of the pooled MySQL DataSource.
+ *
+ * Every connection borrowed and every statement executed through it is counted, so tests can
+ * assert how many round trips a DatabaseController method makes.
+ */
+public class TestDatabase {
+
+    private final JdbcDataSource h2DataSource;
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private volatile CountDownLatch connectionsHeld;
+
+    /**
+     * Creates the database, runs the application's schema (db/schema.sql) against it and installs it in the DatabaseController
+     * (which then brings the schema up to date, as it does on startup).
+     */
+    public TestDatabase() {
+        h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE"
+                + ";NON_KEYWORDS=DAY,YEAR,VALUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+
+        execute("RUNSCRIPT FROM 'classpath:/db/schema.sql'");
+
+        DatabaseController.setDataSource(getDataSource());
+        DatabaseController.updateSchema();
+
+        // nothing cached from a previous test's database
+        CourseManager.invalidateCatalog();
+        TutorCommitments.invalidateAll();
+        CourseDashboardManager.invalidateAll();
+    }
+
+    /**
+     * @return a DataSource over this database whose connections count the statements they execute
+     */
+    public DataSource getDataSource() {
+        return (DataSource) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    CountDownLatch held = connectionsHeld;
+                    if (held != null && method.getName().equals("getConnection")) {
+                        held.await();
+                    }
+
+                    Object result = invoke(h2DataSource, method, args);
+
+                    if (result instanceof Connection) {
+                        connectionCount.incrementAndGet();
+                        return countingProxy((Connection) result, Connection.class);
+                    }
+
+                    return result;
+                });
+    }
+
+    /**
+     * Runs one or more statements directly against the database (not counted), e.g. to seed test data.
+     *
+     * @param sql
+     */
+    public void execute(String... sql) {
+        try (Connection connection = h2DataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+
+            for (String s : sql) {
+                statement.execute(s);
+            }
+
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Runs a query directly against the database (not counted), and returns the first column of its first row.
+     *
+     * @param sql
+     * @return the value, or 0 if the query returned no rows
+     */
+    public int queryForInt(String sql) {
+        try (Connection connection = h2DataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Resets both the connection and the statement counters.
+     */
+    public void resetCounts() {
+        connectionCount.set(0);
+        statementCount.set(0);
+    }
+
+    /**
+     * Holds every connection asked for until releaseConnections() is called, e.g. to keep reads in progress.
+     */
+    public void holdConnections() {
+        connectionsHeld = new CountDownLatch(1);
+    }
+
+    public void releaseConnections() {
+        CountDownLatch held = connectionsHeld;
+        connectionsHeld = null;
+
+        if (held != null) {
+            held.countDown();
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    // wraps connections and statements, counting every execute* call made on a statement
+    private <T> T countingProxy(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                statementCount.incrementAndGet();
+            }
+
+            Object result = invoke(target, method, args);
+
+            if (result instanceof PreparedStatement) {
+                return countingProxy((PreparedStatement) result, PreparedStatement.class);
+            }
+
+            if (result instanceof Statement) {
+                return countingProxy((Statement) result, Statement.class);
+            }
+
+            return result;
+        };
+
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
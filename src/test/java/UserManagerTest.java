@@ -1,7 +1,15 @@
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.example.application.PublicEnums.Response;
+import com.example.application.database.DatabaseController;
 import com.example.application.microservices.UserManager;
+import com.example.application.microservices.UserPager;
 import com.example.application.models.CourseConvenor;
+import com.example.application.models.ImportResult;
 import com.example.application.models.Lecturer;
+import com.example.application.models.Student;
 import com.example.application.models.TA;
 import com.example.application.models.Tutor;
 import org.junit.jupiter.api.Test;
@@ -89,5 +97,249 @@ public class UserManagerTest {
         assertNotNull(password);
         assertEquals(10, password.length());
     }
-}
 
+    // a CSV of students STUDNT000 onwards, with a header row
+    private static String studentCSV(int count) {
+        StringBuilder csv = new StringBuilder("studentID,firstName,lastName,email,qualificationLevel\n");
+
+        for (int i = 0; i < count; i++) {
+            csv.append(String.format("STUDNT%03d,First%d,\"Last, %d\",s%d@uct.ac.za,SecondYear\n", i, i, i, i));
+        }
+
+        return csv.toString();
+    }
+
+    @Test
+    public void testImportUsers_BatchedPerChunk() throws Exception {
+        TestDatabase database = new TestDatabase();
+        List<Integer> progress = new ArrayList<>();
+        database.resetCounts();
+
+        int rows = UserManager.IMPORT_CHUNK_SIZE + 100;
+        ImportResult result = UserManager.importUsers(new StringReader(studentCSV(rows)), "Student", p -> progress.add(p.getCreated()));
+
+        assertEquals(rows, result.getRowsRead());
+        assertEquals(rows, result.getCreated());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(List.of(UserManager.IMPORT_CHUNK_SIZE, rows), progress);
+
+        // one duplicate lookup and one transaction per chunk
+        assertEquals(4, database.getConnectionCount());
+        assertEquals(rows, database.queryForInt("SELECT COUNT(*) FROM Students"));
+        assertEquals(rows, database.queryForInt("SELECT COUNT(*) FROM UserIdentities WHERE role = 'Student'"));
+        assertEquals(rows, database.queryForInt("SELECT COUNT(*) FROM EmailOutbox"));
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM Students WHERE lastName = 'Last, 7'"));
+    }
+
+    @Test
+    public void testImportUsers_SkipsDuplicatesAndInvalidRows() throws Exception {
+        TestDatabase database = new TestDatabase();
+        database.execute("INSERT INTO Students VALUES ('STUDNT001', 'First', 'Last', 'existing@uct.ac.za', 'pw', 'SecondYear', 'ACCEPTED')");
+
+        String csv = studentCSV(3)
+                + "\n"
+                + "STUDNT000,Again,Again,again@uct.ac.za,SecondYear\n" // repeated in the file
+                + "INVALID,First,Last,invalid@uct.ac.za,SecondYear\n"
+                + "STUDNT009,First,Last,not-an-email,SecondYear\n"
+                + "STUDNT010,First,Last,short@uct.ac.za\n";
+
+        ImportResult result = UserManager.importUsers(new StringReader(csv), "Student", p -> {});
+
+        assertEquals(7, result.getRowsRead());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(3, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Line 7"));
+        assertEquals(3, database.queryForInt("SELECT COUNT(*) FROM Students"));
+    }
+
+    @Test
+    public void testImportUsers_Employees() throws Exception {
+        TestDatabase database = new TestDatabase();
+        String csv = "123456789,Alice,Smith,alice@uct.ac.za,Computer Science,Science\n"
+                + "987654321,Bob,Jones,bob@uct.ac.za,Mathematics,Science\n";
+
+        ImportResult result = UserManager.importUsers(new StringReader(csv), "Employee", p -> {});
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, database.queryForInt("SELECT COUNT(*) FROM Employees WHERE department = 'Mathematics'"));
+        assertEquals(2, database.queryForInt("SELECT COUNT(*) FROM UserIdentities WHERE role = 'Employee'"));
+    }
+
+    // seeds students STUDNT000 onwards, with only 5 different last names so the sort has ties
+    private static TestDatabase seedStudents(int count) {
+        TestDatabase database = new TestDatabase();
+        List<String> sql = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            sql.add(String.format("INSERT INTO Students VALUES ('STUDNT%03d', 'First%d', 'Last%d', 's%d@uct.ac.za', 'pw', 'SecondYear', 'ACCEPTED')", i, i, i % 5, i));
+        }
+
+        database.execute(sql.toArray(new String[0]));
+        return database;
+    }
+
+    @Test
+    public void testUserPager_PagesFollowOnWithoutGapsOrRepeats() {
+        TestDatabase database = seedStudents(53);
+        UserPager<Student> pager = UserPager.students();
+
+        List<String> seen = new ArrayList<>();
+        for (int offset = 0; offset < 53; offset += 10) {
+            database.resetCounts();
+            pager.fetch(offset, 10, "lastName", false).forEach(student -> seen.add(student.getStudentID()));
+            assertEquals(1, database.getStatementCount());
+        }
+
+        // the same order as a single, unpaged query
+        List<String> expected = new ArrayList<>();
+        DatabaseController.getStudentsPage("", "lastName", false, null, null, 0, 100).forEach(student -> expected.add(student.getStudentID()));
+
+        assertEquals(53, seen.size());
+        assertEquals(expected, seen);
+        assertEquals("STUDNT049", seen.get(0));
+    }
+
+    @Test
+    public void testUserPager_UsersWithoutTheSortValuePagedEitherWay() {
+        TestDatabase database = seedStudents(23);
+        database.execute("UPDATE Students SET lastName = NULL WHERE studentID < 'STUDNT008'");
+        UserPager<Student> pager = UserPager.students();
+
+        for (boolean ascending : new boolean[] { true, false }) {
+            List<String> seen = new ArrayList<>();
+            for (int offset = 0; offset < 23; offset += 3) {
+                pager.fetch(offset, 3, "lastName", ascending).forEach(student -> seen.add(student.getStudentID()));
+            }
+
+            List<String> expected = new ArrayList<>();
+            DatabaseController.getStudentsPage("", "lastName", ascending, null, null, 0, 100).forEach(student -> expected.add(student.getStudentID()));
+
+            assertEquals(23, seen.size());
+            assertEquals(expected, seen);
+            assertEquals("STUDNT000", ascending ? seen.get(0) : seen.get(22));
+        }
+    }
+
+    @Test
+    public void testUserPager_JumpingAheadFallsBackToTheOffset() {
+        seedStudents(30);
+        UserPager<Student> pager = UserPager.students();
+
+        List<Student> page = pager.fetch(20, 5, null, true);
+
+        assertEquals("STUDNT020", page.get(0).getStudentID());
+        assertEquals("STUDNT025", pager.fetch(25, 5, null, true).get(0).getStudentID());
+    }
+
+    @Test
+    public void testUserPager_SearchesByIDOrNamePrefix() {
+        seedStudents(30);
+        UserPager<Student> pager = UserPager.students();
+
+        pager.setSearch("STUDNT01");
+        assertEquals(10, pager.count());
+        assertEquals("STUDNT010", pager.fetch(0, 50, null, true).get(0).getStudentID());
+
+        pager.setSearch("First2");
+        assertEquals(11, pager.count());
+
+        pager.setSearch("Last_");
+        assertEquals(0, pager.count());
+
+        pager.setSearch("");
+        assertEquals(30, pager.count());
+        assertEquals(30, pager.fetch(0, 50, "email", true).size());
+    }
+
+    @Test
+    public void testUserPager_CourseStaffPagedWithinTheirCourse() {
+        TestDatabase database = seedStudents(40);
+        List<String> sql = new ArrayList<>();
+
+        // the even students tutor CSC1015F in 2023; the rest tutor it in 2022, or another course
+        for (int i = 0; i < 40; i++) {
+            String studentID = String.format("STUDNT%03d", i);
+            sql.add("INSERT INTO Tutors VALUES ('" + studentID + "', '" + (i % 4 == 1 ? "MAM1000W" : "CSC1015F") + "', " + (i % 2 == 0 ? 2023 : 2022) + ")");
+        }
+        sql.add("INSERT INTO TAs VALUES ('STUDNT001', 'CSC1015F', 2023)");
+        database.execute(sql.toArray(new String[0]));
+
+        UserPager<Tutor> pager = UserPager.tutorsOf("CSC1015F", 2023);
+        assertEquals(20, pager.count());
+
+        List<String> seen = new ArrayList<>();
+        for (int offset = 0; offset < 20; offset += 6) {
+            database.resetCounts();
+            pager.fetch(offset, 6, "lastName", true).forEach(tutor -> seen.add(tutor.getStudentID()));
+            assertEquals(1, database.getStatementCount());
+        }
+
+        List<String> expected = new ArrayList<>();
+        DatabaseController.getActiveTutorsPage("CSC1015F", "2023", "", "lastName", true, null, null, 0, 100)
+                .forEach(tutor -> expected.add(tutor.getStudentID()));
+
+        assertEquals(20, seen.size());
+        assertEquals(expected, seen);
+        assertEquals("STUDNT000", seen.get(0));
+
+        pager.setSearch("First1");
+        assertEquals(5, pager.count()); // First10, First12, ... First18
+
+        assertEquals(1, UserPager.tasOf("CSC1015F", 2023).count());
+        assertEquals(0, UserPager.tasOf("CSC1015F", 2022).count());
+    }
+
+    @Test
+    public void testUserPager_CourseEmployeesSortedByRole() {
+        TestDatabase database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Employees VALUES ('100000001', 'Ann', 'Lecturer', 'ann@uct.ac.za', 'pw', 'CS', 'Science')",
+                "INSERT INTO Employees VALUES ('100000002', 'Cleo', 'Convenor', 'cleo@uct.ac.za', 'pw', 'CS', 'Science')",
+                "INSERT INTO Employees VALUES ('100000003', 'Lee', 'Lecturer', 'lee@uct.ac.za', 'pw', 'CS', 'Science')",
+                "INSERT INTO AccessibleCourses VALUES ('100000001', 'CSC1015F', 'Lecturer', 2023)",
+                "INSERT INTO AccessibleCourses VALUES ('100000002', 'CSC1015F', 'CourseConvenor', 2023)",
+                "INSERT INTO AccessibleCourses VALUES ('100000003', 'CSC1015F', 'Lecturer', 2022)");
+
+        UserPager<Lecturer> pager = UserPager.employeesOf("CSC1015F", 2023);
+
+        assertEquals(2, pager.count());
+
+        List<Lecturer> first = pager.fetch(0, 1, "role", true);
+        List<Lecturer> second = pager.fetch(1, 1, "role", true);
+
+        assertTrue(first.get(0) instanceof CourseConvenor);
+        assertEquals("100000001", second.get(0).getEmployeeID());
+        assertTrue(pager.fetch(2, 1, "role", true).isEmpty());
+    }
+
+    @Test
+    public void testUserPager_CourseEmployeeWithTwoRolesPagedOncePerRole() {
+        TestDatabase database = new TestDatabase();
+        database.execute(
+                "INSERT INTO Employees VALUES ('100000001', 'Ann', 'Lecturer', 'ann@uct.ac.za', 'pw', 'CS', 'Science')",
+                "INSERT INTO Employees VALUES ('100000002', 'Lee', 'Lecturer', 'lee@uct.ac.za', 'pw', 'CS', 'Science')",
+                "INSERT INTO AccessibleCourses VALUES ('100000001', 'CSC1015F', 'Lecturer', 2023)",
+                "INSERT INTO AccessibleCourses VALUES ('100000001', 'CSC1015F', 'CourseConvenor', 2023)",
+                "INSERT INTO AccessibleCourses VALUES ('100000002', 'CSC1015F', 'Lecturer', 2023)");
+
+        UserPager<Lecturer> pager = UserPager.employeesOf("CSC1015F", 2023);
+        assertEquals(3, pager.count());
+
+        // one row at a time, so each page is read after the last row of the one before
+        for (String sortProperty : new String[] { null, "employeeID", "lastName" }) {
+            List<String> seen = new ArrayList<>();
+
+            for (int offset = 0; offset < 4; offset++) {
+                pager.fetch(offset, 1, sortProperty, true).forEach(employee -> seen.add(pager.getRowID(employee)));
+            }
+
+            assertEquals(List.of("100000001/CourseConvenor", "100000001/Lecturer", "100000002/Lecturer"), seen,
+                    "sorted by " + sortProperty);
+        }
+
+        pager.setSearch("Ann");
+        assertEquals(2, pager.count());
+        assertEquals(2, pager.fetch(0, 50, null, true).size());
+    }
+}